@@ -2,11 +2,15 @@ package com.athenaeum.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Main entry point for the Athenaeum Backend application.
+ * {@code @Async} methods run on Spring Boot's application task executor, which
+ * uses virtual threads when spring.threads.virtual.enabled is set.
  */
 @SpringBootApplication
+@EnableAsync
 public class AtheneumBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,353 @@
+package com.athenaeum.backend.catalog;
+
+import com.athenaeum.backend.dto.SessionLabel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Assigns a {@link SessionLabel} to a catalog record from its Dewey Decimal
+ * call number, or from its subject headings when the call number gives none.
+ *
+ * The labels follow the ten Dewey main classes, with 910-919 (geography and
+ * travel) split out of 900 as {@link SessionLabel#GEOGRAPHY}. Class ranges are
+ * compiled once into a digit trie stored in flat arrays. A call number is
+ * classified by walking its digits and keeping the label of the deepest
+ * matching node, so a more specific range always wins over the class that
+ * contains it. That costs a few array reads and no allocation.
+ *
+ * Overrides are written {@code range=LABEL}, where a range is a class number
+ * such as {@code 004.6} or two of them such as {@code 780-789} or
+ * {@code 641.5-641.59}, and each is expanded into the digit prefixes that
+ * cover it. Subject overrides are written {@code words=LABEL} and are matched
+ * as whole lower-case words, longest phrase first, in heading order.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class DeweyClassifier {
+
+    private static final int MAX_PHRASE_WORDS = 3;
+
+    /**
+     * Main classes, plus geography split out of history and geography.
+     */
+    static final List<String> DEFAULT_RANGES = List.of(
+        "000-099=COMPUTER_SCIENCE",
+        "100-199=PHILOSOPHY",
+        "200-299=RELIGION",
+        "300-399=SOCIAL_SCIENCES",
+        "400-499=LANGUAGE",
+        "500-599=SCIENCE",
+        "600-699=TECHNOLOGY",
+        "700-799=ARTS",
+        "800-899=LITERATURE",
+        "900-999=HISTORY",
+        "910-919=GEOGRAPHY"
+    );
+
+    static final List<String> DEFAULT_SUBJECTS = List.of(
+        "computer=COMPUTER_SCIENCE", "computers=COMPUTER_SCIENCE", "computer science=COMPUTER_SCIENCE",
+        "computing=COMPUTER_SCIENCE", "software=COMPUTER_SCIENCE", "programming=COMPUTER_SCIENCE",
+        "internet=COMPUTER_SCIENCE", "algorithms=COMPUTER_SCIENCE",
+        "philosophy=PHILOSOPHY", "psychology=PHILOSOPHY", "ethics=PHILOSOPHY", "logic=PHILOSOPHY",
+        "metaphysics=PHILOSOPHY",
+        "religion=RELIGION", "religions=RELIGION", "theology=RELIGION", "bible=RELIGION",
+        "christianity=RELIGION", "islam=RELIGION", "judaism=RELIGION", "buddhism=RELIGION", "hinduism=RELIGION",
+        "social sciences=SOCIAL_SCIENCES", "sociology=SOCIAL_SCIENCES", "economics=SOCIAL_SCIENCES",
+        "politics=SOCIAL_SCIENCES", "political science=SOCIAL_SCIENCES", "law=SOCIAL_SCIENCES",
+        "education=SOCIAL_SCIENCES",
+        "language=LANGUAGE", "languages=LANGUAGE", "linguistics=LANGUAGE", "grammar=LANGUAGE",
+        "science=SCIENCE", "sciences=SCIENCE", "mathematics=SCIENCE", "physics=SCIENCE", "chemistry=SCIENCE",
+        "biology=SCIENCE", "astronomy=SCIENCE", "geology=SCIENCE", "botany=SCIENCE", "zoology=SCIENCE",
+        "technology=TECHNOLOGY", "engineering=TECHNOLOGY", "medicine=TECHNOLOGY", "agriculture=TECHNOLOGY",
+        "manufacturing=TECHNOLOGY", "cooking=TECHNOLOGY",
+        "art=ARTS", "arts=ARTS", "music=ARTS", "painting=ARTS", "architecture=ARTS", "photography=ARTS",
+        "sports=ARTS", "recreation=ARTS",
+        "literature=LITERATURE", "poetry=LITERATURE", "fiction=LITERATURE", "science fiction=LITERATURE",
+        "drama=LITERATURE", "novels=LITERATURE",
+        "history=HISTORY", "biography=HISTORY",
+        "geography=GEOGRAPHY", "travel=GEOGRAPHY", "maps=GEOGRAPHY", "atlases=GEOGRAPHY"
+    );
+
+    private static final SessionLabel[] LABELS = SessionLabel.values();
+    private static final byte NO_LABEL = -1;
+
+    // children[node * 10 + digit] is the child node, or 0 for none; node 0 is the root
+    private final int[] children;
+    private final byte[] labels;
+    private final Map<String, SessionLabel> subjects;
+
+    /**
+     * Classifier with the default Dewey ranges and subject words only.
+     */
+    public DeweyClassifier() {
+        this(List.of(), List.of());
+    }
+
+    /**
+     * @param rangeOverrides {@code range=LABEL} entries applied over the default ranges
+     * @param subjectOverrides {@code words=LABEL} entries applied over the default subject words
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public DeweyClassifier(List<String> rangeOverrides, List<String> subjectOverrides) {
+        TrieBuilder trie = new TrieBuilder();
+        for (String entry : concat(DEFAULT_RANGES, rangeOverrides)) {
+            String[] parts = split(entry, "Dewey range");
+            SessionLabel label = label(parts[1], entry);
+            for (String prefix : prefixes(parts[0], entry)) {
+                trie.put(prefix, label);
+            }
+        }
+        this.children = trie.children();
+        this.labels = trie.labels();
+
+        Map<String, SessionLabel> subjectMap = new HashMap<>();
+        for (String entry : concat(DEFAULT_SUBJECTS, subjectOverrides)) {
+            String[] parts = split(entry, "subject");
+            String phrase = String.join(" ", words(parts[0]));
+            if (phrase.isEmpty() || phrase.split(" ").length > MAX_PHRASE_WORDS) {
+                throw new IllegalArgumentException("Subject must be 1 to " + MAX_PHRASE_WORDS + " words: " + entry);
+            }
+            subjectMap.put(phrase, label(parts[1], entry));
+        }
+        this.subjects = Map.copyOf(subjectMap);
+    }
+
+    /**
+     * Classify a record by its call number, falling back to its subject headings.
+     *
+     * @param callNumber the Dewey call number, or null
+     * @param subjectHeadings the record's subject headings in catalog order
+     * @return the label, or null if neither gives one
+     */
+    public SessionLabel classify(CharSequence callNumber, List<String> subjectHeadings) {
+        SessionLabel label = callNumber == null ? null : classifyCallNumber(callNumber);
+        for (int i = 0; label == null && i < subjectHeadings.size(); i++) {
+            label = classifySubject(subjectHeadings.get(i));
+        }
+        return label;
+    }
+
+    /**
+     * Classify a Dewey call number such as {@code 823.914 ROW} or
+     * {@code REF 004.6 T}. The class number is the first word that starts
+     * with exactly three digits; a Library of Congress number such as
+     * {@code QA76.73} has none.
+     *
+     * @return the label of the most specific range containing the class number,
+     *         or null if there is no class number
+     */
+    public SessionLabel classifyCallNumber(CharSequence callNumber) {
+        int length = callNumber.length();
+        int i = 0;
+        while (i < length) {
+            // Skip to the start of the next word
+            while (i < length && Character.isWhitespace(callNumber.charAt(i))) {
+                i++;
+            }
+            if (i + 3 <= length && isDigit(callNumber.charAt(i)) && isDigit(callNumber.charAt(i + 1))
+                    && isDigit(callNumber.charAt(i + 2)) && (i + 3 == length || !isDigit(callNumber.charAt(i + 3)))) {
+                return lookup(callNumber, i, length);
+            }
+            while (i < length && !Character.isWhitespace(callNumber.charAt(i))) {
+                i++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Classify a subject heading such as {@code Computer science -- History}
+     * by the first configured phrase in it.
+     *
+     * @return the label, or null if no phrase matches
+     */
+    public SessionLabel classifySubject(String heading) {
+        List<String> words = words(heading);
+        for (int start = 0; start < words.size(); start++) {
+            for (int count = Math.min(MAX_PHRASE_WORDS, words.size() - start); count > 0; count--) {
+                String phrase = count == 1 ? words.get(start) : String.join(" ", words.subList(start, start + count));
+                SessionLabel label = subjects.get(phrase);
+                if (label != null) {
+                    return label;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walk the trie along the class number starting at {@code start}: three
+     * digits, then optional decimals after a point. Segmentation marks
+     * ({@code /} and {@code '}) inside the decimals are skipped.
+     */
+    private SessionLabel lookup(CharSequence callNumber, int start, int length) {
+        int node = 0;
+        byte best = labels[0];
+        boolean decimals = false;
+        for (int i = start; i < length; i++) {
+            char c = callNumber.charAt(i);
+            if (isDigit(c)) {
+                node = children[node * 10 + (c - '0')];
+                if (node == 0) {
+                    break;
+                }
+                if (labels[node] != NO_LABEL) {
+                    best = labels[node];
+                }
+            } else if (c == '.' && !decimals && i == start + 3) {
+                decimals = true;
+            } else if (!(decimals && (c == '/' || c == '\''))) {
+                break;
+            }
+        }
+        return best == NO_LABEL ? null : LABELS[best];
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Expand a class number or range into the digit prefixes that cover
+     * exactly the class numbers in it.
+     */
+    static List<String> prefixes(String range, String entry) {
+        int dash = range.indexOf('-');
+        String low = digits(dash < 0 ? range : range.substring(0, dash), entry);
+        String high = digits(dash < 0 ? range : range.substring(dash + 1), entry);
+        // Compare at equal length: the low end is extended with zeros and the high end with nines
+        int width = Math.max(low.length(), high.length());
+        low = low + "0".repeat(width - low.length());
+        high = high + "9".repeat(width - high.length());
+        if (low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("Dewey range ends before it starts: " + entry);
+        }
+        List<String> prefixes = new ArrayList<>();
+        expand(low, high, "", prefixes);
+        return prefixes;
+    }
+
+    private static void expand(String low, String high, String prefix, List<String> out) {
+        if (low.chars().allMatch(c -> c == '0') && high.chars().allMatch(c -> c == '9')) {
+            out.add(prefix);
+            return;
+        }
+        char first = low.charAt(0);
+        char last = high.charAt(0);
+        if (first == last) {
+            expand(low.substring(1), high.substring(1), prefix + first, out);
+            return;
+        }
+        String nines = "9".repeat(high.length() - 1);
+        String zeros = "0".repeat(low.length() - 1);
+        expand(low.substring(1), nines, prefix + first, out);
+        for (char digit = (char) (first + 1); digit < last; digit++) {
+            out.add(prefix + digit);
+        }
+        expand(zeros, high.substring(1), prefix + last, out);
+    }
+
+    /**
+     * @return the digits of a class number such as {@code 641.59}
+     */
+    private static String digits(String classNumber, String entry) {
+        String trimmed = classNumber.trim();
+        int point = trimmed.indexOf('.');
+        String whole = point < 0 ? trimmed : trimmed.substring(0, point);
+        String decimals = point < 0 ? "" : trimmed.substring(point + 1);
+        if (whole.length() != 3 || !(whole + decimals).chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("Dewey class numbers need three digits and optional decimals: " + entry);
+        }
+        return whole + decimals;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return words;
+    }
+
+    private static String[] split(String entry, String kind) {
+        int equals = entry.lastIndexOf('=');
+        if (equals <= 0) {
+            throw new IllegalArgumentException("Expected " + kind + "=LABEL: " + entry);
+        }
+        return new String[] {entry.substring(0, equals), entry.substring(equals + 1).trim()};
+    }
+
+    private static SessionLabel label(String name, String entry) {
+        try {
+            return SessionLabel.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown label '" + name + "' in " + entry
+                + ", expected one of " + Arrays.toString(LABELS), e);
+        }
+    }
+
+    private static List<String> concat(List<String> defaults, List<String> overrides) {
+        List<String> all = new ArrayList<>(defaults);
+        all.addAll(overrides);
+        return all;
+    }
+
+    /**
+     * Builds the trie node by node before it is flattened into arrays. Later
+     * entries for the same prefix replace earlier ones.
+     */
+    private static final class TrieBuilder {
+
+        private final List<int[]> nodes = new ArrayList<>();
+        private final Map<Integer, Byte> nodeLabels = new LinkedHashMap<>();
+
+        TrieBuilder() {
+            nodes.add(new int[10]);
+        }
+
+        void put(String prefix, SessionLabel label) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int digit = prefix.charAt(i) - '0';
+                if (nodes.get(node)[digit] == 0) {
+                    nodes.add(new int[10]);
+                    nodes.get(node)[digit] = nodes.size() - 1;
+                }
+                node = nodes.get(node)[digit];
+            }
+            nodeLabels.put(node, (byte) label.ordinal());
+        }
+
+        int[] children() {
+            int[] flat = new int[nodes.size() * 10];
+            for (int i = 0; i < nodes.size(); i++) {
+                System.arraycopy(nodes.get(i), 0, flat, i * 10, 10);
+            }
+            return flat;
+        }
+
+        byte[] labels() {
+            byte[] flat = new byte[nodes.size()];
+            Arrays.fill(flat, NO_LABEL);
+            nodeLabels.forEach((node, label) -> flat[node] = label);
+            return flat;
+        }
+    }
+}
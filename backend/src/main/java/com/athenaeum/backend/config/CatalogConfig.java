@@ -0,0 +1,35 @@
+package com.athenaeum.backend.config;
+
+import com.athenaeum.backend.catalog.DeweyClassifier;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Catalog record classification.
+ */
+@Configuration
+public class CatalogConfig {
+
+    /**
+     * Dewey classifier with the default class ranges and subject words, plus
+     * {@code athenaeum.classification.dewey-overrides} (such as
+     * {@code 780-789=ARTS}) and {@code athenaeum.classification.subject-overrides}
+     * (such as {@code folklore=SOCIAL_SCIENCES}). Each can be a YAML list or a
+     * comma-separated string.
+     */
+    @Bean
+    public DeweyClassifier deweyClassifier(Environment environment) {
+        Binder binder = Binder.get(environment);
+        return new DeweyClassifier(overrides(binder, "athenaeum.classification.dewey-overrides"),
+            overrides(binder, "athenaeum.classification.subject-overrides"));
+    }
+
+    private static List<String> overrides(Binder binder, String name) {
+        return binder.bind(name, Bindable.listOf(String.class)).orElse(List.of());
+    }
+}
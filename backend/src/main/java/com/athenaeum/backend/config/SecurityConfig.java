@@ -1,54 +1,169 @@
 package com.athenaeum.backend.config;
 
+import com.athenaeum.backend.security.BoundedPasswordEncoder;
+import com.athenaeum.backend.security.CachingDaoAuthenticationProvider;
+import com.athenaeum.backend.security.LoginRateLimitFilter;
+import com.athenaeum.backend.security.TokenBucketLimiter;
+import com.athenaeum.backend.security.VerifiedCredentialCache;
+import com.athenaeum.backend.service.CustomUserDetailsService;
+import com.athenaeum.backend.service.SessionLabelService;
+import com.athenaeum.backend.session.SessionRevocationList;
+import com.athenaeum.backend.session.SignedCookieSecurityContextRepository;
+import com.athenaeum.backend.session.SignedSessionCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.session.web.http.CookieSerializer;
 import org.springframework.session.web.http.DefaultCookieSerializer;
+import org.springframework.session.web.http.SessionRepositoryFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Base64;
 
 /**
  * Security configuration for the Athenaeum Backend.
  * Implements session-based authentication with CORS and CSRF protection.
+ * {@code athenaeum.session.mode} selects where a login is kept: in the HTTP
+ * session ({@code server}, the default) or in a signed cookie
+ * ({@code signed-cookie}).
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Log logger = LogFactory.getLog(SecurityConfig.class);
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            SecurityContextRepository securityContextRepository,
+            @Value("${athenaeum.session.mode:server}") String sessionMode) throws Exception {
+        boolean signedCookie = switch (sessionMode) {
+            case "server" -> false;
+            case "signed-cookie" -> true;
+            default -> throw new IllegalArgumentException(
+                "Unknown athenaeum.session.mode '" + sessionMode + "', expected server or signed-cookie");
+        };
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf
                 .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
-                .ignoringRequestMatchers("/api/auth/login", "/api/auth/logout", "/api/health", "/actuator/health", "/h2-console/**")
+                .ignoringRequestMatchers("/api/auth/login", "/api/auth/logout", "/api/health", "/api/health/**", "/h2-console/**")
             )
             .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers("/api/auth/**", "/api/health", "/actuator/health", "/h2-console/**").permitAll()
-                .requestMatchers("/api/protected/**").authenticated()
+                .requestMatchers("/api/auth/**", "/api/health", "/api/health/**", "/h2-console/**").permitAll()
+                .requestMatchers("/api/protected/**", "/api/documents/**", "/api/search/**").authenticated()
                 .anyRequest().permitAll()
             )
-            .sessionManagement(session -> session
+            .securityContext(context -> context.securityContextRepository(securityContextRepository));
+
+        if (signedCookie) {
+            // Nothing is kept in the HTTP session, so requests never load one
+            http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        } else {
+            http.sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
             );
+        }
         
         return http.build();
     }
 
+    /**
+     * Actuator endpoints, served on the management port. Health and the
+     * Prometheus scrape are open to monitoring; the other endpoints need a
+     * logged-in session. Endpoint matchers are used because path matchers that
+     * resolve against the application's DispatcherServlet fail on the
+     * management server's own servlet.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(
+            HttpSecurity http,
+            SecurityContextRepository securityContextRepository) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .securityContext(context -> context.securityContextRepository(securityContextRepository))
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .anyRequest().authenticated()
+            );
+
+        return http.build();
+    }
+
+    /**
+     * Keeps the security context in the HTTP session, and therefore in the
+     * session store, when {@code athenaeum.session.mode} is {@code server}
+     * (the default).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "athenaeum.session.mode", havingValue = "server", matchIfMissing = true)
+    public SecurityContextRepository securityContextRepository() {
+        return new DelegatingSecurityContextRepository(
+            new RequestAttributeSecurityContextRepository(), new HttpSessionSecurityContextRepository());
+    }
+
+    /**
+     * Keeps the security context in a signed cookie when
+     * {@code athenaeum.session.mode} is {@code signed-cookie}, so authenticated
+     * requests are restored without touching the session store. Without a
+     * configured secret a random one is used, and cookies do not survive a
+     * restart or work on other nodes.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "athenaeum.session.mode", havingValue = "signed-cookie")
+    public SignedCookieSecurityContextRepository signedCookieSecurityContextRepository(
+            SessionLabelService sessionLabelService,
+            MeterRegistry meterRegistry,
+            @Value("${athenaeum.session.signed-cookie.secret:}") String secret,
+            @Value("${athenaeum.session.signed-cookie.encrypt:false}") boolean encrypt,
+            @Value("${athenaeum.session.signed-cookie.lifetime:8h}") Duration lifetime,
+            @Value("${athenaeum.session.signed-cookie.secure:false}") boolean secure,
+            @Value("${athenaeum.session.signed-cookie.revocation.maximum-size:100000}") long revocationMaximumSize) {
+        byte[] key;
+        if (secret.isEmpty()) {
+            logger.warn("athenaeum.session.signed-cookie.secret is not set; using a random secret, so session "
+                + "cookies are valid on this node only until it restarts");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret);
+        }
+        return new SignedCookieSecurityContextRepository(new SignedSessionCodec(key, encrypt),
+            new SessionRevocationList(lifetime, revocationMaximumSize), sessionLabelService, meterRegistry,
+            lifetime, secure);
+    }
+
     /**
      * CORS configuration to allow requests from Angular frontend.
      */
@@ -66,6 +181,63 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Opt-in cache of recently verified credentials, so repeat logins with the
+     * same password skip BCrypt until the entry expires.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "athenaeum.security.credential-cache.enabled", havingValue = "true")
+    public VerifiedCredentialCache verifiedCredentialCache(
+            MeterRegistry meterRegistry,
+            @Value("${athenaeum.security.credential-cache.ttl:5m}") Duration ttl,
+            @Value("${athenaeum.security.credential-cache.maximum-size:10000}") long maximumSize) {
+        return new VerifiedCredentialCache(ttl, maximumSize, meterRegistry);
+    }
+
+    /**
+     * Authentication provider consulting the verified-credential cache. Replaces
+     * the provider Spring Security would otherwise build from the user details
+     * service.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "athenaeum.security.credential-cache.enabled", havingValue = "true")
+    public CachingDaoAuthenticationProvider cachingAuthenticationProvider(
+            BoundedPasswordEncoder passwordEncoder,
+            VerifiedCredentialCache verifiedCredentialCache,
+            CustomUserDetailsService userDetailsService) {
+        CachingDaoAuthenticationProvider provider =
+            new CachingDaoAuthenticationProvider(passwordEncoder, verifiedCredentialCache);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        return provider;
+    }
+
+    /**
+     * Per-address and per-username token buckets for login attempts. Ordered
+     * ahead of the session and security filters, so a throttled attempt costs
+     * neither a session lookup nor a password hash.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "athenaeum.security.login-rate-limit.enabled", havingValue = "true",
+        matchIfMissing = true)
+    public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${athenaeum.security.login-rate-limit.per-address.requests-per-minute:60}") double addressRate,
+            @Value("${athenaeum.security.login-rate-limit.per-address.burst:30}") int addressBurst,
+            @Value("${athenaeum.security.login-rate-limit.per-username.requests-per-minute:10}") double usernameRate,
+            @Value("${athenaeum.security.login-rate-limit.per-username.burst:5}") int usernameBurst,
+            @Value("${athenaeum.security.login-rate-limit.maximum-keys:100000}") long maximumKeys) {
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(
+            new TokenBucketLimiter(addressRate, addressBurst, maximumKeys),
+            new TokenBucketLimiter(usernameRate, usernameBurst, maximumKeys),
+            objectMapper, meterRegistry);
+        FilterRegistrationBean<LoginRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/auth/login");
+        registration.setOrder(SessionRepositoryFilter.DEFAULT_ORDER - 1);
+        return registration;
+    }
+
     /**
      * Session cookie configuration.
      */
@@ -80,11 +252,20 @@ public class SecurityConfig {
     }
 
     /**
-     * Password encoder for secure password storage.
+     * Password encoder for secure password storage. BCrypt runs on a bounded
+     * pool of hashing threads so login bursts cannot take over request threads.
+     * Stored hashes with a lower cost than configured are rehashed on the next
+     * successful login.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "close")
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${athenaeum.security.bcrypt.strength:10}") int strength,
+            @Value("${athenaeum.security.bcrypt.threads:0}") int threads,
+            @Value("${athenaeum.security.bcrypt.queue-capacity:32}") int queueCapacity) {
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), hashingThreads, queueCapacity,
+            meterRegistry);
     }
 
     /**
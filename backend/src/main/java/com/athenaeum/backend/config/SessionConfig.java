@@ -1,12 +1,160 @@
 package com.athenaeum.backend.config;
 
+import com.athenaeum.backend.session.CachingSessionRepository;
+import com.athenaeum.backend.session.CompactSessionSerializer;
+import com.athenaeum.backend.session.MappedSessionRepository;
+import com.athenaeum.backend.session.SessionBatchWriter;
+import com.athenaeum.backend.session.SessionExpirySweeper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
 import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
- * Spring Session configuration to enable JDBC-based session storage.
+ * Spring Session configuration. {@code spring.session.store-type} selects the
+ * session store:
+ * <ul>
+ *   <li>{@code jdbc} (default): JDBC-based session storage behind an
+ *   in-process session cache whose changes are written back in batches</li>
+ *   <li>{@code mapped}: a memory-mapped file for single-node deployments</li>
+ * </ul>
  */
 @Configuration
-@EnableJdbcHttpSession
 public class SessionConfig {
+
+    /**
+     * Converts session attributes to and from their stored bytes. Shared by
+     * the JDBC store, the batch writer and the mapped store so they all read
+     * and write the same format. {@code compact} (the default) uses
+     * {@link CompactSessionSerializer}, which still reads rows written with
+     * {@code java} serialization.
+     */
+    @Bean
+    public ConversionService springSessionConversionService(
+            ResourceLoader resourceLoader,
+            @Value("${athenaeum.session.serializer:compact}") String serializer) {
+        ClassLoader classLoader = resourceLoader.getClassLoader();
+        GenericConversionService conversionService = new GenericConversionService();
+        switch (serializer) {
+            case "compact" -> {
+                CompactSessionSerializer compact = new CompactSessionSerializer(classLoader);
+                conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(compact));
+                conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(compact));
+            }
+            case "java" -> {
+                conversionService.addConverter(Object.class, byte[].class, new SerializingConverter());
+                conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(classLoader));
+            }
+            default -> throw new IllegalArgumentException(
+                "Unknown athenaeum.session.serializer '" + serializer + "', expected compact or java");
+        }
+        return conversionService;
+    }
+
+    /**
+     * Sessions in the SPRING_SESSION tables.
+     */
+    @Configuration
+    @EnableJdbcHttpSession
+    @ConditionalOnProperty(name = "spring.session.store-type", havingValue = "jdbc", matchIfMissing = true)
+    static class JdbcSessionConfig {
+
+        /**
+         * Apply spring.session.timeout to the JDBC store; @EnableJdbcHttpSession
+         * otherwise ignores it in favour of its own default. The store's own
+         * cleanup job is turned off in favour of {@link SessionExpirySweeper}.
+         */
+        @Bean
+        public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessionTimeoutCustomizer(
+                @Value("${spring.session.timeout:30m}") Duration timeout) {
+            return repository -> {
+                repository.setDefaultMaxInactiveInterval(timeout);
+                repository.setCleanupCron(Scheduled.CRON_DISABLED);
+            };
+        }
+
+        /**
+         * Deletes expired sessions in small chunks.
+         */
+        @Bean(destroyMethod = "close")
+        public SessionExpirySweeper sessionExpirySweeper(
+                JdbcTemplate jdbcTemplate,
+                MeterRegistry meterRegistry,
+                @Value("${athenaeum.session.sweep-interval:60s}") Duration sweepInterval,
+                @Value("${athenaeum.session.sweep-chunk-size:500}") int chunkSize) {
+            return new SessionExpirySweeper(jdbcTemplate, meterRegistry, sweepInterval, chunkSize);
+        }
+
+        /**
+         * Background writer that persists cached session changes in batches.
+         */
+        @Bean(destroyMethod = "close")
+        @ConditionalOnProperty(name = "athenaeum.session.cache.enabled", havingValue = "true", matchIfMissing = true)
+        public SessionBatchWriter sessionBatchWriter(
+                JdbcTemplate jdbcTemplate,
+                TransactionTemplate transactionTemplate,
+                ConversionService springSessionConversionService,
+                MeterRegistry meterRegistry,
+                @Value("${athenaeum.session.cache.flush-interval:1s}") Duration flushInterval,
+                @Value("${athenaeum.session.cache.batch-size:500}") int batchSize) {
+            return new SessionBatchWriter(jdbcTemplate, transactionTemplate, springSessionConversionService,
+                meterRegistry, flushInterval, batchSize);
+        }
+
+        /**
+         * Near-cache in front of the JDBC session store. Marked primary so that the
+         * session repository filter uses it instead of the JDBC repository.
+         */
+        @Bean
+        @Primary
+        @ConditionalOnProperty(name = "athenaeum.session.cache.enabled", havingValue = "true", matchIfMissing = true)
+        public CachingSessionRepository cachingSessionRepository(
+                JdbcIndexedSessionRepository jdbcSessionRepository,
+                SessionBatchWriter sessionBatchWriter,
+                MeterRegistry meterRegistry,
+                @Value("${athenaeum.session.cache.maximum-size:10000}") long maximumSize,
+                @Value("${spring.session.timeout:30m}") Duration timeout) {
+            return new CachingSessionRepository(jdbcSessionRepository, sessionBatchWriter, meterRegistry,
+                maximumSize, timeout);
+        }
+    }
+
+    /**
+     * Sessions in a memory-mapped file, for single-node deployments.
+     */
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(name = "spring.session.store-type", havingValue = "mapped")
+    static class MappedSessionConfig {
+
+        @Bean(destroyMethod = "close")
+        public MappedSessionRepository mappedSessionRepository(
+                ConversionService springSessionConversionService,
+                MeterRegistry meterRegistry,
+                @Value("${athenaeum.session.mapped.file:data/sessions.dat}") Path file,
+                @Value("${athenaeum.session.mapped.capacity:262144}") int capacity,
+                @Value("${athenaeum.session.mapped.slot-size:1024}") int slotSize,
+                @Value("${spring.session.timeout:30m}") Duration timeout) throws IOException {
+            return new MappedSessionRepository(file, capacity, slotSize, timeout, springSessionConversionService,
+                meterRegistry);
+        }
+    }
 }
@@ -1,13 +1,21 @@
 package com.athenaeum.backend.controller;
 
 import com.athenaeum.backend.dto.AuthResponse;
+import com.athenaeum.backend.dto.LabelSet;
 import com.athenaeum.backend.dto.LoginRequest;
-import com.athenaeum.backend.dto.SessionLabel;
 import com.athenaeum.backend.dto.UserInfo;
-import com.athenaeum.backend.service.UserLabelService;
+import com.athenaeum.backend.security.PasswordEncoderOverloadedException;
+import com.athenaeum.backend.service.SessionLabelService;
+import com.athenaeum.backend.service.UserInfoCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,10 +23,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Authentication controller for handling login, logout, and user info.
@@ -28,11 +36,32 @@ import java.util.List;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final UserLabelService userLabelService;
+    private final SecurityContextRepository securityContextRepository;
+    private final SessionLabelService sessionLabelService;
+    private final UserInfoCache userInfoCache;
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Timer loginRejected;
 
-    public AuthController(AuthenticationManager authenticationManager, UserLabelService userLabelService) {
+    public AuthController(AuthenticationManager authenticationManager,
+                          SecurityContextRepository securityContextRepository,
+                          SessionLabelService sessionLabelService, UserInfoCache userInfoCache,
+                          MeterRegistry meterRegistry) {
         this.authenticationManager = authenticationManager;
-        this.userLabelService = userLabelService;
+        this.securityContextRepository = securityContextRepository;
+        this.sessionLabelService = sessionLabelService;
+        this.userInfoCache = userInfoCache;
+        // Registered up front so that recording a login only adds to existing meters
+        this.loginSuccess = loginTimer(meterRegistry, "success");
+        this.loginFailure = loginTimer(meterRegistry, "failure");
+        this.loginRejected = loginTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("athenaeum.auth.login")
+            .description("Time to handle a login request, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
     }
 
     /**
@@ -40,10 +69,13 @@ public class AuthController {
      * 
      * @param loginRequest the login credentials
      * @param request the HTTP request
+     * @param response the HTTP response
      * @return authentication response
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request,
+                                              HttpServletResponse response) {
+        long start = System.nanoTime();
         try {
             // Authenticate the user
             Authentication authentication = authenticationManager.authenticate(
@@ -58,17 +90,24 @@ public class AuthController {
             securityContext.setAuthentication(authentication);
             SecurityContextHolder.setContext(securityContext);
 
-            // Store SecurityContext in session
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+            // Store SecurityContext in the session, or in a signed cookie
+            securityContextRepository.saveContext(securityContext, request, response);
 
-            // Get user labels
-            List<SessionLabel> labels = userLabelService.getUserLabels(authentication.getName());
+            // Get user labels and keep them in the session for later requests
+            LabelSet labels = sessionLabelService.storeLabels(request, authentication.getName());
 
+            loginSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return ResponseEntity.ok(new AuthResponse(true, "Login successful", authentication.getName(), labels));
         } catch (AuthenticationException e) {
+            loginFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new AuthResponse(false, "Invalid username or password", null, null));
+        } catch (PasswordEncoderOverloadedException e) {
+            // Password hashing queue is full; ask the client to back off
+            loginRejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new AuthResponse(false, "Server busy, please try again", null, null));
         }
     }
 
@@ -76,10 +115,13 @@ public class AuthController {
      * Logout endpoint.
      * 
      * @param request the HTTP request
+     * @param response the HTTP response
      * @return authentication response
      */
     @PostMapping("/logout")
-    public ResponseEntity<AuthResponse> logout(HttpServletRequest request) {
+    public ResponseEntity<AuthResponse> logout(HttpServletRequest request, HttpServletResponse response) {
+        // Revokes and clears a signed session cookie, or empties the session invalidated below
+        securityContextRepository.saveContext(SecurityContextHolder.createEmptyContext(), request, response);
         HttpSession session = request.getSession(false);
         if (session != null) {
             session.invalidate();
@@ -91,19 +133,28 @@ public class AuthController {
 
     /**
      * Get current user info endpoint.
+     * The {@link UserInfo} JSON is served pre-encoded with an ETag; a request
+     * whose {@code If-None-Match} matches gets 304 Not Modified without a body.
      * 
+     * @param request the HTTP request
      * @return user information
      */
     @GetMapping("/user")
-    public ResponseEntity<UserInfo> getUserInfo() {
+    public ResponseEntity<byte[]> getUserInfo(HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
+        UserInfoCache.EncodedUserInfo userInfo = userInfoCache.anonymous();
         if (authentication != null && authentication.isAuthenticated() 
             && !authentication.getName().equals("anonymousUser")) {
-            List<SessionLabel> labels = userLabelService.getUserLabels(authentication.getName());
-            return ResponseEntity.ok(new UserInfo(authentication.getName(), true, labels));
+            LabelSet labels = sessionLabelService.currentLabels(request, authentication.getName());
+            userInfo = userInfoCache.authenticated(authentication.getName(), labels);
         }
         
-        return ResponseEntity.ok(new UserInfo(null, false, List.of()));
+        // Spring MVC answers 304 itself when the ETag matches If-None-Match
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(userInfo.etag())
+            .body(userInfo.json());
     }
 }
@@ -0,0 +1,197 @@
+package com.athenaeum.backend.controller;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import com.athenaeum.backend.service.DocumentContentService;
+import com.athenaeum.backend.service.DocumentContentService.DocumentContent;
+import com.athenaeum.backend.service.SessionLabelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Controller serving the bodies (PDF or EPUB) of library documents.
+ *
+ * A body is only served if the document is visible with the caller's session
+ * labels. Conditional requests are answered from the file's ETag and
+ * modification time, and a single byte range is served as 206 Partial
+ * Content; requests for several ranges get the whole body.
+ *
+ * Bodies are never read into the heap. When the servlet container supports
+ * sendfile, as Tomcat's NIO connector does, bodies of at least
+ * {@code athenaeum.documents.sendfile-threshold} are handed to it and copied
+ * from the file to the socket by the kernel. Smaller bodies, and all bodies
+ * elsewhere, are copied with {@link FileChannel#transferTo} a chunk at a time.
+ * Bytes sent are counted in {@code athenaeum.documents.content.bytes} by
+ * {@code delivery}.
+ */
+@RestController
+@RequestMapping("/api/documents")
+public class DocumentContentController {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final DocumentCatalogService documentCatalogService;
+    private final DocumentContentService documentContentService;
+    private final SessionLabelService sessionLabelService;
+    private final long sendfileThreshold;
+    private final Counter sendfileBytes;
+    private final Counter streamedBytes;
+
+    public DocumentContentController(DocumentCatalogService documentCatalogService,
+                                     DocumentContentService documentContentService,
+                                     SessionLabelService sessionLabelService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${athenaeum.documents.sendfile-threshold:48KB}") DataSize sendfileThreshold) {
+        this.documentCatalogService = documentCatalogService;
+        this.documentContentService = documentContentService;
+        this.sessionLabelService = sessionLabelService;
+        this.sendfileThreshold = sendfileThreshold.toBytes();
+        this.sendfileBytes = bytesCounter(meterRegistry, "sendfile");
+        this.streamedBytes = bytesCounter(meterRegistry, "stream");
+    }
+
+    private static Counter bytesCounter(MeterRegistry meterRegistry, String delivery) {
+        return Counter.builder("athenaeum.documents.content.bytes")
+            .description("Document body bytes sent, by how they were delivered")
+            .baseUnit("bytes")
+            .tag("delivery", delivery)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the body of a document visible to the current user.
+     *
+     * @param id the document id
+     * @param request the HTTP request
+     * @param response the HTTP response
+     */
+    @GetMapping("/{id}/content")
+    public void getContent(@PathVariable int id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        LabelSet labels = sessionLabelService.currentLabels(request, authentication.getName());
+        Optional<DocumentContent> found = documentCatalogService.getDocument(id, labels)
+            .flatMap(documentContentService::findContent);
+        if (found.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        DocumentContent content = found.get();
+
+        // Answers 304 or 412 and sets ETag and Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(content.etag(), content.lastModified())) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setContentType(content.mediaType().toString());
+
+        long length = content.length();
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, content);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The container copies the range once this method returns; its end is exclusive
+            request.setAttribute(SENDFILE_FILENAME, content.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfileBytes.increment(count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(content.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end - position + 1, out);
+                if (sent <= 0) {
+                    // The file shrank since it was measured; the client sees a short body
+                    break;
+                }
+                position += sent;
+            }
+            streamedBytes.increment(position - start);
+        }
+    }
+
+    /**
+     * @return the single range to serve, or null to serve the whole body
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, DocumentContent content) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(request, content)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            // An invalid Range header is ignored
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    /**
+     * @return true unless an If-Range header names another version of the body
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, DocumentContent content) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Ranges need a strong match, so a weak tag never matches
+            return ifRange.equals(content.etag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == content.lastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
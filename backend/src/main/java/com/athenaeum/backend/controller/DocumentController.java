@@ -0,0 +1,150 @@
+package com.athenaeum.backend.controller;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.DocumentPage;
+import com.athenaeum.backend.dto.FacetCount;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import com.athenaeum.backend.service.FacetCountService;
+import com.athenaeum.backend.service.SessionLabelService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controller for browsing the library document catalog.
+ * Only documents whose label is assigned to the current user are visible.
+ */
+@RestController
+@RequestMapping("/api/documents")
+public class DocumentController {
+
+    static final int MAX_LIMIT = 1000;
+    static final int STREAM_CHUNK_SIZE = 256;
+
+    private final DocumentCatalogService documentCatalogService;
+    private final SessionLabelService sessionLabelService;
+    private final FacetCountService facetCountService;
+    private final ObjectWriter documentWriter;
+
+    public DocumentController(DocumentCatalogService documentCatalogService, SessionLabelService sessionLabelService,
+                              FacetCountService facetCountService, ObjectMapper objectMapper) {
+        this.documentCatalogService = documentCatalogService;
+        this.sessionLabelService = sessionLabelService;
+        this.facetCountService = facetCountService;
+        this.documentWriter = objectMapper.writerFor(Document.class)
+            .withRootValueSeparator((String) null)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * List one page of documents visible to the current user.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or absent for the first page
+     * @param limit the maximum number of documents to return (capped at 1000)
+     * @param request the HTTP request
+     * @return visible documents in catalog order and the cursor for the next page
+     */
+    @GetMapping
+    public ResponseEntity<DocumentPage> listDocuments(@RequestParam(required = false) Integer cursor,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      HttpServletRequest request) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        // Fetch one extra document to find out whether another page exists
+        List<Document> documents = documentCatalogService.listDocuments(
+            currentUserLabels(request), startId(cursor), boundedLimit + 1);
+        Integer nextCursor = null;
+        if (documents.size() > boundedLimit) {
+            documents = documents.subList(0, boundedLimit);
+            nextCursor = documents.get(boundedLimit - 1).getId();
+        }
+
+        return ResponseEntity.ok(new DocumentPage(documents, nextCursor));
+    }
+
+    /**
+     * Stream every document visible to the current user as newline-delimited JSON.
+     * Documents are fetched and written in fixed-size chunks, so memory use per
+     * request does not grow with the size of the result.
+     * 
+     * The body is written on the request thread rather than through an async
+     * StreamingResponseBody: Spring Session commits the session when the response
+     * is first written to, and doing that from a second thread races the commit
+     * at the end of the filter chain.
+     *
+     * @param cursor the id of the last document already seen, or absent to start from the beginning
+     * @param request the HTTP request
+     * @param response the HTTP response to stream into
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamDocuments(@RequestParam(required = false) Integer cursor, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        LabelSet labels = currentUserLabels(request);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        try (JsonGenerator generator = documentWriter.createGenerator(response.getOutputStream())) {
+            int fromId = startId(cursor);
+            List<Document> chunk;
+            do {
+                chunk = documentCatalogService.listDocuments(labels, fromId, STREAM_CHUNK_SIZE);
+                for (Document document : chunk) {
+                    documentWriter.writeValue(generator, document);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                if (!chunk.isEmpty()) {
+                    fromId = chunk.get(chunk.size() - 1).getId() + 1;
+                }
+            } while (chunk.size() == STREAM_CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Count the documents under each label held by the current user.
+     *
+     * @param request the HTTP request
+     * @return one count per held label, in label order
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<List<FacetCount>> getFacets(HttpServletRequest request) {
+        return ResponseEntity.ok(facetCountService.counts(currentUserLabels(request)));
+    }
+
+    /**
+     * Get a single document visible to the current user.
+     *
+     * @param id the document id
+     * @param request the HTTP request
+     * @return the document, or 404 if it does not exist or is not visible
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Document> getDocument(@PathVariable int id, HttpServletRequest request) {
+        return documentCatalogService.getDocument(id, currentUserLabels(request))
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private LabelSet currentUserLabels(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return sessionLabelService.currentLabels(request, authentication.getName());
+    }
+
+    private static int startId(Integer cursor) {
+        if (cursor == null || cursor < 0) {
+            return 0;
+        }
+        return cursor == Integer.MAX_VALUE ? Integer.MAX_VALUE : cursor + 1;
+    }
+}
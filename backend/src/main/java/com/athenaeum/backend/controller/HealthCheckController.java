@@ -1,33 +1,90 @@
 package com.athenaeum.backend.controller;
 
+import com.athenaeum.backend.service.ReadinessService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Health check controller for the Athenaeum Backend API.
+ *
+ * None of the probes do any work per request: liveness is a constant, and
+ * readiness and the general health check serve the snapshot last published by
+ * {@link ReadinessService}.
  */
 @RestController
 @RequestMapping("/api")
 public class HealthCheckController {
 
+    private static final ResponseEntity<byte[]> LIVE = respond(HttpStatus.OK,
+        "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ReadinessService readinessService;
+    private volatile Responses responses;
+
+    public HealthCheckController(ReadinessService readinessService) {
+        this.readinessService = readinessService;
+    }
+
     /**
      * Simple health check endpoint.
-     * 
-     * @return JSON response with status and timestamp
+     *
+     * @return JSON response with status and the time of the last readiness check
      */
     @GetMapping("/health")
-    public ResponseEntity<Map<String, Object>> healthCheck() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("message", "Athenaeum Backend is running");
-        response.put("timestamp", LocalDateTime.now().toString());
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> healthCheck() {
+        return responses().health();
+    }
+
+    /**
+     * Liveness probe: answers as long as the application can serve requests.
+     *
+     * @return a constant UP response
+     */
+    @GetMapping("/health/live")
+    public ResponseEntity<byte[]> liveness() {
+        return LIVE;
+    }
+
+    /**
+     * Readiness probe: 200 when every dependency passed its last check, 503 otherwise.
+     *
+     * @return the per-dependency status from the last check
+     */
+    @GetMapping("/health/ready")
+    public ResponseEntity<byte[]> readiness() {
+        return responses().ready();
+    }
+
+    private Responses responses() {
+        ReadinessService.Snapshot snapshot = readinessService.snapshot();
+        Responses current = responses;
+        if (current == null || current.snapshot() != snapshot) {
+            current = new Responses(snapshot,
+                respond(snapshot.ready() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE, snapshot.readinessJson()),
+                respond(HttpStatus.OK, snapshot.healthJson()));
+            responses = current;
+        }
+        return current;
+    }
+
+    private static ResponseEntity<byte[]> respond(HttpStatus status, byte[] json) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noStore())
+            .body(json);
+    }
+
+    /**
+     * Responses built from one snapshot, reused until the next check publishes another.
+     */
+    private record Responses(ReadinessService.Snapshot snapshot, ResponseEntity<byte[]> ready,
+                             ResponseEntity<byte[]> health) {
     }
 }
@@ -0,0 +1,54 @@
+package com.athenaeum.backend.controller;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SearchResult;
+import com.athenaeum.backend.service.SearchIndexService;
+import com.athenaeum.backend.service.SessionLabelService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for full-text search over the document catalog.
+ * Results are restricted to documents whose label is assigned to the current user.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    static final int MAX_LIMIT = 100;
+
+    private final SearchIndexService searchIndexService;
+    private final SessionLabelService sessionLabelService;
+
+    public SearchController(SearchIndexService searchIndexService, SessionLabelService sessionLabelService) {
+        this.searchIndexService = searchIndexService;
+        this.sessionLabelService = sessionLabelService;
+    }
+
+    /**
+     * Search document titles, authors and subjects.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of hits to return (capped at 100)
+     * @param request the HTTP request
+     * @return hits ordered by descending relevance
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(@RequestParam("q") String query,
+                                                     @RequestParam(defaultValue = "10") int limit,
+                                                     HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        LabelSet labels = sessionLabelService.currentLabels(request, authentication.getName());
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        return ResponseEntity.ok(searchIndexService.search(query, labels, boundedLimit));
+    }
+}
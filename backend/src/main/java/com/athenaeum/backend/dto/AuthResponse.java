@@ -1,7 +1,5 @@
 package com.athenaeum.backend.dto;
 
-import java.util.List;
-
 /**
  * DTO for authentication response.
  */
@@ -9,7 +7,7 @@ public class AuthResponse {
     private boolean success;
     private String message;
     private String username;
-    private List<SessionLabel> labels;
+    private LabelSet labels;
 
     public AuthResponse() {
     }
@@ -21,7 +19,7 @@ public class AuthResponse {
         this.labels = null; // Explicitly set to null for error/logout responses
     }
 
-    public AuthResponse(boolean success, String message, String username, List<SessionLabel> labels) {
+    public AuthResponse(boolean success, String message, String username, LabelSet labels) {
         this.success = success;
         this.message = message;
         this.username = username;
@@ -52,11 +50,11 @@ public class AuthResponse {
         this.username = username;
     }
 
-    public List<SessionLabel> getLabels() {
+    public LabelSet getLabels() {
         return labels;
     }
 
-    public void setLabels(List<SessionLabel> labels) {
+    public void setLabels(LabelSet labels) {
         this.labels = labels;
     }
 }
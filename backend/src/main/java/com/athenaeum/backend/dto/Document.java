@@ -0,0 +1,41 @@
+package com.athenaeum.backend.dto;
+
+/**
+ * DTO for a library document in the catalog.
+ * Each document belongs to exactly one session label, which controls who can view it.
+ */
+public class Document {
+    private final int id;
+    private final String title;
+    private final String author;
+    private final String subject;
+    private final SessionLabel label;
+
+    public Document(int id, String title, String author, String subject, SessionLabel label) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.subject = subject;
+        this.label = label;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public SessionLabel getLabel() {
+        return label;
+    }
+}
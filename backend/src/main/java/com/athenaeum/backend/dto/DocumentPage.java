@@ -0,0 +1,26 @@
+package com.athenaeum.backend.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a cursor-paginated document listing.
+ * {@code nextCursor} is passed back as the {@code cursor} parameter to fetch
+ * the following page, and is null when there are no more documents.
+ */
+public class DocumentPage {
+    private final List<Document> documents;
+    private final Integer nextCursor;
+
+    public DocumentPage(List<Document> documents, Integer nextCursor) {
+        this.documents = documents;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Document> getDocuments() {
+        return documents;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+}
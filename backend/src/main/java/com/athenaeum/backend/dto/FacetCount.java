@@ -0,0 +1,26 @@
+package com.athenaeum.backend.dto;
+
+/**
+ * DTO for the number of catalog documents under one session label.
+ */
+public class FacetCount {
+    private final SessionLabel label;
+    private final long count;
+
+    public FacetCount(SessionLabel label, long count) {
+        this.label = label;
+        this.count = count;
+    }
+
+    public SessionLabel getLabel() {
+        return label;
+    }
+
+    public String getDisplayName() {
+        return label.getDisplayName();
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,217 @@
+package com.athenaeum.backend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of {@link SessionLabel}s backed by an int bitmask.
+ *
+ * Bit {@code n} of the mask corresponds to the label with ordinal {@code n}.
+ * Every possible set is pre-built once, so membership tests, set algebra and
+ * lookups by mask never allocate. Serialized to JSON as an array of label names.
+ */
+@JsonSerialize(using = LabelSet.Serializer.class)
+@JsonDeserialize(using = LabelSet.Deserializer.class)
+public final class LabelSet implements Iterable<SessionLabel> {
+
+    private static final SessionLabel[] LABELS = SessionLabel.values();
+    private static final int FULL_MASK = (1 << LABELS.length) - 1;
+    private static final LabelSet[] CACHE;
+
+    static {
+        // One canonical instance per mask; keep the label count small enough for this to stay cheap
+        if (LABELS.length > 16) {
+            throw new IllegalStateException("LabelSet supports at most 16 labels, found " + LABELS.length);
+        }
+        CACHE = new LabelSet[FULL_MASK + 1];
+        for (int mask = 0; mask <= FULL_MASK; mask++) {
+            CACHE[mask] = new LabelSet(mask);
+        }
+    }
+
+    public static final LabelSet EMPTY = CACHE[0];
+    public static final LabelSet ALL = CACHE[FULL_MASK];
+
+    private final int mask;
+
+    private LabelSet(int mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Get the label set for a bitmask.
+     *
+     * @param mask bitmask where bit {@code n} is the label with ordinal {@code n}
+     * @return the canonical label set for the mask
+     * @throws IllegalArgumentException if the mask has bits outside the known labels
+     */
+    public static LabelSet ofMask(int mask) {
+        if ((mask & ~FULL_MASK) != 0) {
+            throw new IllegalArgumentException("Unknown label bits in mask: " + Integer.toBinaryString(mask));
+        }
+        return CACHE[mask];
+    }
+
+    public static LabelSet of(SessionLabel... labels) {
+        int mask = 0;
+        for (SessionLabel label : labels) {
+            mask |= bit(label);
+        }
+        return CACHE[mask];
+    }
+
+    public static LabelSet copyOf(Collection<SessionLabel> labels) {
+        int mask = 0;
+        for (SessionLabel label : labels) {
+            mask |= bit(label);
+        }
+        return CACHE[mask];
+    }
+
+    private static int bit(SessionLabel label) {
+        return 1 << label.ordinal();
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public boolean contains(SessionLabel label) {
+        return label != null && (mask & bit(label)) != 0;
+    }
+
+    public boolean containsAll(LabelSet other) {
+        return (mask & other.mask) == other.mask;
+    }
+
+    public boolean intersects(LabelSet other) {
+        return (mask & other.mask) != 0;
+    }
+
+    public LabelSet union(LabelSet other) {
+        return CACHE[mask | other.mask];
+    }
+
+    public LabelSet intersect(LabelSet other) {
+        return CACHE[mask & other.mask];
+    }
+
+    public LabelSet with(SessionLabel label) {
+        return CACHE[mask | bit(label)];
+    }
+
+    public LabelSet without(SessionLabel label) {
+        return CACHE[mask & ~bit(label)];
+    }
+
+    public int size() {
+        return Integer.bitCount(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    /**
+     * Copy the labels into a new list, in ordinal order.
+     *
+     * @return mutable list of the labels in this set
+     */
+    public List<SessionLabel> toList() {
+        List<SessionLabel> list = new ArrayList<>(size());
+        for (SessionLabel label : this) {
+            list.add(label);
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<SessionLabel> iterator() {
+        return new Iterator<>() {
+            private int remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public SessionLabel next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int ordinal = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return LABELS[ordinal];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof LabelSet other && other.mask == mask);
+    }
+
+    @Override
+    public int hashCode() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    /**
+     * Writes the set as a JSON array of label names without materialising a list.
+     */
+    static class Serializer extends JsonSerializer<LabelSet> {
+        @Override
+        public void serialize(LabelSet value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartArray(value, value.size());
+            for (int remaining = value.mask; remaining != 0; remaining &= remaining - 1) {
+                gen.writeString(LABELS[Integer.numberOfTrailingZeros(remaining)].name());
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * Reads a JSON array of label names.
+     */
+    static class Deserializer extends JsonDeserializer<LabelSet> {
+        @Override
+        public LabelSet deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (LabelSet) ctxt.handleUnexpectedToken(LabelSet.class, p);
+            }
+            int mask = 0;
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    return (LabelSet) ctxt.handleUnexpectedToken(LabelSet.class, p);
+                }
+                try {
+                    mask |= bit(SessionLabel.valueOf(p.getText()));
+                } catch (IllegalArgumentException e) {
+                    throw ctxt.weirdStringException(p.getText(), SessionLabel.class, "not a known session label");
+                }
+            }
+            return CACHE[mask];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.athenaeum.backend.dto;
+
+/**
+ * DTO for a single full-text search hit.
+ */
+public class SearchResult {
+    private final Document document;
+    private final double score;
+
+    public SearchResult(Document document, double score) {
+        this.document = document;
+        this.score = score;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
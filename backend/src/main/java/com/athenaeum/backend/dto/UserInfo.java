@@ -1,14 +1,12 @@
 package com.athenaeum.backend.dto;
 
-import java.util.List;
-
 /**
  * DTO for user information.
  */
 public class UserInfo {
     private String username;
     private boolean authenticated;
-    private List<SessionLabel> labels;
+    private LabelSet labels;
 
     public UserInfo() {
     }
@@ -16,10 +14,10 @@ public class UserInfo {
     public UserInfo(String username, boolean authenticated) {
         this.username = username;
         this.authenticated = authenticated;
-        this.labels = List.of(); // Initialize to empty list for consistency
+        this.labels = LabelSet.EMPTY; // Initialize to empty set for consistency
     }
 
-    public UserInfo(String username, boolean authenticated, List<SessionLabel> labels) {
+    public UserInfo(String username, boolean authenticated, LabelSet labels) {
         this.username = username;
         this.authenticated = authenticated;
         this.labels = labels;
@@ -41,11 +39,11 @@ public class UserInfo {
         this.authenticated = authenticated;
     }
 
-    public List<SessionLabel> getLabels() {
+    public LabelSet getLabels() {
         return labels;
     }
 
-    public void setLabels(List<SessionLabel> labels) {
+    public void setLabels(LabelSet labels) {
         this.labels = labels;
     }
 }
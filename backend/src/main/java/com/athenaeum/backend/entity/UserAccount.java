@@ -0,0 +1,79 @@
+package com.athenaeum.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A user of the library together with the session labels assigned to them.
+ *
+ * Labels are stored as a {@link com.athenaeum.backend.dto.LabelSet} bitmask in
+ * the same row, so one lookup on the unique username index returns everything
+ * needed to authenticate a user and filter what they can see.
+ */
+@Entity
+@Table(name = "APP_USER", indexes = @Index(name = "APP_USER_USERNAME_UX", columnList = "USERNAME", unique = true))
+public class UserAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "USERNAME", nullable = false, length = 100)
+    private String username;
+
+    @Column(name = "PASSWORD_HASH", nullable = false, length = 100)
+    private String passwordHash;
+
+    @Column(name = "ENABLED", nullable = false)
+    private boolean enabled = true;
+
+    @Column(name = "LABEL_MASK", nullable = false)
+    private int labelMask;
+
+    protected UserAccount() {
+    }
+
+    public UserAccount(String username, String passwordHash, int labelMask) {
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.labelMask = labelMask;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLabelMask() {
+        return labelMask;
+    }
+
+    public void setLabelMask(int labelMask) {
+        this.labelMask = labelMask;
+    }
+}
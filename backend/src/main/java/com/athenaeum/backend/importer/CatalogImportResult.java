@@ -0,0 +1,19 @@
+package com.athenaeum.backend.importer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Totals for one catalog import.
+ *
+ * @param file the dump that was read
+ * @param records the number of records read, valid or not
+ * @param imported documents added to the catalog
+ * @param rejected records that could not be parsed or classified
+ * @param bytes the size of the dump
+ * @param elapsed the time the import took
+ * @param errors rejection messages, at most 100
+ */
+public record CatalogImportResult(String file, long records, long imported, long rejected, long bytes,
+                                  Duration elapsed, List<String> errors) {
+}
@@ -0,0 +1,49 @@
+package com.athenaeum.backend.importer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Imports a catalog dump from {@code athenaeum.import.catalog.file} on startup.
+ *
+ * The format is taken from {@code athenaeum.import.catalog.format}, or from
+ * the file name: {@code .mrc} and {@code .marc} files are MARC, anything else
+ * NDJSON.
+ */
+@Component
+@ConditionalOnProperty(name = "athenaeum.import.catalog.file")
+public class CatalogImportRunner implements ApplicationRunner {
+
+    private static final Log logger = LogFactory.getLog(CatalogImportRunner.class);
+
+    private final CatalogImportService catalogImportService;
+    private final Path file;
+    private final String format;
+
+    public CatalogImportRunner(CatalogImportService catalogImportService,
+                               @Value("${athenaeum.import.catalog.file}") Path file,
+                               @Value("${athenaeum.import.catalog.format:}") String format) {
+        this.catalogImportService = catalogImportService;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CatalogRecordParser.Format fileFormat = format.isEmpty()
+            ? CatalogRecordParser.Format.forFileName(file.getFileName().toString())
+            : CatalogRecordParser.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        CatalogImportResult result = catalogImportService.importCatalog(file, fileFormat);
+        result.errors().forEach(error -> logger.warn("Rejected catalog record, " + error));
+        logger.info("Catalog import of " + result.file() + " finished in " + result.elapsed().toMillis() + " ms: "
+            + result.imported() + " imported, " + result.rejected() + " rejected");
+    }
+}
@@ -0,0 +1,270 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.catalog.DeweyClassifier;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.importer.MappedRecordReader.RecordChunk;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import com.athenaeum.backend.service.DocumentCatalogService.NewDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a catalog dump (binary MARC 21 or NDJSON) into the document catalog.
+ *
+ * The dump is memory-mapped a window at a time and split into chunks of
+ * {@code athenaeum.import.catalog.batch-size} records that point into the
+ * mapping. Each chunk is parsed and labelled by {@link DeweyClassifier} on a
+ * fork-join pool of {@code parallelism} threads, split in halves down to a
+ * few records per task. At most {@code queue-capacity} chunks are in flight;
+ * once that many are waiting, reading stops until the oldest chunk has been
+ * written, so heap use does not grow with the size of the dump. Chunks are
+ * written in file order, each as one batch into the catalog, which updates
+ * its label index and notifies the search index in the same step.
+ *
+ * Records that cannot be parsed or classified are rejected and the import
+ * goes on. The catalog lives in memory, so an import always starts from the
+ * beginning of the dump.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Log logger = LogFactory.getLog(CatalogImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int PARSE_THRESHOLD = 32;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final DocumentCatalogService documentCatalogService;
+    private final DeweyClassifier classifier;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final int windowSize;
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+    private final Counter bytesCounter;
+    private final Timer batchTimer;
+
+    public CatalogImportService(DocumentCatalogService documentCatalogService, DeweyClassifier classifier,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${athenaeum.import.catalog.batch-size:1000}") int batchSize,
+                                @Value("${athenaeum.import.catalog.parallelism:0}") int parallelism,
+                                @Value("${athenaeum.import.catalog.queue-capacity:0}") int queueCapacity,
+                                @Value("${athenaeum.import.catalog.window-size:64MB}") DataSize windowSize) {
+        this.documentCatalogService = documentCatalogService;
+        this.classifier = classifier;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : 2 * this.parallelism;
+        this.windowSize = (int) Math.min(windowSize.toBytes(), Integer.MAX_VALUE);
+        this.importedCounter = recordCounter(meterRegistry, "imported");
+        this.rejectedCounter = recordCounter(meterRegistry, "rejected");
+        this.bytesCounter = Counter.builder("athenaeum.import.catalog.bytes")
+            .description("Bytes of catalog dumps read")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("athenaeum.import.catalog.batch")
+            .description("Time to write one batch of imported documents into the catalog")
+            .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("athenaeum.import.catalog.records")
+            .description("Records read from catalog dumps, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Import every record of a catalog dump.
+     *
+     * @param file the dump
+     * @param format the dump's format
+     * @return totals for the import
+     * @throws IOException if the dump cannot be read or holds a record longer than the mapping window
+     */
+    public CatalogImportResult importCatalog(Path file, CatalogRecordParser.Format format) throws IOException {
+        CatalogRecordParser parser = CatalogRecordParser.forFormat(format, objectMapper);
+        Progress progress = new Progress(file.toString());
+        Queue<ParsedChunk> inFlight = new ArrayDeque<>(queueCapacity);
+        AtomicLong threadNumber = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("catalog-import-parser-" + threadNumber.incrementAndGet());
+            return thread;
+        }, null, false);
+        try (MappedRecordReader reader = new MappedRecordReader(file, format.delimiter(), windowSize)) {
+            progress.size = reader.size();
+            RecordChunk chunk;
+            while ((chunk = reader.nextChunk(batchSize)) != null) {
+                if (inFlight.size() == queueCapacity) {
+                    // Backpressure: wait for the oldest chunk before reading further
+                    write(inFlight.remove(), progress);
+                }
+                ParsedChunk parsed = new ParsedChunk(chunk);
+                parsed.task = pool.submit(new ParseTask(parser, parsed, 0, chunk.count()));
+                inFlight.add(parsed);
+                bytesCounter.increment(reader.bytesRead() - progress.bytes);
+                progress.bytes = reader.bytesRead();
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.remove(), progress);
+            }
+        } finally {
+            inFlight.forEach(parsed -> parsed.task.cancel(true));
+            pool.shutdownNow();
+        }
+        progress.log(true);
+        return progress.toResult();
+    }
+
+    private void write(ParsedChunk parsed, Progress progress) {
+        parsed.task.join();
+        List<NewDocument> documents = new ArrayList<>(parsed.documents.length);
+        for (int i = 0; i < parsed.documents.length; i++) {
+            if (parsed.documents[i] != null) {
+                documents.add(parsed.documents[i]);
+            } else if (progress.errors.size() < MAX_REPORTED_ERRORS) {
+                progress.errors.add(parsed.errors[i]);
+            }
+        }
+        batchTimer.record(() -> documentCatalogService.addDocuments(documents));
+
+        int rejected = parsed.documents.length - documents.size();
+        progress.records += parsed.documents.length;
+        progress.imported += documents.size();
+        progress.rejected += rejected;
+        importedCounter.increment(documents.size());
+        rejectedCounter.increment(rejected);
+        progress.log(false);
+    }
+
+    /**
+     * Parse and classify one record.
+     *
+     * @throws InvalidCatalogRecordException if the record is malformed or has no label
+     */
+    private NewDocument toDocument(CatalogRecordParser parser, RecordChunk chunk, int index) {
+        long position = chunk.firstPosition() + index;
+        CatalogRecord record = parser.parse(chunk.buffer(), chunk.starts()[index], chunk.ends()[index], position);
+        SessionLabel label = classifier.classify(record.callNumber(), record.subjectHeadings());
+        if (label == null) {
+            throw CatalogRecordParser.invalid(position, "no label for call number " + record.callNumber()
+                + " or subjects " + record.subjectHeadings());
+        }
+        String subject = record.subjectHeadings().isEmpty() ? "" : record.subjectHeadings().get(0);
+        return new NewDocument(record.title(), record.author(), subject, label);
+    }
+
+    /**
+     * The documents parsed from a chunk, or for each rejected record the reason.
+     * Each slot is written by exactly one task, and read after the chunk's
+     * root task has been joined.
+     */
+    private static final class ParsedChunk {
+
+        final RecordChunk chunk;
+        final NewDocument[] documents;
+        final String[] errors;
+        ForkJoinTask<Void> task;
+
+        ParsedChunk(RecordChunk chunk) {
+            this.chunk = chunk;
+            this.documents = new NewDocument[chunk.count()];
+            this.errors = new String[chunk.count()];
+        }
+    }
+
+    /**
+     * Parses records {@code from} up to {@code to} of a chunk, forking halves
+     * until a range is small enough to parse directly.
+     */
+    private final class ParseTask extends RecursiveAction {
+
+        private final CatalogRecordParser parser;
+        private final ParsedChunk parsed;
+        private final int from;
+        private final int to;
+
+        ParseTask(CatalogRecordParser parser, ParsedChunk parsed, int from, int to) {
+            this.parser = parser;
+            this.parsed = parsed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARSE_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(parser, parsed, from, middle), new ParseTask(parser, parsed, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                try {
+                    parsed.documents[i] = toDocument(parser, parsed.chunk, i);
+                } catch (InvalidCatalogRecordException e) {
+                    parsed.errors[i] = e.getMessage();
+                }
+            }
+        }
+    }
+
+    private static final class Progress {
+
+        final String file;
+        final long startedNanos = System.nanoTime();
+        final List<String> errors = new ArrayList<>();
+        long size;
+        long bytes;
+        long records;
+        long imported;
+        long rejected;
+        long loggedNanos = startedNanos;
+
+        Progress(String file) {
+            this.file = file;
+        }
+
+        void log(boolean finished) {
+            long now = System.nanoTime();
+            if (!finished && now - loggedNanos < PROGRESS_INTERVAL_NANOS) {
+                return;
+            }
+            loggedNanos = now;
+            double seconds = Math.max(now - startedNanos, 1) / 1e9;
+            logger.info(String.format("Catalog import %s: %d records read, %d imported, %d rejected, %.1f%% of %d MB"
+                    + " (%.0f records/s, %.1f MB/s)%s", file, records, imported, rejected,
+                size > 0 ? 100.0 * bytes / size : 100.0, size >> 20, records / seconds, bytes / seconds / (1 << 20),
+                finished ? ", finished" : ""));
+        }
+
+        CatalogImportResult toResult() {
+            return new CatalogImportResult(file, records, imported, rejected, size,
+                Duration.ofNanos(System.nanoTime() - startedNanos), List.copyOf(errors));
+        }
+    }
+}
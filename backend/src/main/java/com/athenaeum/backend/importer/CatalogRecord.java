@@ -0,0 +1,16 @@
+package com.athenaeum.backend.importer;
+
+import java.util.List;
+
+/**
+ * One bibliographic record read from a catalog dump.
+ *
+ * @param position the record's 1-based position in the file
+ * @param title the title
+ * @param author the main author, or an empty string
+ * @param callNumber the Dewey call number, or null
+ * @param subjectHeadings the subject headings in catalog order
+ */
+public record CatalogRecord(long position, String title, String author, String callNumber,
+                            List<String> subjectHeadings) {
+}
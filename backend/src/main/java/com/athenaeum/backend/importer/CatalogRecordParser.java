@@ -0,0 +1,269 @@
+package com.athenaeum.backend.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses one catalog record from the bytes of a mapped window.
+ *
+ * MARC input is binary MARC 21 (ISO 2709), where each record ends with the
+ * record terminator {@code 0x1D}. The title is read from field 245 $a $b, the
+ * author from 100, 110 or 111 $a, the call number from 082 $a, and subject
+ * headings from 600, 610, 650 and 651 with their subdivisions. Field data is
+ * decoded as UTF-8, which also covers the ASCII subset of MARC-8 records.
+ *
+ * NDJSON input has one object per line with {@code title}, {@code author},
+ * {@code callNumber} and a {@code subjects} array; only {@code title} is
+ * required.
+ *
+ * Parsers keep no state between records and may be shared between threads.
+ */
+public abstract class CatalogRecordParser {
+
+    public enum Format {
+        MARC((byte) 0x1D), NDJSON((byte) '\n');
+
+        private final byte delimiter;
+
+        Format(byte delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * @return the byte that ends each record
+         */
+        public byte delimiter() {
+            return delimiter;
+        }
+
+        /**
+         * @return the format implied by a file name's extension, MARC if it ends in .mrc or .marc
+         */
+        public static Format forFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            return lower.endsWith(".mrc") || lower.endsWith(".marc") ? MARC : NDJSON;
+        }
+    }
+
+    static final int MAX_TITLE_LENGTH = 1000;
+
+    public static CatalogRecordParser forFormat(Format format, ObjectMapper objectMapper) {
+        return format == Format.MARC ? new MarcParser() : new NdjsonParser(objectMapper);
+    }
+
+    /**
+     * Parse the record held in {@code buffer} from {@code start} up to
+     * {@code end}, without its delimiter. Only absolute reads are made, so
+     * other threads may parse other records of the same buffer.
+     *
+     * @param position the record's 1-based position in the file, for messages
+     * @throws InvalidCatalogRecordException if the record is malformed
+     */
+    abstract CatalogRecord parse(ByteBuffer buffer, int start, int end, long position);
+
+    static CatalogRecord toRecord(long position, String title, String author, String callNumber,
+                                  List<String> subjectHeadings) {
+        if (title == null || title.isBlank()) {
+            throw invalid(position, "missing title");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw invalid(position, "title longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        return new CatalogRecord(position, title.trim(), author == null ? "" : author.trim(),
+            callNumber == null || callNumber.isBlank() ? null : callNumber.trim(), List.copyOf(subjectHeadings));
+    }
+
+    static InvalidCatalogRecordException invalid(long position, String message) {
+        return new InvalidCatalogRecordException("record " + position + ": " + message);
+    }
+
+    private static final class MarcParser extends CatalogRecordParser {
+
+        private static final int LEADER_LENGTH = 24;
+        private static final int DIRECTORY_ENTRY_LENGTH = 12;
+        private static final byte FIELD_TERMINATOR = 0x1E;
+        private static final byte SUBFIELD_DELIMITER = 0x1F;
+
+        @Override
+        CatalogRecord parse(ByteBuffer buffer, int start, int end, long position) {
+            // The record length in the leader counts the record terminator
+            int length = end - start + 1;
+            if (length < LEADER_LENGTH + 2) {
+                throw invalid(position, "shorter than a MARC leader");
+            }
+            int recordLength = number(buffer, start, 5, position);
+            if (recordLength != length) {
+                throw invalid(position, "leader gives length " + recordLength + " but the record has " + length
+                    + " bytes");
+            }
+            int baseAddress = number(buffer, start + 12, 5, position);
+            if (baseAddress <= LEADER_LENGTH || baseAddress > length - 1) {
+                throw invalid(position, "base address " + baseAddress + " outside the record");
+            }
+
+            String title = null;
+            String author = null;
+            String callNumber = null;
+            List<String> subjectHeadings = new ArrayList<>();
+            int directoryEnd = start + baseAddress - 1;
+            for (int entry = start + LEADER_LENGTH; entry + DIRECTORY_ENTRY_LENGTH <= directoryEnd;
+                    entry += DIRECTORY_ENTRY_LENGTH) {
+                int tag = tag(buffer, entry);
+                int fieldLength = number(buffer, entry + 3, 4, position);
+                int from = start + baseAddress + number(buffer, entry + 7, 5, position);
+                // Without the field terminator
+                int to = from + fieldLength - 1;
+                if (fieldLength < 1 || to > end) {
+                    throw invalid(position, "field " + tag + " extends past the record");
+                }
+                switch (tag) {
+                    case 245 -> title = trimPunctuation(subfields(buffer, from, to, "ab", " "));
+                    case 100, 110, 111 -> author = author != null ? author
+                        : trimPunctuation(subfields(buffer, from, to, "a", " "));
+                    case 82 -> callNumber = callNumber != null ? callNumber : subfields(buffer, from, to, "a", null);
+                    case 600, 610, 650, 651 -> {
+                        String heading = trimTrailing(subfields(buffer, from, to, "avxyz", " -- "), ".");
+                        if (!heading.isEmpty()) {
+                            subjectHeadings.add(heading);
+                        }
+                    }
+                    default -> {
+                        // Not needed for the catalog
+                    }
+                }
+            }
+            return toRecord(position, title, author, callNumber, subjectHeadings);
+        }
+
+        /**
+         * Join the values of the given subfield codes, in field order. With a
+         * null separator only the first matching value is returned.
+         */
+        private static String subfields(ByteBuffer buffer, int from, int to, String codes, String separator) {
+            StringBuilder result = new StringBuilder();
+            // Data fields start with two indicator characters before their first subfield
+            int i = from + 2;
+            while (i < to) {
+                if (buffer.get(i) != SUBFIELD_DELIMITER || i + 1 >= to) {
+                    i++;
+                    continue;
+                }
+                char code = (char) buffer.get(i + 1);
+                int valueStart = i + 2;
+                int valueEnd = valueStart;
+                while (valueEnd < to && buffer.get(valueEnd) != SUBFIELD_DELIMITER
+                        && buffer.get(valueEnd) != FIELD_TERMINATOR) {
+                    valueEnd++;
+                }
+                if (codes.indexOf(code) >= 0) {
+                    String value = decode(buffer, valueStart, valueEnd).trim();
+                    if (separator == null) {
+                        return value;
+                    }
+                    if (!value.isEmpty()) {
+                        if (!result.isEmpty()) {
+                            result.append(separator);
+                        }
+                        result.append(value);
+                    }
+                }
+                i = valueEnd;
+            }
+            return separator == null ? null : result.toString();
+        }
+
+        private static String decode(ByteBuffer buffer, int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Drop the ISBD punctuation that separates a value from the next subfield.
+         */
+        private static String trimPunctuation(String value) {
+            return trimTrailing(value, " /:;,=");
+        }
+
+        private static String trimTrailing(String value, String characters) {
+            int end = value.length();
+            while (end > 0 && characters.indexOf(value.charAt(end - 1)) >= 0) {
+                end--;
+            }
+            return value.substring(0, end);
+        }
+
+        /**
+         * @return the numeric tag, or -1 for an alphanumeric one
+         */
+        private static int tag(ByteBuffer buffer, int offset) {
+            int tag = 0;
+            for (int i = offset; i < offset + 3; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') {
+                    return -1;
+                }
+                tag = tag * 10 + (b - '0');
+            }
+            return tag;
+        }
+
+        /**
+         * @return the decimal number in the {@code digits} bytes at {@code offset}
+         */
+        private static int number(ByteBuffer buffer, int offset, int digits, long position) {
+            int value = 0;
+            for (int i = offset; i < offset + digits; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') {
+                    throw invalid(position, "malformed leader or directory");
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+    }
+
+    private static final class NdjsonParser extends CatalogRecordParser {
+
+        private final ObjectMapper objectMapper;
+
+        NdjsonParser(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        CatalogRecord parse(ByteBuffer buffer, int start, int end, long position) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(new ByteBufferBackedInputStream(buffer.slice(start, end - start)));
+            } catch (IOException e) {
+                throw invalid(position, "malformed JSON: " + e.getMessage().lines().findFirst().orElse(""));
+            }
+            if (node == null || !node.isObject()) {
+                throw invalid(position, "expected a JSON object");
+            }
+            JsonNode subjectsNode = node.path("subjects");
+            if (!subjectsNode.isMissingNode() && !subjectsNode.isNull() && !subjectsNode.isArray()) {
+                throw invalid(position, "subjects must be an array");
+            }
+            List<String> subjectHeadings = new ArrayList<>();
+            subjectsNode.forEach(subject -> subjectHeadings.add(subject.asText()));
+            return toRecord(position, text(node, "title"), text(node, "author"), text(node, "callNumber"),
+                subjectHeadings);
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
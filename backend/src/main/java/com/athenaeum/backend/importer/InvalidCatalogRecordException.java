@@ -0,0 +1,12 @@
+package com.athenaeum.backend.importer;
+
+/**
+ * Thrown for a record in a catalog dump that cannot be imported. The record
+ * is skipped and the rest of the dump is still read.
+ */
+public class InvalidCatalogRecordException extends RuntimeException {
+
+    public InvalidCatalogRecordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.athenaeum.backend.importer;
+
+/**
+ * Thrown for a record in an import file that cannot be imported. The record
+ * is skipped and the rest of the file is still read.
+ */
+public class InvalidUserRecordException extends RuntimeException {
+
+    public InvalidUserRecordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,150 @@
+package com.athenaeum.backend.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Splits a file into delimiter-terminated records by memory-mapping it one
+ * window at a time.
+ *
+ * Records are returned in chunks that point into the mapped window rather
+ * than copies of it, so reading a file of any size needs no more heap than the
+ * record offsets of the chunks in flight. A window starts at the first record
+ * not yet returned; a record longer than the window cannot be read. Records
+ * made only of whitespace are skipped, and the last record may omit its
+ * delimiter.
+ *
+ * Not thread-safe; the chunks it returns may be read from any thread.
+ */
+class MappedRecordReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final byte delimiter;
+    private final int windowSize;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int cursor;
+    private long position;
+
+    MappedRecordReader(Path file, byte delimiter, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.delimiter = delimiter;
+        this.windowSize = windowSize;
+        this.size = channel.size();
+    }
+
+    /**
+     * Read up to {@code maxRecords} records from the current window. A chunk
+     * may hold fewer records when the window ends.
+     *
+     * @return the records, or null at the end of the file
+     * @throws IOException if the file cannot be mapped or a record is longer than the window
+     */
+    RecordChunk nextChunk(int maxRecords) throws IOException {
+        int[] starts = new int[maxRecords];
+        int[] ends = new int[maxRecords];
+        int count = 0;
+        long firstPosition = position + 1;
+        while (count < maxRecords) {
+            if (window == null || cursor == window.limit()) {
+                // A chunk never spans two windows
+                if (count > 0) {
+                    break;
+                }
+                if (!map(window == null ? 0 : windowStart + cursor)) {
+                    return null;
+                }
+            }
+            int limit = window.limit();
+            int end = cursor;
+            while (end < limit && window.get(end) != delimiter) {
+                end++;
+            }
+            if (end == limit && windowStart + limit < size) {
+                // The record continues past this window, so map the next window from its start
+                if (count > 0) {
+                    break;
+                }
+                if (cursor == 0) {
+                    throw new IOException("Record at byte " + windowStart + " is longer than " + windowSize + " bytes");
+                }
+                map(windowStart + cursor);
+                continue;
+            }
+            if (!isBlank(cursor, end)) {
+                starts[count] = cursor;
+                ends[count] = end;
+                count++;
+                position++;
+            }
+            cursor = Math.min(end + 1, limit);
+        }
+        return new RecordChunk(window, starts, ends, count, firstPosition);
+    }
+
+    /**
+     * @return the number of records returned so far
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * @return the file offset just past the last record returned
+     */
+    long bytesRead() {
+        return window == null ? 0 : windowStart + cursor;
+    }
+
+    /**
+     * @return the size of the file in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    private boolean map(long start) throws IOException {
+        if (start >= size) {
+            return false;
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+        windowStart = start;
+        cursor = 0;
+        return true;
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = window.get(i);
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released once the last chunk referring to it is garbage collected
+        channel.close();
+    }
+
+    /**
+     * Records in one mapped window. Record {@code i} is the bytes of
+     * {@code buffer} from {@code starts[i]} up to {@code ends[i]}, without
+     * its delimiter. Only absolute reads of the buffer are safe to share.
+     *
+     * @param buffer the mapped window
+     * @param starts the offset of each record in the buffer
+     * @param ends the offset just past each record
+     * @param count the number of records
+     * @param firstPosition the 1-based position of the first record in the file
+     */
+    record RecordChunk(ByteBuffer buffer, int[] starts, int[] ends, int count, long firstPosition) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.athenaeum.backend.importer;
+
+import java.util.List;
+
+/**
+ * Totals for a user import job across all of its runs.
+ *
+ * @param jobId the job
+ * @param position the number of records processed so far
+ * @param imported users inserted
+ * @param skipped records whose username already existed
+ * @param rejected records that failed validation
+ * @param completed whether the whole file has been processed
+ * @param errors validation messages from this run, at most 100
+ */
+public record UserImportResult(String jobId, long position, long imported, long skipped, long rejected,
+                               boolean completed, List<String> errors) {
+}
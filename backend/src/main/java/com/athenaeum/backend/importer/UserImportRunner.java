@@ -0,0 +1,59 @@
+package com.athenaeum.backend.importer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Imports users from {@code athenaeum.import.users.file} on startup.
+ *
+ * The job id defaults to the file's absolute path, so starting the application
+ * again with the same file resumes an interrupted import. Add
+ * {@code --spring.main.web-application-type=none} to exit once the import is done
+ * instead of starting the web server.
+ */
+@Component
+@ConditionalOnProperty(name = "athenaeum.import.users.file")
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final Log logger = LogFactory.getLog(UserImportRunner.class);
+
+    private final UserImportService userImportService;
+    private final Path file;
+    private final String jobId;
+    private final String format;
+
+    public UserImportRunner(UserImportService userImportService,
+                            @Value("${athenaeum.import.users.file}") Path file,
+                            @Value("${athenaeum.import.users.job-id:}") String jobId,
+                            @Value("${athenaeum.import.users.format:}") String format) {
+        this.userImportService = userImportService;
+        this.file = file;
+        this.jobId = jobId.isEmpty() ? file.toAbsolutePath().normalize().toString() : jobId;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        UserRecordReader.Format fileFormat = format.isEmpty()
+            ? UserRecordReader.Format.forFileName(file.getFileName().toString())
+            : UserRecordReader.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        UserImportResult result;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            result = userImportService.importUsers(jobId, reader, fileFormat);
+        }
+        result.errors().forEach(error -> logger.warn("Rejected user record, " + error));
+        logger.info("User import " + result.jobId() + " finished: " + result.imported() + " imported, "
+            + result.skipped() + " skipped, " + result.rejected() + " rejected");
+    }
+}
@@ -0,0 +1,294 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.service.UserDirectoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams users from a CSV or NDJSON file into the user table.
+ *
+ * Records are read in chunks of {@code athenaeum.import.chunk-size}. For each
+ * chunk, usernames that already exist are skipped, the remaining passwords are
+ * hashed in parallel on one thread per core, and the users are inserted with a
+ * JDBC batch. The chunk's inserts and the job's checkpoint commit in one
+ * transaction. Running the same job again therefore resumes after the last
+ * committed chunk, and a completed job is not run twice. Only one chunk is in
+ * memory at a time.
+ */
+@Service
+public class UserImportService {
+
+    private static final Log logger = LogFactory.getLog(UserImportService.class);
+
+    static final String INSERT_USER_QUERY = "INSERT INTO APP_USER (USERNAME, PASSWORD_HASH, ENABLED, LABEL_MASK) "
+        + "VALUES (?, ?, TRUE, ?)";
+    static final String EXISTING_USERS_QUERY = "SELECT USERNAME FROM APP_USER WHERE USERNAME IN (:usernames)";
+    static final String SELECT_JOB_QUERY = "SELECT POSITION, IMPORTED, SKIPPED, REJECTED, COMPLETED "
+        + "FROM USER_IMPORT_JOB WHERE JOB_ID = ?";
+    static final String INSERT_JOB_QUERY = "INSERT INTO USER_IMPORT_JOB (JOB_ID, POSITION, IMPORTED, SKIPPED, "
+        + "REJECTED, COMPLETED, UPDATED_AT) VALUES (?, 0, 0, 0, 0, FALSE, ?)";
+    static final String UPDATE_JOB_QUERY = "UPDATE USER_IMPORT_JOB SET POSITION = ?, IMPORTED = ?, SKIPPED = ?, "
+        + "REJECTED = ?, COMPLETED = ?, UPDATED_AT = ? WHERE JOB_ID = ?";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDirectoryService userDirectory;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final int chunkSize;
+    private final int hashThreads;
+    private final Counter importedCounter;
+    private final Counter skippedCounter;
+    private final Counter rejectedCounter;
+    private final Timer chunkTimer;
+
+    public UserImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             UserDirectoryService userDirectory, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${athenaeum.security.bcrypt.strength:10}") int strength,
+                             @Value("${athenaeum.import.chunk-size:1000}") int chunkSize,
+                             @Value("${athenaeum.import.hash-threads:0}") int hashThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.userDirectory = userDirectory;
+        this.objectMapper = objectMapper;
+        // Not the login encoder: a bulk import must not fill the login hashing queue
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.chunkSize = chunkSize;
+        this.hashThreads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        this.importedCounter = importCounter(meterRegistry, "imported");
+        this.skippedCounter = importCounter(meterRegistry, "skipped");
+        this.rejectedCounter = importCounter(meterRegistry, "rejected");
+        this.chunkTimer = Timer.builder("athenaeum.import.chunk")
+            .description("Time to hash and insert one chunk of imported users")
+            .register(meterRegistry);
+    }
+
+    private static Counter importCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("athenaeum.import.users")
+            .description("Users read from import files, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Import users, resuming the job from its last checkpoint if it ran before.
+     *
+     * @param jobId identifies the import for restarts, usually the file's path
+     * @param input the file contents
+     * @param format the file format
+     * @return totals for the whole job, including earlier runs
+     */
+    public UserImportResult importUsers(String jobId, Reader input, UserRecordReader.Format format)
+            throws IOException {
+        JobState job = startJob(jobId);
+        if (job.completed) {
+            logger.info("User import " + jobId + " already completed");
+            return job.toResult(List.of());
+        }
+
+        List<String> errors = new ArrayList<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService hashers = Executors.newFixedThreadPool(hashThreads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hasher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (UserRecordReader reader = UserRecordReader.open(input, format, objectMapper)) {
+            if (job.position > 0) {
+                skipTo(reader, job.position);
+                logger.info("Resuming user import " + jobId + " after record " + job.position);
+            }
+
+            long started = System.nanoTime();
+            long startPosition = job.position;
+            List<UserRecord> chunk = new ArrayList<>(chunkSize);
+            int chunkRejected = 0;
+            boolean more = true;
+            while (more) {
+                UserRecord record = null;
+                try {
+                    record = reader.next();
+                    more = record != null;
+                } catch (InvalidUserRecordException e) {
+                    chunkRejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(e.getMessage());
+                    }
+                }
+                if (record != null) {
+                    chunk.add(record);
+                }
+                if (chunk.size() + chunkRejected >= chunkSize || !more) {
+                    writeChunk(job, chunk, chunkRejected, reader.position(), !more, hashers);
+                    chunk.clear();
+                    chunkRejected = 0;
+                    logProgress(jobId, job, startPosition, started);
+                }
+            }
+        } finally {
+            hashers.shutdownNow();
+        }
+        return job.toResult(errors);
+    }
+
+    private JobState startJob(String jobId) {
+        List<JobState> existing = jdbcTemplate.query(SELECT_JOB_QUERY, (rs, rowNum) -> new JobState(jobId,
+            rs.getLong("POSITION"), rs.getLong("IMPORTED"), rs.getLong("SKIPPED"), rs.getLong("REJECTED"),
+            rs.getBoolean("COMPLETED")), jobId);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        jdbcTemplate.update(INSERT_JOB_QUERY, jobId, System.currentTimeMillis());
+        return new JobState(jobId, 0, 0, 0, 0, false);
+    }
+
+    private static void skipTo(UserRecordReader reader, long position) throws IOException {
+        while (reader.position() < position) {
+            try {
+                if (reader.next() == null) {
+                    return;
+                }
+            } catch (InvalidUserRecordException e) {
+                // Already counted when the job first read it
+            }
+        }
+    }
+
+    private void writeChunk(JobState job, List<UserRecord> chunk, int rejected, long position, boolean completed,
+                            ExecutorService hashers) {
+        chunkTimer.record(() -> {
+            List<UserRecord> fresh = withoutExisting(chunk);
+            List<String> hashes = hashAll(fresh, hashers);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER_QUERY, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, fresh.get(i).username());
+                        ps.setString(2, hashes.get(i));
+                        ps.setInt(3, fresh.get(i).labels().mask());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return fresh.size();
+                    }
+                });
+                jdbcTemplate.update(UPDATE_JOB_QUERY, position, job.imported + fresh.size(),
+                    job.skipped + chunk.size() - fresh.size(), job.rejected + rejected, completed,
+                    System.currentTimeMillis(), job.jobId);
+            });
+
+            job.position = position;
+            job.imported += fresh.size();
+            job.skipped += chunk.size() - fresh.size();
+            job.rejected += rejected;
+            job.completed = completed;
+            importedCounter.increment(fresh.size());
+            skippedCounter.increment(chunk.size() - fresh.size());
+            rejectedCounter.increment(rejected);
+            // Drop cached "no such user" answers for the new users
+            fresh.forEach(record -> userDirectory.invalidate(record.username()));
+        });
+    }
+
+    /**
+     * @return the records whose username is neither in the table nor earlier in the chunk
+     */
+    private List<UserRecord> withoutExisting(List<UserRecord> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        Set<String> seen = new HashSet<>(namedParameterJdbcTemplate.queryForList(EXISTING_USERS_QUERY,
+            Map.of("usernames", chunk.stream().map(UserRecord::username).toList()), String.class));
+        List<UserRecord> fresh = new ArrayList<>(chunk.size());
+        for (UserRecord record : chunk) {
+            if (seen.add(record.username())) {
+                fresh.add(record);
+            }
+        }
+        return fresh;
+    }
+
+    private List<String> hashAll(List<UserRecord> records, ExecutorService hashers) {
+        List<Callable<String>> tasks = new ArrayList<>(records.size());
+        for (UserRecord record : records) {
+            tasks.add(() -> passwordEncoder.encode(record.password()));
+        }
+        List<String> hashes = new ArrayList<>(records.size());
+        try {
+            for (Future<String> future : hashers.invokeAll(tasks)) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to hash imported password", e.getCause());
+        }
+        return hashes;
+    }
+
+    private static void logProgress(String jobId, JobState job, long startPosition, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        logger.info(String.format("User import %s: %d records read, %d imported, %d skipped, %d rejected"
+                + " (%.0f records/s this run)%s", jobId, job.position, job.imported, job.skipped, job.rejected,
+            seconds > 0 ? (job.position - startPosition) / seconds : 0, job.completed ? ", completed" : ""));
+    }
+
+    private static final class JobState {
+
+        final String jobId;
+        long position;
+        long imported;
+        long skipped;
+        long rejected;
+        boolean completed;
+
+        JobState(String jobId, long position, long imported, long skipped, long rejected, boolean completed) {
+            this.jobId = jobId;
+            this.position = position;
+            this.imported = imported;
+            this.skipped = skipped;
+            this.rejected = rejected;
+            this.completed = completed;
+        }
+
+        UserImportResult toResult(List<String> errors) {
+            return new UserImportResult(jobId, position, imported, skipped, rejected, completed, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.dto.LabelSet;
+
+/**
+ * One user read from an import file.
+ *
+ * @param position the record's 1-based position in the file
+ * @param username the username
+ * @param password the plaintext password, hashed before it is stored
+ * @param labels the labels to assign
+ */
+public record UserRecord(long position, String username, String password, LabelSet labels) {
+}
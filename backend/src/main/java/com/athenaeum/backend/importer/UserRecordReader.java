@@ -0,0 +1,224 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads users to import one record at a time, so files of any size are
+ * processed in constant memory.
+ *
+ * CSV input starts with a header naming the {@code username}, {@code password}
+ * and {@code labels} columns in any order. Fields may be double-quoted, and
+ * labels within a field are separated by {@code |}. NDJSON input has one
+ * object per line with {@code username}, {@code password} and a
+ * {@code labels} array. Blank lines are ignored. Label names must match
+ * {@link SessionLabel} constants.
+ */
+public abstract class UserRecordReader implements AutoCloseable {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @return the format implied by a file name's extension, CSV unless it ends in .ndjson or .jsonl
+         */
+        public static Format forFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    static final int MAX_USERNAME_LENGTH = 100;
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long position;
+
+    UserRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    public static UserRecordReader open(Reader reader, Format format, ObjectMapper objectMapper) throws IOException {
+        return format == Format.NDJSON ? new NdjsonReader(reader, objectMapper) : new CsvReader(reader);
+    }
+
+    /**
+     * Read the next record. An invalid record still counts towards
+     * {@link #position()}, so reading can resume after it.
+     *
+     * @return the next record, or null at the end of the input
+     * @throws InvalidUserRecordException if the record is malformed
+     */
+    public UserRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        position++;
+        return parse(line);
+    }
+
+    /**
+     * @return the number of records read so far, valid or not
+     */
+    public long position() {
+        return position;
+    }
+
+    String readHeader() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    abstract UserRecord parse(String line);
+
+    UserRecord toRecord(String username, String password, List<String> labelNames) {
+        if (username == null || username.isBlank()) {
+            throw invalid("missing username");
+        }
+        if (username.length() > MAX_USERNAME_LENGTH) {
+            throw invalid("username longer than " + MAX_USERNAME_LENGTH + " characters");
+        }
+        if (password == null || password.isEmpty()) {
+            throw invalid("missing password for " + username);
+        }
+        LabelSet labels = LabelSet.EMPTY;
+        for (String name : labelNames) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                labels = labels.with(SessionLabel.valueOf(trimmed));
+            } catch (IllegalArgumentException e) {
+                throw invalid("unknown label " + trimmed + " for " + username);
+            }
+        }
+        return new UserRecord(position, username.trim(), password, labels);
+    }
+
+    InvalidUserRecordException invalid(String message) {
+        return new InvalidUserRecordException("line " + lineNumber + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class CsvReader extends UserRecordReader {
+
+        private final int usernameColumn;
+        private final int passwordColumn;
+        private final int labelsColumn;
+
+        CsvReader(Reader reader) throws IOException {
+            super(reader);
+            String header = readHeader();
+            List<String> columns = header == null ? List.of()
+                : split(header).stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+            this.usernameColumn = columns.indexOf("username");
+            this.passwordColumn = columns.indexOf("password");
+            this.labelsColumn = columns.indexOf("labels");
+            if (usernameColumn < 0 || passwordColumn < 0) {
+                throw new IOException("CSV header must name username and password columns, found " + header);
+            }
+        }
+
+        @Override
+        UserRecord parse(String line) {
+            List<String> fields = split(line);
+            String labels = labelsColumn >= 0 && labelsColumn < fields.size() ? fields.get(labelsColumn) : "";
+            return toRecord(field(fields, usernameColumn), field(fields, passwordColumn),
+                List.of(labels.split("\\|")));
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column < fields.size() ? fields.get(column) : null;
+        }
+
+        private List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw invalid("unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class NdjsonReader extends UserRecordReader {
+
+        private final ObjectMapper objectMapper;
+
+        NdjsonReader(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        UserRecord parse(String line) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw invalid("malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw invalid("expected a JSON object");
+            }
+            List<String> labels = new ArrayList<>();
+            JsonNode labelsNode = node.path("labels");
+            if (!labelsNode.isMissingNode() && !labelsNode.isNull() && !labelsNode.isArray()) {
+                throw invalid("labels must be an array");
+            }
+            labelsNode.forEach(label -> labels.add(label.asText()));
+            return toRecord(text(node, "username"), text(node, "password"), labels);
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.athenaeum.backend.repository;
+
+import com.athenaeum.backend.entity.UserAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository for user accounts, looked up by the unique username index.
+ *
+ * Updates are single-statement bulk updates. They clear the persistence
+ * context afterwards so a later lookup in the same request reads the new row
+ * rather than a stale managed entity.
+ */
+public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
+
+    Optional<UserAccount> findByUsername(String username);
+
+    /**
+     * @return the number of rows updated, 0 if the user does not exist
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserAccount u SET u.passwordHash = :passwordHash WHERE u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("passwordHash") String passwordHash);
+
+    /**
+     * @return the number of rows updated, 0 if the user does not exist
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserAccount u SET u.labelMask = :labelMask WHERE u.username = :username")
+    int updateLabelMask(@Param("username") String username, @Param("labelMask") int labelMask);
+}
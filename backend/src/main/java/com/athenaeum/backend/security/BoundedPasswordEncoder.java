@@ -0,0 +1,122 @@
+package com.athenaeum.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder that runs the wrapped encoder on a small, dedicated pool of
+ * threads with a bounded queue.
+ *
+ * Password hashing is deliberately expensive, so a burst of logins could
+ * otherwise occupy every request thread and CPU and starve health checks and
+ * authenticated API calls. Here at most one hash per pool thread runs at a
+ * time, the caller waits for its result, and once the queue is full further
+ * requests fail immediately with {@link PasswordEncoderOverloadedException}
+ * instead of waiting behind work that cannot finish in time.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    /**
+     * @param delegate the encoder doing the hashing
+     * @param threads the number of hashing threads, usually the number of CPUs
+     * @param queueCapacity how many hashes may wait for a thread before callers are turned away
+     * @param meterRegistry registry for queue depth, hash time and rejection metrics
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("athenaeum.password.hash")
+            .description("Time spent hashing passwords, excluding time queued")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+        this.matchesTimer = Timer.builder("athenaeum.password.hash")
+            .description("Time spent hashing passwords, excluding time queued")
+            .tag("operation", "matches")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("athenaeum.password.rejected")
+            .description("Password hashes refused because the hashing queue was full")
+            .register(meterRegistry);
+        Gauge.builder("athenaeum.password.queue.depth", executor, pool -> pool.getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Cheap check of the stored hash's parameters, so it runs on the caller's thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordEncoderOverloadedException("Too many password hashes queued", e);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hash failed", e.getCause());
+        }
+    }
+
+    /**
+     * @return the number of hashes waiting for a thread
+     */
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package com.athenaeum.backend.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * DaoAuthenticationProvider that skips the password hash when the same
+ * credentials were verified recently.
+ *
+ * Only the password comparison is cached. The user is still loaded and the
+ * account status checks still run on every login, so a locked or deleted
+ * account is refused even while a verification is cached.
+ */
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final VerifiedCredentialCache verifiedCredentials;
+
+    public CachingDaoAuthenticationProvider(PasswordEncoder passwordEncoder,
+                                            VerifiedCredentialCache verifiedCredentials) {
+        super(passwordEncoder);
+        this.verifiedCredentials = verifiedCredentials;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        String storedHash = userDetails.getPassword();
+        if (credentials != null && storedHash != null
+                && verifiedCredentials.isVerified(userDetails.getUsername(), credentials.toString(), storedHash)) {
+            return;
+        }
+
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        verifiedCredentials.put(userDetails.getUsername(), credentials.toString(), storedHash);
+    }
+}
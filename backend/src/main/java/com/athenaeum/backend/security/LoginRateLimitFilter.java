@@ -0,0 +1,219 @@
+package com.athenaeum.backend.security;
+
+import com.athenaeum.backend.dto.AuthResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login attempts per client address and per username before they
+ * reach the {@code AuthenticationManager}, so a credential-stuffing burst is
+ * turned away without spending BCrypt time on it.
+ *
+ * Each POST takes a token from the caller's address bucket and then from the
+ * bucket of the username in the request body. Without a token the request is
+ * answered with 429 Too Many Requests and a Retry-After header. The body is
+ * read here to find the username and replayed to the controller. Bodies
+ * larger than any real login are rejected with 413.
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    static final int MAX_BODY_BYTES = 4096;
+
+    private final TokenBucketLimiter perAddress;
+    private final TokenBucketLimiter perUsername;
+    private final ObjectMapper objectMapper;
+    private final byte[] throttledBody;
+    private final Counter throttledByAddress;
+    private final Counter throttledByUsername;
+
+    public LoginRateLimitFilter(TokenBucketLimiter perAddress, TokenBucketLimiter perUsername,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.perAddress = perAddress;
+        this.perUsername = perUsername;
+        this.objectMapper = objectMapper;
+        try {
+            this.throttledBody = objectMapper.writeValueAsBytes(
+                new AuthResponse(false, "Too many login attempts, please try again later", null, null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode throttled login response", e);
+        }
+        this.throttledByAddress = throttledCounter(meterRegistry, "address");
+        this.throttledByUsername = throttledCounter(meterRegistry, "username");
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("athenaeum.auth.login.throttled")
+            .description("Login attempts rejected by the rate limiter, by the limit they exceeded")
+            .tag("limit", limit)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = perAddress.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            throttledByAddress.increment();
+            throttle(response, wait);
+            return;
+        }
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String username = username(body);
+        if (username != null) {
+            wait = perUsername.tryAcquire(username);
+            if (wait > 0) {
+                throttledByUsername.increment();
+                throttle(response, wait);
+                return;
+            }
+        }
+        chain.doFilter(new ReplayedBodyRequest(request, body), response);
+    }
+
+    private void throttle(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+            Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(throttledBody.length);
+        response.getOutputStream().write(throttledBody);
+    }
+
+    /**
+     * @return the request body, or null if it is longer than {@link #MAX_BODY_BYTES}
+     */
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+            return null;
+        }
+        InputStream in = request.getInputStream();
+        byte[] body = in.readNBytes(MAX_BODY_BYTES);
+        if (body.length == MAX_BODY_BYTES && in.read() >= 0) {
+            return null;
+        }
+        return body;
+    }
+
+    /**
+     * The user directory matches usernames exactly, but the limiter
+     * deliberately trims and lower-cases them, so case and whitespace
+     * variants of one name share a bucket instead of each getting their own.
+     *
+     * @return the username in a login body, trimmed and lower-cased, or null
+     *         if the body does not name one
+     */
+    private String username(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed JSON; the controller rejects it
+            return null;
+        }
+    }
+
+    /**
+     * Serves a body that has already been read from the original request.
+     */
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        ReplayedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is in memory, so it is available at once and always ready to read
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.athenaeum.backend.security;
+
+/**
+ * Thrown when a password cannot be hashed because the hashing queue is full.
+ * Callers should answer with 503 Service Unavailable rather than treat it as
+ * a failed login.
+ */
+public class PasswordEncoderOverloadedException extends RuntimeException {
+
+    public PasswordEncoderOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
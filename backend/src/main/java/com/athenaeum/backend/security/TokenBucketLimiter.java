@@ -0,0 +1,84 @@
+package com.athenaeum.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, each held in a single {@link AtomicLong}.
+ *
+ * A bucket refills at {@code requestsPerMinute} and holds at most
+ * {@code burst} tokens. Instead of a token count, each key stores the time at
+ * which its bucket will next be full (the generic cell rate algorithm), so
+ * taking a token is one compare-and-set with no lock and no refill task.
+ *
+ * Keys are kept in a bounded cache. A key that has been idle long enough for
+ * its bucket to refill completely is dropped, since a full bucket behaves
+ * exactly like a missing one. If more than {@code maximumKeys} keys are active
+ * at once, the least recently used are evicted early and start again with a
+ * full bucket, so memory stays bounded and limiting becomes approximate only
+ * under that much churn.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param requestsPerMinute sustained rate per key
+     * @param burst requests a key may make at once after being idle
+     * @param maximumKeys the most keys to track
+     */
+    public TokenBucketLimiter(double requestsPerMinute, int burst, long maximumKeys) {
+        this(requestsPerMinute, burst, maximumKeys, Ticker.systemTicker());
+    }
+
+    TokenBucketLimiter(double requestsPerMinute, int burst, long maximumKeys, Ticker ticker) {
+        if (requestsPerMinute <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / requestsPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos + burstToleranceNanos))
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Take a token for the key if one is available.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a
+     *         token will be available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long wait = start - burstToleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return the approximate number of keys currently tracked
+     */
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,101 @@
+package com.athenaeum.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Short-lived record of credentials that recently passed a full password check.
+ *
+ * Each entry holds, per username, an HMAC-SHA256 of the password that was
+ * verified and the stored hash it was verified against. The HMAC key is
+ * random and lives only in this process, so entries are useless outside it,
+ * and no plaintext password is ever kept. An entry matches only while the
+ * presented password has the same HMAC and the user's stored hash is
+ * unchanged, and it expires a fixed time after it was written no matter how
+ * often it is used.
+ */
+public class VerifiedCredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Cache<String, Verified> cache;
+
+    /**
+     * @param ttl how long a verification may be reused
+     * @param maximumSize the most usernames to remember
+     * @param meterRegistry registry for hit and miss metrics
+     */
+    public VerifiedCredentialCache(Duration ttl, long maximumSize, MeterRegistry meterRegistry) {
+        this(ttl, maximumSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    VerifiedCredentialCache(Duration ttl, long maximumSize, MeterRegistry meterRegistry, Ticker ticker) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maximumSize)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-credentials");
+    }
+
+    /**
+     * @return true if this password was verified for the user against the
+     *         same stored hash within the TTL
+     */
+    public boolean isVerified(String username, CharSequence rawPassword, String storedHash) {
+        Verified verified = cache.getIfPresent(username);
+        if (verified == null) {
+            return false;
+        }
+        if (!verified.storedHash().equals(storedHash)) {
+            cache.asMap().remove(username, verified);
+            return false;
+        }
+        return MessageDigest.isEqual(verified.mac(), mac(username, rawPassword));
+    }
+
+    /**
+     * Remember a password that just passed a full check against the stored hash.
+     */
+    public void put(String username, CharSequence rawPassword, String storedHash) {
+        cache.put(username, new Verified(mac(username, rawPassword), storedHash));
+    }
+
+    /**
+     * Forget any verification for the user, for example after a password change.
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    private byte[] mac(String username, CharSequence rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private record Verified(byte[] mac, String storedHash) {
+    }
+}
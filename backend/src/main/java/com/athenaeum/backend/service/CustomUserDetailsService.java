@@ -1,51 +1,64 @@
 package com.athenaeum.backend.service;
 
+import com.athenaeum.backend.dto.LabelSet;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 /**
  * Custom UserDetailsService implementation for loading user details.
- * Currently uses in-memory storage with a single user from configuration.
+ * Users are read from the user table through {@link UserDirectoryService}, so
+ * repeat lookups are served from its cache. The user from configuration is
+ * created on startup with every label if it does not exist yet.
+ * Also accepts password upgrades, so a stored hash made with an older BCrypt
+ * cost is replaced with one at the configured cost after the next login.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final PasswordEncoder passwordEncoder;
-    
+    private final UserDirectoryService userDirectory;
+
     @Value("${spring.security.user.name}")
     private String username;
-    
+
     @Value("${spring.security.user.password}")
     private String password;
-    
-    private String encodedPassword;
 
-    public CustomUserDetailsService(PasswordEncoder passwordEncoder) {
+    public CustomUserDetailsService(PasswordEncoder passwordEncoder, UserDirectoryService userDirectory) {
         this.passwordEncoder = passwordEncoder;
+        this.userDirectory = userDirectory;
     }
-    
+
     @PostConstruct
     public void init() {
-        // Encode password once during initialization
-        this.encodedPassword = passwordEncoder.encode(this.password);
+        // Create the configured user, or reset its password if the configured one changed
+        Optional<UserDirectoryService.DirectoryUser> existing = userDirectory.findUser(username);
+        if (existing.isEmpty()) {
+            userDirectory.createIfAbsent(username, passwordEncoder.encode(password), LabelSet.ALL);
+        } else if (!passwordEncoder.matches(password, existing.get().passwordHash())) {
+            userDirectory.updatePassword(username, passwordEncoder.encode(password));
+        }
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        if (username.equals(this.username)) {
-            return User.builder()
-                .username(this.username)
-                .password(this.encodedPassword)
-                .roles("USER")
-                .build();
-        }
-        
-        throw new UsernameNotFoundException("User not found: " + username);
+        return userDirectory.findUser(username)
+            .map(UserDirectoryService.DirectoryUser::toUserDetails)
+            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userDirectory.updatePassword(user.getUsername(), newPassword);
+        return User.withUserDetails(user).password(newPassword).build();
     }
 }
@@ -0,0 +1,232 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Service for the in-memory library document catalog.
+ *
+ * Documents are stored in a dense array indexed by their id, and an inverted
+ * index keeps one compressed bitmap of document ids per session label. A user's
+ * visible documents are found by merging the bitmaps of the labels they hold,
+ * so listing cost depends on the page size rather than the catalog size.
+ */
+@Service
+public class DocumentCatalogService {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap[] labelIndex = new RoaringBitmap[SessionLabel.values().length];
+    private final List<Consumer<Document>> documentListeners = new CopyOnWriteArrayList<>();
+    private Document[] documents = new Document[INITIAL_CAPACITY];
+    private int size;
+
+    public DocumentCatalogService() {
+        for (int i = 0; i < labelIndex.length; i++) {
+            labelIndex[i] = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * Add a document to the catalog and index it under its label.
+     *
+     * @param title the document title
+     * @param author the document author
+     * @param subject the document subject
+     * @param label the label that controls who can view the document
+     * @return the stored document with its assigned id
+     */
+    public Document addDocument(String title, String author, String subject, SessionLabel label) {
+        return addDocuments(List.of(new NewDocument(title, author, subject, label))).get(0);
+    }
+
+    /**
+     * Add a batch of documents under one acquisition of the write lock. The
+     * documents get consecutive ids in list order, and listeners see each of
+     * them before the lock is released.
+     *
+     * @param newDocuments the documents to add
+     * @return the stored documents with their assigned ids, in the same order
+     */
+    public List<Document> addDocuments(List<NewDocument> newDocuments) {
+        List<Document> added = new ArrayList<>(newDocuments.size());
+        lock.writeLock().lock();
+        try {
+            if (size + newDocuments.size() > documents.length) {
+                documents = Arrays.copyOf(documents, Math.max(size + newDocuments.size(), documents.length * 2));
+            }
+            for (NewDocument newDocument : newDocuments) {
+                Document document = new Document(size, newDocument.title(), newDocument.author(),
+                    newDocument.subject(), newDocument.label());
+                documents[size] = document;
+                labelIndex[newDocument.label().ordinal()].add(size);
+                size++;
+                for (Consumer<Document> listener : documentListeners) {
+                    listener.accept(document);
+                }
+                added.add(document);
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Register a listener that is called for every document added from now on.
+     * Listeners run while the catalog write lock is held, so they see documents
+     * in id order and must not call back into the catalog's write methods.
+     *
+     * @param listener the listener to call with each added document
+     */
+    public void addDocumentListener(Consumer<Document> listener) {
+        documentListeners.add(listener);
+    }
+
+    /**
+     * Get a document if it is visible with the given labels.
+     *
+     * @param id the document id
+     * @param labels the caller's session labels
+     * @return the document, or empty if it does not exist or is not visible
+     */
+    public Optional<Document> getDocument(int id, LabelSet labels) {
+        lock.readLock().lock();
+        try {
+            if (id < 0 || id >= size) {
+                return Optional.empty();
+            }
+            Document document = documents[id];
+            return labels.contains(document.getLabel()) ? Optional.of(document) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * List documents visible with the given labels, in id order.
+     * Callers page through the catalog by passing the last id they saw plus one
+     * as {@code fromId}; ids are never reused, so pages stay consistent while
+     * documents are being added.
+     *
+     * @param labels the caller's session labels
+     * @param fromId the smallest document id to return
+     * @param limit the maximum number of documents to return
+     * @return visible documents with id &gt;= {@code fromId}, at most {@code limit} of them
+     */
+    public List<Document> listDocuments(LabelSet labels, int fromId, int limit) {
+        List<Document> result = new ArrayList<>(Math.min(limit, 256));
+        lock.readLock().lock();
+        try {
+            collectVisible(labels, fromId, limit, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Get the ids of every document visible with the given labels.
+     *
+     * @param labels the caller's session labels
+     * @return a new bitmap holding the union of the labels' posting lists
+     */
+    public RoaringBitmap visibleIds(LabelSet labels) {
+        RoaringBitmap result = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            for (SessionLabel label : labels) {
+                result.or(labelIndex[label.ordinal()]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Count the documents under each label from the label index.
+     *
+     * @return document counts indexed by {@link SessionLabel#ordinal()}
+     */
+    public long[] countByLabel() {
+        long[] counts = new long[labelIndex.length];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < labelIndex.length; i++) {
+                counts[i] = labelIndex[i].getLongCardinality();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Get the number of documents in the catalog.
+     *
+     * @return the document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merge the posting lists of the given labels starting at {@code fromId}.
+     * Labels partition the catalog, so the merge never sees the same id twice.
+     * Must be called with the read lock held.
+     */
+    private void collectVisible(LabelSet labels, int fromId, int limit, List<Document> out) {
+        PeekableIntIterator[] iterators = new PeekableIntIterator[labels.size()];
+        int active = 0;
+        for (SessionLabel label : labels) {
+            PeekableIntIterator iterator = labelIndex[label.ordinal()].getIntIterator();
+            iterator.advanceIfNeeded(fromId);
+            if (iterator.hasNext()) {
+                iterators[active++] = iterator;
+            }
+        }
+
+        while (active > 0 && out.size() < limit) {
+            int min = 0;
+            for (int i = 1; i < active; i++) {
+                if (iterators[i].peekNext() < iterators[min].peekNext()) {
+                    min = i;
+                }
+            }
+            out.add(documents[iterators[min].next()]);
+            if (!iterators[min].hasNext()) {
+                iterators[min] = iterators[--active];
+            }
+        }
+    }
+
+    /**
+     * A document to be added, before it has an id.
+     *
+     * @param title the document title
+     * @param author the document author
+     * @param subject the document subject
+     * @param label the label that controls who can view the document
+     */
+    public record NewDocument(String title, String author, String subject, SessionLabel label) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * Locates the bodies of catalog documents on local disk.
+ *
+ * The body of document {@code id} is {@code <content-dir>/<id>.pdf} or
+ * {@code <content-dir>/<id>.epub}. Only file metadata is read here; the bytes
+ * are sent by the caller straight from the file.
+ */
+@Service
+public class DocumentContentService {
+
+    private static final MediaType EPUB = MediaType.parseMediaType("application/epub+zip");
+
+    private final Path contentDirectory;
+
+    public DocumentContentService(@Value("${athenaeum.documents.content-dir:data/documents}") Path contentDirectory) {
+        this.contentDirectory = contentDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Find the body of a document.
+     *
+     * @param document a document the caller may see
+     * @return the file holding its body, or empty if it has none
+     */
+    public Optional<DocumentContent> findContent(Document document) {
+        Optional<DocumentContent> pdf = stat(document, ".pdf", MediaType.APPLICATION_PDF);
+        return pdf.isPresent() ? pdf : stat(document, ".epub", EPUB);
+    }
+
+    private Optional<DocumentContent> stat(Document document, String extension, MediaType mediaType) {
+        Path path = contentDirectory.resolve(document.getId() + extension);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            return Optional.of(new DocumentContent(path, mediaType, attributes.size(), lastModified,
+                etag(attributes.size(), lastModified)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+
+    private static String etag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * A document body on disk.
+     *
+     * @param path the file
+     * @param mediaType its content type
+     * @param length its size in bytes
+     * @param lastModified its modification time in epoch milliseconds
+     * @param etag a strong entity tag derived from the size and modification time
+     */
+    public record DocumentContent(Path path, MediaType mediaType, long length, long lastModified, String etag) {
+    }
+}
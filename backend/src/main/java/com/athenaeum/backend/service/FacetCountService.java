@@ -0,0 +1,130 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.FacetCount;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the number of catalog documents under each session label.
+ *
+ * One {@link LongAdder} per label is incremented as documents are added to
+ * the catalog, so writers never contend on a shared counter and a facet
+ * lookup reads one counter per label the caller holds, whatever the size of
+ * the catalog.
+ *
+ * Every {@code athenaeum.documents.facets.reconcile-interval} a background
+ * thread compares the counters with the catalog's label index and corrects
+ * any that drifted, for example because an earlier document listener failed
+ * part way through a batch. Corrections are logged and counted in
+ * {@code athenaeum.documents.facets.corrected}.
+ */
+@Service
+public class FacetCountService implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(FacetCountService.class);
+
+    private static final SessionLabel[] LABELS = SessionLabel.values();
+
+    private final DocumentCatalogService documentCatalogService;
+    private final LongAdder[] counts = new LongAdder[LABELS.length];
+    private final Counter correctedCounter;
+    private final ScheduledExecutorService reconcilerThread;
+
+    public FacetCountService(DocumentCatalogService documentCatalogService, MeterRegistry meterRegistry,
+                             @Value("${athenaeum.documents.facets.reconcile-interval:5m}") Duration interval) {
+        this.documentCatalogService = documentCatalogService;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.correctedCounter = Counter.builder("athenaeum.documents.facets.corrected")
+            .description("Label counters corrected by reconciliation with the catalog")
+            .register(meterRegistry);
+        documentCatalogService.addDocumentListener(document -> counts[document.getLabel().ordinal()].increment());
+        // Picks up documents added before the listener was registered
+        reconcile();
+
+        this.reconcilerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "facet-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconcilerThread.scheduleWithFixedDelay(this::reconcileSafely, interval.toMillis(), interval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the document count of each of the given labels.
+     *
+     * @param labels the caller's session labels
+     * @return one count per label, in label order
+     */
+    public List<FacetCount> counts(LabelSet labels) {
+        List<FacetCount> result = new ArrayList<>(labels.size());
+        for (SessionLabel label : labels) {
+            result.add(new FacetCount(label, counts[label.ordinal()].sum()));
+        }
+        return result;
+    }
+
+    /**
+     * Compare every counter with the catalog's label index and correct those
+     * that differ.
+     *
+     * Counters are incremented while the catalog's write lock is held, and
+     * the index is read under its read lock. A counter that reads the same
+     * before and after the index was read therefore matches the index as it
+     * was read. A counter that moved in between is left for the next run.
+     *
+     * @return the number of counters corrected
+     */
+    public int reconcile() {
+        long[] before = sums();
+        long[] actual = documentCatalogService.countByLabel();
+        long[] after = sums();
+        int corrected = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (before[i] == after[i] && after[i] != actual[i]) {
+                counts[i].add(actual[i] - after[i]);
+                logger.warn("Corrected document count of " + LABELS[i] + " from " + after[i] + " to " + actual[i]);
+                corrected++;
+            }
+        }
+        correctedCounter.increment(corrected);
+        return corrected;
+    }
+
+    private long[] sums() {
+        long[] sums = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            sums[i] = counts[i].sum();
+        }
+        return sums;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reconcile document counts", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        reconcilerThread.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package com.athenaeum.backend.service;
+
+/**
+ * Published when a user's labels change. Sessions holding labels read before
+ * the change pick up the new labels on their next request.
+ *
+ * This is an in-process event. In a multi-node deployment, a subscriber on a
+ * shared channel would republish changes from other nodes as this event.
+ *
+ * @param username the user whose labels changed
+ */
+public record LabelsChangedEvent(String username) {
+}
@@ -0,0 +1,185 @@
+package com.athenaeum.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Checks the application's dependencies in the background and keeps the
+ * outcome as pre-encoded JSON.
+ *
+ * Every {@code athenaeum.health.readiness-interval} a single thread checks that
+ * a database connection can be validated, that the session store answers a
+ * lookup and that startup has finished, including any startup user or catalog
+ * import, which Spring Boot signals by accepting traffic. Probes then
+ * only read the latest {@link Snapshot}, so probe traffic costs no queries no
+ * matter how often it arrives. Until the first check has run the application
+ * reports itself as not ready.
+ */
+@Service
+public class ReadinessService implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(ReadinessService.class);
+
+    static final String PROBE_SESSION_ID = "athenaeum-readiness-probe";
+    static final String HEALTH_MESSAGE = "Athenaeum Backend is running";
+
+    private final DataSource dataSource;
+    private final SessionRepository<? extends Session> sessionRepository;
+    private final ApplicationAvailability applicationAvailability;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService checkerThread;
+    private volatile Snapshot snapshot;
+
+    public ReadinessService(DataSource dataSource, SessionRepository<? extends Session> sessionRepository,
+                            ApplicationAvailability applicationAvailability,
+                            ObjectMapper objectMapper,
+                            @Value("${athenaeum.health.readiness-interval:5s}") Duration interval) {
+        this.dataSource = dataSource;
+        this.sessionRepository = sessionRepository;
+        this.applicationAvailability = applicationAvailability;
+        this.objectMapper = objectMapper;
+
+        Map<String, String> checks = new LinkedHashMap<>();
+        checks.put("database", "UNKNOWN");
+        checks.put("sessionStore", "UNKNOWN");
+        checks.put("startup", "UNKNOWN");
+        this.snapshot = encode(false, checks);
+
+        this.checkerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "readiness-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkerThread.scheduleWithFixedDelay(this::refreshSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the outcome of the most recent check
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Check every dependency now and publish the result.
+     *
+     * @return the new snapshot
+     */
+    public Snapshot refresh() {
+        Map<String, String> checks = new LinkedHashMap<>();
+        boolean ready = check(checks, "database", this::databaseReady);
+        ready &= check(checks, "sessionStore", this::sessionStoreReady);
+        ready &= check(checks, "startup", this::startupFinished);
+
+        Snapshot previous = snapshot;
+        Snapshot current = encode(ready, checks);
+        snapshot = current;
+        if (previous.ready() != ready) {
+            logger.info("Readiness changed to " + (ready ? "UP" : "DOWN") + ": " + checks);
+        }
+        return current;
+    }
+
+    private boolean databaseReady() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(1);
+        } catch (SQLException e) {
+            logger.debug("Database readiness check failed", e);
+            return false;
+        }
+    }
+
+    private boolean sessionStoreReady() {
+        // Any answer, including "no such session", means the store is reachable
+        sessionRepository.findById(PROBE_SESSION_ID);
+        return true;
+    }
+
+    private boolean startupFinished() {
+        // Spring Boot only accepts traffic once every ApplicationRunner, including the imports, has returned
+        return applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    /**
+     * Check again as soon as readiness changes rather than at the next interval.
+     */
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        refreshSafely();
+    }
+
+    private static boolean check(Map<String, String> checks, String name, BooleanSupplier check) {
+        boolean up;
+        try {
+            up = check.getAsBoolean();
+        } catch (RuntimeException e) {
+            logger.debug("Readiness check " + name + " failed", e);
+            up = false;
+        }
+        checks.put(name, up ? "UP" : "DOWN");
+        return up;
+    }
+
+    private Snapshot encode(boolean ready, Map<String, String> checks) {
+        String checkedAt = LocalDateTime.now().toString();
+        Map<String, Object> readiness = new LinkedHashMap<>();
+        readiness.put("status", ready ? "UP" : "DOWN");
+        readiness.put("checks", checks);
+        readiness.put("checkedAt", checkedAt);
+
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", "UP");
+        health.put("message", HEALTH_MESSAGE);
+        health.put("timestamp", checkedAt);
+        try {
+            return new Snapshot(ready, objectMapper.writeValueAsBytes(readiness),
+                objectMapper.writeValueAsBytes(health));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode readiness", e);
+        }
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh readiness", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        checkerThread.shutdownNow();
+    }
+
+    /**
+     * @param ready true if every dependency passed its check
+     * @param readinessJson the readiness response; shared, must not be modified
+     * @param healthJson the {@code /api/health} response, timestamped with the
+     *                   check; shared, must not be modified
+     */
+    public record Snapshot(boolean ready, byte[] readinessJson, byte[] healthJson) {
+    }
+}
@@ -0,0 +1,319 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SearchResult;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service for full-text search over document title, author and subject.
+ *
+ * Keeps an in-memory inverted index from term to a posting list of document ids
+ * and term frequencies. The index is updated as documents are added to the
+ * catalog; because ids are assigned in increasing order, posting lists stay
+ * sorted by appending. Queries are scored with BM25 one document at a time
+ * across the query terms' posting lists, and the best hits are kept in a
+ * bounded min-heap. The caller's labels are turned into a bitmap of visible ids
+ * before evaluation, and posting lists skip straight past documents the caller
+ * cannot see instead of scoring and discarding them.
+ */
+@Service
+public class SearchIndexService {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "the", "to", "with");
+
+    private final DocumentCatalogService documentCatalogService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int[] documentLengths = new int[1024];
+    private int documentCount;
+    private long totalLength;
+
+    public SearchIndexService(DocumentCatalogService documentCatalogService) {
+        this.documentCatalogService = documentCatalogService;
+        documentCatalogService.addDocumentListener(this::index);
+    }
+
+    /**
+     * Add a document's title, author and subject to the index.
+     *
+     * @param document the document to index; ids must arrive in increasing order
+     */
+    void index(Document document) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String field : new String[] {document.getTitle(), document.getAuthor(), document.getSubject()}) {
+            for (String term : tokenize(field)) {
+                termFrequencies.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+
+        int id = document.getId();
+        lock.writeLock().lock();
+        try {
+            if (id >= documentLengths.length) {
+                documentLengths = Arrays.copyOf(documentLengths, Math.max(id + 1, documentLengths.length * 2));
+            }
+            documentLengths[id] = length;
+            documentCount++;
+            totalLength += length;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(id, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search for documents matching any of the query terms.
+     *
+     * @param query the free-text query
+     * @param labels the caller's session labels; only documents with one of these labels are returned
+     * @param limit the maximum number of hits to return
+     * @return hits ordered by descending BM25 score
+     */
+    public List<SearchResult> search(String query, LabelSet labels, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || labels.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        RoaringBitmap visible = labels.equals(LabelSet.ALL) ? null : documentCatalogService.visibleIds(labels);
+
+        TopK topK = new TopK(limit);
+        lock.readLock().lock();
+        try {
+            evaluate(new LinkedHashSet<>(terms), visible, topK);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        topK.sortDescending();
+        List<SearchResult> results = new ArrayList<>(topK.size);
+        for (int i = 0; i < topK.size; i++) {
+            int id = topK.ids[i];
+            double score = topK.scores[i];
+            documentCatalogService.getDocument(id, labels)
+                .ifPresent(document -> results.add(new SearchResult(document, score)));
+        }
+        return results;
+    }
+
+    /**
+     * Document-at-a-time BM25 evaluation. Must be called with the read lock held.
+     */
+    private void evaluate(Set<String> terms, RoaringBitmap visible, TopK topK) {
+        PostingList[] lists = new PostingList[terms.size()];
+        double[] idf = new double[terms.size()];
+        int count = 0;
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists[count] = list;
+                idf[count] = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        double averageLength = (double) totalLength / documentCount;
+        int[] positions = new int[count];
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                if (positions[i] < lists[i].size && lists[i].ids[positions[i]] < doc) {
+                    doc = lists[i].ids[positions[i]];
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                return;
+            }
+
+            if (visible != null && !visible.contains(doc)) {
+                // Skip every posting list forward to the next document the caller can see
+                long next = visible.nextValue(doc);
+                if (next < 0) {
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    positions[i] = lists[i].seek(positions[i], (int) next);
+                }
+                continue;
+            }
+
+            double lengthNorm = K1 * (1 - B + B * documentLengths[doc] / averageLength);
+            double score = 0;
+            for (int i = 0; i < count; i++) {
+                if (positions[i] < lists[i].size && lists[i].ids[positions[i]] == doc) {
+                    int tf = lists[i].frequencies[positions[i]];
+                    score += idf[i] * tf * (K1 + 1) / (tf + lengthNorm);
+                    positions[i]++;
+                }
+            }
+            topK.offer(doc, score);
+        }
+    }
+
+    /**
+     * Split text into lower-case alphanumeric terms, dropping common stop words.
+     *
+     * @param text the text to tokenise, may be null
+     * @return the terms in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Growable posting list of ascending document ids and their term frequencies.
+     */
+    private static final class PostingList {
+        int[] ids = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /**
+         * Find the first position at or after {@code from} whose id is at least {@code target}.
+         * Gallops forward before binary searching, since targets are usually close by.
+         */
+        int seek(int from, int target) {
+            if (from >= size || ids[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < size && ids[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(ids, low + 1, Math.min(low + step + 1, size), target);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the {@code capacity} highest-scoring documents.
+     * Ties are broken in favour of the lower document id.
+     */
+    static final class TopK {
+        final int[] ids;
+        final double[] scores;
+        int size;
+
+        TopK(int capacity) {
+            ids = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        void offer(int id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(ids[0], scores[0], id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Heap-sort in place so entries run from best to worst. The heap is unusable afterwards.
+         */
+        void sortDescending() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+
+        private static boolean worse(int idA, double scoreA, int idB, double scoreB) {
+            return scoreA < scoreB || (scoreA == scoreB && idA > idB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(ids[i], scores[i], ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= end) {
+                    return;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < end && worse(ids[right], scores[right], ids[left], scores[left])) {
+                    worst = right;
+                }
+                if (!worse(ids[worst], scores[worst], ids[i], scores[i])) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
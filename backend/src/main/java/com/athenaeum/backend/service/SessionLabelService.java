@@ -0,0 +1,137 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.session.SessionLabels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Resolves the current user's labels from their session.
+ *
+ * Every session keeps the label mask it was granted plus the label version it
+ * was read at. Label versions live in a fixed array of counters, with each
+ * username hashed to one counter, so memory stays constant however many users
+ * there are. A {@link LabelsChangedEvent} bumps the user's counter. Each request
+ * compares its session's stamp with the counter: if they match, the cached mask
+ * is used as is; otherwise the labels are read again and the session updated.
+ * Users sharing a counter occasionally re-read labels that did not change,
+ * which costs one cache lookup.
+ *
+ * Counters start at the time the application started, so stamps written by an
+ * earlier run never match and those sessions re-read their labels once.
+ */
+@Service
+public class SessionLabelService {
+
+    private final UserLabelService userLabelService;
+    private final AtomicLongArray versions;
+    private final int stripeMask;
+    private final Counter refreshed;
+
+    public SessionLabelService(UserLabelService userLabelService, MeterRegistry meterRegistry,
+                               @Value("${athenaeum.labels.version-stripes:16384}") int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("athenaeum.labels.version-stripes must be a power of two: " + stripes);
+        }
+        this.userLabelService = userLabelService;
+        this.versions = new AtomicLongArray(stripes);
+        this.stripeMask = stripes - 1;
+        long epoch = System.currentTimeMillis() * 1000;
+        for (int i = 0; i < stripes; i++) {
+            versions.set(i, epoch);
+        }
+        this.refreshed = Counter.builder("athenaeum.session.labels.refreshed")
+            .description("Session label snapshots re-read after a label change")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return the current label version for the user
+     */
+    public long version(String username) {
+        return versions.get(stripe(username));
+    }
+
+    @EventListener
+    public void onLabelsChanged(LabelsChangedEvent event) {
+        versions.incrementAndGet(stripe(event.username()));
+    }
+
+    /**
+     * Read the user's labels, stamped with the current version.
+     */
+    public SessionLabels snapshot(String username) {
+        // Version first: a change landing between the two reads leaves a stale stamp, never stale labels
+        long version = version(username);
+        LabelSet labels = userLabelService.getUserLabels(username);
+        return new SessionLabels(labels.mask(), version);
+    }
+
+    /**
+     * Read the user's labels and store them in the session with the current
+     * version, for example at login.
+     *
+     * @return the user's labels
+     */
+    public LabelSet storeLabels(HttpSession session, String username) {
+        SessionLabels snapshot = snapshot(username);
+        session.setAttribute(SessionLabels.ATTRIBUTE_NAME, snapshot);
+        return snapshot.labels();
+    }
+
+    /**
+     * Store the user's labels for the session the request has just been given
+     * at login: its {@link HttpSession}, or a signed session cookie whose
+     * labels are already on the request.
+     *
+     * @return the user's labels
+     */
+    public LabelSet storeLabels(HttpServletRequest request, String username) {
+        HttpSession session = request.getSession(false);
+        return session != null ? storeLabels(session, username) : currentLabels(request, username);
+    }
+
+    /**
+     * Get the current user's labels, from their session when its snapshot is
+     * current. Signed session cookies put their snapshot on the request
+     * instead; a stale one is replaced for the rest of the request only, since
+     * the cookie itself is not reissued.
+     *
+     * @param request the current request
+     * @param username the authenticated user
+     * @return the user's labels
+     */
+    public LabelSet currentLabels(HttpServletRequest request, String username) {
+        if (request.getAttribute(SessionLabels.ATTRIBUTE_NAME) instanceof SessionLabels signed) {
+            if (signed.version() == version(username)) {
+                return signed.labels();
+            }
+            refreshed.increment();
+            SessionLabels snapshot = snapshot(username);
+            request.setAttribute(SessionLabels.ATTRIBUTE_NAME, snapshot);
+            return snapshot.labels();
+        }
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return userLabelService.getUserLabels(username);
+        }
+        if (session.getAttribute(SessionLabels.ATTRIBUTE_NAME) instanceof SessionLabels cached
+                && cached.version() == version(username)) {
+            return cached.labels();
+        }
+        refreshed.increment();
+        return storeLabels(session, username);
+    }
+
+    private int stripe(String username) {
+        int hash = username.hashCode();
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+}
@@ -0,0 +1,136 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.entity.UserAccount;
+import com.athenaeum.backend.repository.UserAccountRepository;
+import com.athenaeum.backend.security.VerifiedCredentialCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache over the user table.
+ *
+ * Each username is loaded with a single query on the unique username index,
+ * and the result, including "no such user", is kept until it is evicted by
+ * size or age or invalidated by an update made through this service. Login and
+ * label lookups for a cached user therefore do not touch the database.
+ * Updates made directly in the database are only seen once the entry
+ * expires or {@link #invalidate} is called.
+ */
+@Service
+public class UserDirectoryService {
+
+    private final UserAccountRepository repository;
+    private final ObjectProvider<VerifiedCredentialCache> verifiedCredentials;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoadingCache<String, Optional<DirectoryUser>> cache;
+
+    public UserDirectoryService(UserAccountRepository repository,
+                                ObjectProvider<VerifiedCredentialCache> verifiedCredentials,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${athenaeum.users.cache.maximum-size:100000}") long maximumSize,
+                                @Value("${athenaeum.users.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.repository = repository;
+        this.verifiedCredentials = verifiedCredentials;
+        this.eventPublisher = eventPublisher;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build(username -> repository.findByUsername(username).map(DirectoryUser::of));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /**
+     * Look up a user, querying the database only on a cache miss.
+     *
+     * @param username the username
+     * @return the user, or empty if there is no such user
+     */
+    public Optional<DirectoryUser> findUser(String username) {
+        return cache.get(username);
+    }
+
+    /**
+     * Create a user unless one with the same username already exists.
+     *
+     * @return true if the user was created
+     */
+    public boolean createIfAbsent(String username, String passwordHash, LabelSet labels) {
+        if (repository.findByUsername(username).isPresent()) {
+            return false;
+        }
+        repository.save(new UserAccount(username, passwordHash, labels.mask()));
+        invalidate(username);
+        return true;
+    }
+
+    /**
+     * Replace a user's password hash.
+     *
+     * @return true if the user exists
+     */
+    public boolean updatePassword(String username, String passwordHash) {
+        boolean updated = repository.updatePasswordHash(username, passwordHash) > 0;
+        invalidate(username);
+        return updated;
+    }
+
+    /**
+     * Replace the labels assigned to a user and notify active sessions through
+     * a {@link LabelsChangedEvent}.
+     *
+     * @return true if the user exists
+     */
+    public boolean updateLabels(String username, LabelSet labels) {
+        boolean updated = repository.updateLabelMask(username, labels.mask()) > 0;
+        invalidate(username);
+        if (updated) {
+            eventPublisher.publishEvent(new LabelsChangedEvent(username));
+        }
+        return updated;
+    }
+
+    /**
+     * Drop everything cached about a user so the next lookup reads the database.
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+        verifiedCredentials.ifAvailable(credentials -> credentials.invalidate(username));
+    }
+
+    /**
+     * Immutable snapshot of a user row.
+     *
+     * A new {@link UserDetails} is built for every caller because Spring Security
+     * erases the password on the instance it authenticates.
+     */
+    public record DirectoryUser(String username, String passwordHash, boolean enabled, LabelSet labels) {
+
+        static DirectoryUser of(UserAccount account) {
+            return new DirectoryUser(account.getUsername(), account.getPasswordHash(), account.isEnabled(),
+                LabelSet.ofMask(account.getLabelMask()));
+        }
+
+        public UserDetails toUserDetails() {
+            return User.builder()
+                .username(username)
+                .password(passwordHash)
+                .disabled(!enabled)
+                .roles("USER")
+                .build();
+        }
+    }
+}
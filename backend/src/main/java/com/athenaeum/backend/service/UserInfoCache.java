@@ -0,0 +1,80 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.UserInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Pre-encoded {@code /api/auth/user} responses.
+ *
+ * The JSON only depends on the username and label set, so it is serialized
+ * once per (username, label mask) and then served as bytes together with a
+ * strong ETag derived from them. A label change produces a new mask and
+ * therefore a new entry and ETag; the old entry ages out by size.
+ */
+@Service
+public class UserInfoCache {
+
+    private final ObjectWriter writer;
+    private final Cache<Key, EncodedUserInfo> cache;
+    private final EncodedUserInfo anonymous;
+
+    public UserInfoCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${athenaeum.users.info-cache.maximum-size:10000}") long maximumSize) {
+        this.writer = objectMapper.writerFor(UserInfo.class);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-info");
+        this.anonymous = encode(new UserInfo(null, false, LabelSet.EMPTY));
+    }
+
+    /**
+     * @return the encoded response for an authenticated user
+     */
+    public EncodedUserInfo authenticated(String username, LabelSet labels) {
+        return cache.get(new Key(username, labels.mask()),
+            key -> encode(new UserInfo(username, true, labels)));
+    }
+
+    /**
+     * @return the encoded response for a caller who is not logged in
+     */
+    public EncodedUserInfo anonymous() {
+        return anonymous;
+    }
+
+    private EncodedUserInfo encode(UserInfo userInfo) {
+        try {
+            byte[] json = writer.writeValueAsBytes(userInfo);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new EncodedUserInfo(json, etag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to encode user info", e);
+        }
+    }
+
+    private record Key(String username, int labelMask) {
+    }
+
+    /**
+     * @param json the serialized {@link UserInfo}; shared, must not be modified
+     * @param etag quoted strong entity tag for the JSON
+     */
+    public record EncodedUserInfo(byte[] json, String etag) {
+    }
+}
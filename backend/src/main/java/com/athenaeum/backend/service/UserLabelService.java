@@ -1,35 +1,68 @@
 package com.athenaeum.backend.service;
 
+import com.athenaeum.backend.dto.LabelSet;
 import com.athenaeum.backend.dto.SessionLabel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for managing user session labels.
  * This service determines which labels are assigned to each user.
+ * Labels are stored with the user in the user table and read through the
+ * {@link UserDirectoryService} cache.
  */
 @Service
 public class UserLabelService {
 
-    private static final List<SessionLabel> ALL_LABELS = List.of(SessionLabel.values());
-    private final Map<String, List<SessionLabel>> userLabels = new ConcurrentHashMap<>();
+    private final UserDirectoryService userDirectory;
+    private final Timer lookupTimer;
 
-    public UserLabelService() {
-        // Initialize default labels for the admin user
-        // In a real application, this would be stored in a database
-        userLabels.put("admin", ALL_LABELS);
+    public UserLabelService(UserDirectoryService userDirectory, MeterRegistry meterRegistry) {
+        this.userDirectory = userDirectory;
+        this.lookupTimer = Timer.builder("athenaeum.labels.lookup")
+            .description("Time to look up a user's labels, including directory cache misses")
+            .register(meterRegistry);
     }
 
     /**
      * Get the labels assigned to a user.
      * 
      * @param username the username
-     * @return list of session labels assigned to the user
+     * @return set of session labels assigned to the user
      */
-    public List<SessionLabel> getUserLabels(String username) {
-        return userLabels.getOrDefault(username, List.of());
+    public LabelSet getUserLabels(String username) {
+        long start = System.nanoTime();
+        try {
+            return userDirectory.findUser(username)
+                .map(UserDirectoryService.DirectoryUser::labels)
+                .orElse(LabelSet.EMPTY);
+        } finally {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Check whether a user holds a label.
+     * 
+     * @param username the username
+     * @param label the label to check
+     * @return true if the label is assigned to the user
+     */
+    public boolean hasLabel(String username, SessionLabel label) {
+        return getUserLabels(username).contains(label);
+    }
+
+    /**
+     * Replace the labels assigned to a user.
+     * 
+     * @param username the username
+     * @param labels the new labels
+     * @return true if the user exists
+     */
+    public boolean setUserLabels(String username, LabelSet labels) {
+        return userDirectory.updateLabels(username, labels);
     }
 }
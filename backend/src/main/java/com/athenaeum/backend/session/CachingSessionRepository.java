@@ -0,0 +1,291 @@
+package com.athenaeum.backend.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session repository that keeps recently used sessions in a bounded in-process
+ * cache in front of the JDBC session store.
+ *
+ * Reads are served from an immutable snapshot of the session, and each request
+ * gets its own copy. Saves apply the attributes the request changed to the
+ * cached snapshot immediately, so concurrent requests of one session do not
+ * undo each other's changes, and hand the change to a
+ * {@link SessionBatchWriter}, which writes it to the database in a later
+ * batch; until then reads are answered from the cache or from the writer's
+ * pending state. Only cold sessions are loaded from the store. Saves of a
+ * session that has been deleted meanwhile, such as by a logout, are dropped.
+ *
+ * The cache assumes it sees every write to its sessions, which holds for a
+ * single node or for sticky sessions. Cached entries expire when the session
+ * itself would expire.
+ *
+ * Load and save latencies are timed as {@code athenaeum.session.load} and
+ * {@code athenaeum.session.save}, and reads that reach the store as
+ * {@code athenaeum.session.store.load}; cache hits and misses are published
+ * for the {@code sessions} cache.
+ */
+public class CachingSessionRepository implements SessionRepository<CachingSessionRepository.CachedSession> {
+
+    private final SessionRepository<? extends Session> store;
+    private final SessionBatchWriter writer;
+    private final Duration defaultMaxInactiveInterval;
+    private final Cache<String, MapSession> cache;
+    private final Timer loadTimer;
+    private final Timer storeLoadTimer;
+    private final Timer saveTimer;
+
+    public CachingSessionRepository(SessionRepository<? extends Session> store, SessionBatchWriter writer,
+                                    MeterRegistry meterRegistry, long maximumSize,
+                                    Duration defaultMaxInactiveInterval) {
+        this.store = store;
+        this.writer = writer;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new SessionExpiry())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessions");
+        this.loadTimer = Timer.builder("athenaeum.session.load")
+            .description("Time to load a session for a request")
+            .register(meterRegistry);
+        this.storeLoadTimer = Timer.builder("athenaeum.session.store.load")
+            .description("Time to load a session missing from the cache from the session store")
+            .register(meterRegistry);
+        this.saveTimer = Timer.builder("athenaeum.session.save")
+            .description("Time to save a changed session to the cache and queue it for writing")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public CachedSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new CachedSession(session, true);
+    }
+
+    @Override
+    public void save(CachedSession session) {
+        if (!session.isNew && !session.dirty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            saveChanges(session);
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void saveChanges(CachedSession session) {
+        String id = session.getId();
+        MapSession snapshot = null;
+        if (session.isNew) {
+            snapshot = new MapSession(session.state);
+            cache.put(id, snapshot);
+        } else if (!session.originalId.equals(id)) {
+            MapSession current = cache.asMap().remove(session.originalId);
+            if (current != null) {
+                snapshot = session.applyTo(current);
+                cache.put(id, snapshot);
+            }
+        } else {
+            // Only refresh an existing entry, so a concurrent delete is not undone
+            snapshot = cache.asMap().computeIfPresent(id, (key, current) -> session.applyTo(current));
+        }
+
+        writer.submit(session.originalId, session.isNew, snapshot != null ? snapshot : new MapSession(session.state),
+            session.changedAttributes, session.removedAttributes);
+        session.markSaved();
+    }
+
+    @Override
+    public CachedSession findById(String id) {
+        long start = System.nanoTime();
+        try {
+            return load(id);
+        } finally {
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CachedSession load(String id) {
+        MapSession snapshot = cache.getIfPresent(id);
+        if (snapshot == null) {
+            snapshot = writer.findPending(id);
+            if (snapshot == null) {
+                long storeStart = System.nanoTime();
+                Session stored = store.findById(id);
+                storeLoadTimer.record(System.nanoTime() - storeStart, TimeUnit.NANOSECONDS);
+                if (stored == null) {
+                    return null;
+                }
+                snapshot = new MapSession(stored);
+            }
+            cache.put(id, snapshot);
+        }
+        if (snapshot.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return new CachedSession(new MapSession(snapshot), false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        // A request still holding the session may refresh its access time before saving
+        MapSession cached = cache.getIfPresent(id);
+        Duration interval = cached != null && !cached.getMaxInactiveInterval().isNegative()
+            ? cached.getMaxInactiveInterval() : defaultMaxInactiveInterval;
+        writer.delete(id, Instant.now().plus(interval));
+        cache.invalidate(id);
+    }
+
+    /**
+     * Expires each cache entry at the moment its session would expire.
+     */
+    private static final class SessionExpiry implements Expiry<String, MapSession> {
+        @Override
+        public long expireAfterCreate(String key, MapSession session, long currentTime) {
+            return remainingNanos(session);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, MapSession session, long currentTime, long currentDuration) {
+            return remainingNanos(session);
+        }
+
+        @Override
+        public long expireAfterRead(String key, MapSession session, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(MapSession session) {
+            if (session.getMaxInactiveInterval().isNegative()) {
+                return Long.MAX_VALUE;
+            }
+            Instant expiry = session.getLastAccessedTime().plus(session.getMaxInactiveInterval());
+            return Math.max(0, Duration.between(Instant.now(), expiry).toNanos());
+        }
+    }
+
+    /**
+     * A session handed out for one request, backed by a private copy of the
+     * cached state. Records which attributes change so the writer only rewrites
+     * those rows.
+     */
+    public static final class CachedSession implements Session {
+        private final MapSession state;
+        private final Set<String> changedAttributes = new HashSet<>();
+        private final Set<String> removedAttributes = new HashSet<>();
+        private String originalId;
+        private boolean isNew;
+        private boolean touched;
+
+        private CachedSession(MapSession state, boolean isNew) {
+            this.state = state;
+            this.originalId = state.getId();
+            this.isNew = isNew;
+        }
+
+        private boolean dirty() {
+            return touched || !originalId.equals(state.getId())
+                || !changedAttributes.isEmpty() || !removedAttributes.isEmpty();
+        }
+
+        private MapSession applyTo(MapSession current) {
+            return SessionBatchWriter.applyChanges(current, state, changedAttributes, removedAttributes);
+        }
+
+        private void markSaved() {
+            originalId = state.getId();
+            isNew = false;
+            touched = false;
+            changedAttributes.clear();
+            removedAttributes.clear();
+        }
+
+        @Override
+        public String getId() {
+            return state.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return state.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return state.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return state.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            state.setAttribute(attributeName, attributeValue);
+            if (attributeValue == null) {
+                changedAttributes.remove(attributeName);
+                removedAttributes.add(attributeName);
+            } else {
+                removedAttributes.remove(attributeName);
+                changedAttributes.add(attributeName);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            setAttribute(attributeName, null);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return state.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            state.setLastAccessedTime(lastAccessedTime);
+            touched = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return state.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            state.setMaxInactiveInterval(interval);
+            touched = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return state.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.isExpired();
+        }
+    }
+}
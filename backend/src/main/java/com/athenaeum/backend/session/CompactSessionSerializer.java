@@ -0,0 +1,304 @@
+package com.athenaeum.backend.session;
+
+import com.athenaeum.backend.dto.LabelSet;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact binary format for session attributes.
+ *
+ * The security context stored at login, label sets, the session's label
+ * snapshot and strings are written as a few tagged fields instead of a Java
+ * serialization stream, which cuts the stored attribute from hundreds of bytes
+ * of class descriptors to a few dozen bytes and avoids reflection when
+ * sessions are loaded. Any other value, or a
+ * security context holding types this format does not know, is written with
+ * Java serialization behind a tag.
+ *
+ * Every value starts with {@link #MAGIC} and a format version byte, so the
+ * layout can change without breaking stored sessions. Values without the magic
+ * byte are read as plain Java serialization, which keeps rows written before
+ * this format was introduced readable.
+ */
+public class CompactSessionSerializer implements Serializer<Object>, Deserializer<Object> {
+
+    static final int MAGIC = 0xA7;
+    static final int VERSION = 1;
+
+    static final int TAG_JAVA = 0;
+    static final int TAG_STRING = 1;
+    static final int TAG_LABEL_SET = 2;
+    static final int TAG_SECURITY_CONTEXT = 3;
+    static final int TAG_SESSION_LABELS = 4;
+
+    private static final int AUTHENTICATED = 1;
+    private static final int HAS_AUTHENTICATION = 1 << 1;
+    private static final int USER_PRINCIPAL = 1 << 2;
+    private static final int HAS_PASSWORD = 1 << 3;
+    private static final int ENABLED = 1 << 4;
+    private static final int ACCOUNT_NON_EXPIRED = 1 << 5;
+    private static final int CREDENTIALS_NON_EXPIRED = 1 << 6;
+    private static final int ACCOUNT_NON_LOCKED = 1 << 7;
+
+    private final DefaultSerializer javaSerializer = new DefaultSerializer();
+    private final DefaultDeserializer javaDeserializer;
+
+    public CompactSessionSerializer() {
+        this(null);
+    }
+
+    /**
+     * @param classLoader class loader for values that fall back to Java serialization, or null for the default
+     */
+    public CompactSessionSerializer(ClassLoader classLoader) {
+        this.javaDeserializer = new DefaultDeserializer(classLoader);
+    }
+
+    @Override
+    public void serialize(Object value, OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        if (value instanceof String string) {
+            out.write(TAG_STRING);
+            writeString(out, string);
+        } else if (value instanceof LabelSet labels) {
+            out.write(TAG_LABEL_SET);
+            writeVarInt(out, labels.mask());
+        } else if (value instanceof SessionLabels sessionLabels) {
+            out.write(TAG_SESSION_LABELS);
+            writeVarInt(out, sessionLabels.mask());
+            writeVarLong(out, sessionLabels.version());
+        } else if (value instanceof SecurityContext context && isCompact(context)) {
+            out.write(TAG_SECURITY_CONTEXT);
+            writeSecurityContext(out, context);
+        } else {
+            out.write(TAG_JAVA);
+            javaSerializer.serialize(value, out);
+        }
+    }
+
+    @Override
+    public Object deserialize(InputStream inputStream) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(inputStream);
+        int first = in.read();
+        if (first != MAGIC) {
+            // Written before the compact format existed
+            if (first >= 0) {
+                in.unread(first);
+            }
+            return javaDeserializer.deserialize(in);
+        }
+
+        int version = readByte(in);
+        if (version != VERSION) {
+            throw new IOException("Unsupported session attribute format version " + version);
+        }
+        int tag = readByte(in);
+        switch (tag) {
+            case TAG_JAVA:
+                return javaDeserializer.deserialize(in);
+            case TAG_STRING:
+                return readString(in);
+            case TAG_LABEL_SET:
+                return LabelSet.ofMask(readVarInt(in));
+            case TAG_SECURITY_CONTEXT:
+                return readSecurityContext(in);
+            case TAG_SESSION_LABELS:
+                return new SessionLabels(readVarInt(in), readVarLong(in));
+            default:
+                throw new IOException("Unknown session attribute tag " + tag);
+        }
+    }
+
+    /**
+     * Only contexts built from the types written by the login flow are encoded
+     * field by field; anything else keeps its full Java form.
+     */
+    private static boolean isCompact(SecurityContext context) {
+        if (context.getClass() != SecurityContextImpl.class) {
+            return false;
+        }
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null) {
+            return true;
+        }
+        if (authentication.getClass() != UsernamePasswordAuthenticationToken.class
+            || authentication.getCredentials() != null || authentication.getDetails() != null
+            || !simpleAuthorities(authentication.getAuthorities())) {
+            return false;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof String) {
+            return true;
+        }
+        return principal != null && principal.getClass() == User.class
+            && sameAuthorities(((User) principal).getAuthorities(), authentication.getAuthorities());
+    }
+
+    private static boolean simpleAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getClass() != SimpleGrantedAuthority.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameAuthorities(Collection<? extends GrantedAuthority> a,
+                                           Collection<? extends GrantedAuthority> b) {
+        return a.size() == b.size() && a.containsAll(b);
+    }
+
+    private static void writeSecurityContext(OutputStream out, SecurityContext context) throws IOException {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null) {
+            out.write(0);
+            return;
+        }
+
+        int flags = HAS_AUTHENTICATION;
+        if (authentication.isAuthenticated()) {
+            flags |= AUTHENTICATED;
+        }
+        Object principal = authentication.getPrincipal();
+        String name;
+        String password = null;
+        if (principal instanceof User user) {
+            flags |= USER_PRINCIPAL;
+            name = user.getUsername();
+            password = user.getPassword();
+            flags |= password != null ? HAS_PASSWORD : 0;
+            flags |= user.isEnabled() ? ENABLED : 0;
+            flags |= user.isAccountNonExpired() ? ACCOUNT_NON_EXPIRED : 0;
+            flags |= user.isCredentialsNonExpired() ? CREDENTIALS_NON_EXPIRED : 0;
+            flags |= user.isAccountNonLocked() ? ACCOUNT_NON_LOCKED : 0;
+        } else {
+            name = (String) principal;
+        }
+
+        out.write(flags);
+        writeString(out, name);
+        if (password != null) {
+            writeString(out, password);
+        }
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        writeVarInt(out, authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            writeString(out, authority.getAuthority());
+        }
+    }
+
+    private static SecurityContext readSecurityContext(InputStream in) throws IOException {
+        int flags = readByte(in);
+        if ((flags & HAS_AUTHENTICATION) == 0) {
+            return new SecurityContextImpl();
+        }
+
+        String name = readString(in);
+        String password = (flags & HAS_PASSWORD) != 0 ? readString(in) : null;
+        int count = readVarInt(in);
+        List<GrantedAuthority> authorities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            authorities.add(new SimpleGrantedAuthority(readString(in)));
+        }
+
+        Object principal = name;
+        if ((flags & USER_PRINCIPAL) != 0) {
+            User user = new User(name, Objects.requireNonNullElse(password, ""),
+                (flags & ENABLED) != 0, (flags & ACCOUNT_NON_EXPIRED) != 0,
+                (flags & CREDENTIALS_NON_EXPIRED) != 0, (flags & ACCOUNT_NON_LOCKED) != 0, authorities);
+            if (password == null) {
+                user.eraseCredentials();
+            }
+            principal = user;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = (flags & AUTHENTICATED) != 0
+            ? UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities)
+            : UsernamePasswordAuthenticationToken.unauthenticated(principal, null);
+        return new SecurityContextImpl(authentication);
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        int length = readVarInt(in);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated session attribute");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte(in);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in session attribute");
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in session attribute");
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Truncated session attribute");
+        }
+        return b;
+    }
+}
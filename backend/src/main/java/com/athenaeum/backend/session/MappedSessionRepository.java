@@ -0,0 +1,754 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Session repository for single-node deployments that keeps sessions in a
+ * memory-mapped file instead of on the heap or in the database.
+ *
+ * The file is divided into fixed-size slots, one per session, each holding the
+ * session's id, timestamps and serialized attributes. Only small int arrays
+ * stay on the heap: an open-addressing index from session id hash to slot, a
+ * free-slot stack and the links of a timing wheel that expires sessions. An
+ * idle session therefore costs the garbage collector nothing, and because the
+ * operating system writes the mapped pages back to the file, sessions survive
+ * a restart of the application.
+ *
+ * Saves that only touch the last access time rewrite the slot's timestamps
+ * and move the slot to a new wheel bucket; attribute changes are applied to
+ * the slot's current attributes by name and rewrite the whole slot. Attributes
+ * are decoded and encoded outside the store's lock, which only guards copying
+ * bytes in and out of the file. A session whose attributes do not fit in one
+ * slot is rejected. A CRC-32C checksum over the id and attributes lets recovery drop a slot
+ * whose rewrite was cut short by a crash.
+ */
+public class MappedSessionRepository implements SessionRepository<MappedSessionRepository.MappedSession>,
+        AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(MappedSessionRepository.class);
+
+    static final int FILE_MAGIC = 0x41534553;
+    static final int FILE_VERSION = 2;
+    static final int FILE_HEADER_SIZE = 4096;
+
+    static final int MAX_ID_LENGTH = 64;
+
+    private static final int STATUS = 0;
+    private static final int ID_LENGTH = 1;
+    private static final int PAYLOAD_LENGTH = 4;
+    private static final int CREATION_TIME = 8;
+    private static final int LAST_ACCESS_TIME = 16;
+    private static final int MAX_INACTIVE = 24;
+    private static final int CHECKSUM = 28;
+    private static final int EXPIRY_TIME = 32;
+    private static final int ID = 40;
+    static final int PAYLOAD = ID + MAX_ID_LENGTH;
+
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+
+    private static final int WHEEL_BUCKETS = 4096;
+    private static final long WHEEL_TICK_MILLIS = 1000;
+
+    private static final TypeDescriptor OBJECT_TYPE = TypeDescriptor.valueOf(Object.class);
+    private static final TypeDescriptor BYTES_TYPE = TypeDescriptor.valueOf(byte[].class);
+
+    private final ConversionService conversionService;
+    private final Duration defaultMaxInactiveInterval;
+    private final int capacity;
+    private final int slotSize;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // Open-addressing index of slot + 1, keyed by the session id's hash; 0 marks an empty entry
+    private final int[] index;
+    private final int indexMask;
+    private final int[] slotHashes;
+    // Bumped on every write or removal of a slot, so a save merged outside the lock can tell the slot changed
+    private final int[] slotVersions;
+    private final int[] freeSlots;
+    private int freeCount;
+    private final TimingWheel wheel;
+
+    private final ScheduledExecutorService expiryThread;
+
+    public MappedSessionRepository(Path file, int capacity, int slotSize, Duration defaultMaxInactiveInterval,
+                                   ConversionService conversionService, MeterRegistry meterRegistry)
+            throws IOException {
+        if (slotSize <= PAYLOAD) {
+            throw new IllegalArgumentException("Slot size must be larger than " + PAYLOAD + " bytes");
+        }
+        long fileSize = FILE_HEADER_SIZE + (long) capacity * slotSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity * slot size must be under 2 GiB, was " + fileSize);
+        }
+        this.conversionService = conversionService;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.capacity = capacity;
+        this.slotSize = slotSize;
+
+        int indexSize = Integer.highestOneBit(Math.max(capacity * 2 - 1, 1)) << 1;
+        this.index = new int[indexSize];
+        this.indexMask = indexSize - 1;
+        this.slotHashes = new int[capacity];
+        this.slotVersions = new int[capacity];
+        this.freeSlots = new int[capacity];
+        this.wheel = new TimingWheel(capacity, System.currentTimeMillis());
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        boolean existing = channel.size() > 0;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        if (existing) {
+            checkHeader(file);
+            recover();
+        } else {
+            buffer.putInt(0, FILE_MAGIC);
+            buffer.putInt(4, FILE_VERSION);
+            buffer.putInt(8, capacity);
+            buffer.putInt(12, slotSize);
+            for (int slot = capacity - 1; slot >= 0; slot--) {
+                freeSlots[freeCount++] = slot;
+            }
+        }
+
+        Gauge.builder("athenaeum.session.mapped.active", this, repository -> repository.activeSessions())
+            .description("Sessions held in the memory-mapped session store")
+            .register(meterRegistry);
+
+        this.expiryThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mapped-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryThread.scheduleWithFixedDelay(this::expireSafely, WHEEL_TICK_MILLIS, WHEEL_TICK_MILLIS,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public MappedSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new MappedSession(session, true);
+    }
+
+    @Override
+    public void save(MappedSession session) {
+        MapSession state = session.state;
+        boolean rewrite = session.isNew || session.attributesChanged() || !session.originalId.equals(state.getId());
+        if (!rewrite && !session.touched) {
+            return;
+        }
+        byte[] id = encodeId(state.getId());
+
+        if (session.isNew) {
+            byte[] payload = checkedPayload(state);
+            synchronized (this) {
+                if (freeCount == 0) {
+                    throw new IllegalStateException("Mapped session store is full (" + capacity + " sessions)");
+                }
+                int slot = freeSlots[--freeCount];
+                writeSlot(slot, id, state, payload);
+                indexInsert(slot, state.getId().hashCode());
+            }
+        } else if (rewrite) {
+            if (!rewriteExisting(session, id)) {
+                return;
+            }
+        } else {
+            synchronized (this) {
+                int slot = find(session.originalId);
+                if (slot < 0) {
+                    // Deleted or expired since it was loaded; do not bring it back
+                    return;
+                }
+                writeSlot(slot, null, state, null);
+            }
+        }
+        session.markSaved();
+    }
+
+    /**
+     * Apply only this request's attribute changes, and any new id, to the
+     * stored session, so concurrent requests of the session keep each other's
+     * changes. The slot is copied under the lock but decoded, merged and
+     * re-encoded outside it; if the slot is written meanwhile, the merge is
+     * redone against its newer contents.
+     *
+     * @return false if the session was deleted or expired since it was loaded
+     */
+    private boolean rewriteExisting(MappedSession session, byte[] id) {
+        MapSession state = session.state;
+        while (true) {
+            int slot;
+            int version;
+            MapSession stored;
+            byte[] storedPayload;
+            synchronized (this) {
+                slot = find(session.originalId);
+                if (slot < 0) {
+                    // Deleted or expired since it was loaded; do not bring it back
+                    return false;
+                }
+                version = slotVersions[slot];
+                stored = readState(slot, state.getId());
+                storedPayload = readPayload(slot);
+            }
+
+            decodeAttributes(storedPayload, stored);
+            MapSession merged = SessionBatchWriter.applyChanges(stored, state,
+                session.changedAttributes, session.removedAttributes);
+            byte[] payload = checkedPayload(merged);
+
+            synchronized (this) {
+                // Every write and removal of a slot changes its version, so an unchanged version means the slot
+                // still holds exactly what was merged
+                if (slotVersions[slot] != version) {
+                    continue;
+                }
+                boolean idChanged = !session.originalId.equals(state.getId());
+                if (idChanged) {
+                    indexRemove(slot);
+                }
+                writeSlot(slot, id, merged, payload);
+                if (idChanged) {
+                    indexInsert(slot, state.getId().hashCode());
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Write a session's timestamps to its slot and, given a payload, its id
+     * and attributes too. Called with the monitor held.
+     */
+    private void writeSlot(int slot, byte[] id, MapSession state, byte[] payload) {
+        int base = slotOffset(slot);
+        long expiry = expiryMillis(state);
+        if (payload != null) {
+            // A slot being rewritten is marked free first, so a crash part way through loses the session
+            // instead of leaving a used slot with half of the new id or attributes
+            buffer.put(base + STATUS, FREE);
+            buffer.put(base + ID_LENGTH, (byte) id.length);
+            buffer.putInt(base + PAYLOAD_LENGTH, payload.length);
+            buffer.putLong(base + CREATION_TIME, state.getCreationTime().toEpochMilli());
+            buffer.put(base + ID, id);
+            buffer.put(base + PAYLOAD, payload);
+            buffer.putInt(base + CHECKSUM, checksum(base));
+        }
+        buffer.putLong(base + LAST_ACCESS_TIME, state.getLastAccessedTime().toEpochMilli());
+        buffer.putInt(base + MAX_INACTIVE, (int) state.getMaxInactiveInterval().getSeconds());
+        buffer.putLong(base + EXPIRY_TIME, expiry);
+        // The operating system may write the slot's pages back in any order, so recovery also checks the
+        // checksum rather than trusting this flag alone
+        buffer.put(base + STATUS, USED);
+        slotVersions[slot]++;
+        wheel.schedule(slot, expiry);
+    }
+
+    @Override
+    public MappedSession findById(String id) {
+        long now = System.currentTimeMillis();
+        MapSession state;
+        byte[] payload;
+        synchronized (this) {
+            int slot = find(id);
+            if (slot < 0) {
+                return null;
+            }
+            if (buffer.getLong(slotOffset(slot) + EXPIRY_TIME) <= now) {
+                remove(slot);
+                return null;
+            }
+            state = readState(slot, id);
+            payload = readPayload(slot);
+        }
+        // Decoding happens outside the lock so reads of other sessions are not held up
+        decodeAttributes(payload, state);
+        return new MappedSession(state, false);
+    }
+
+    @Override
+    public synchronized void deleteById(String id) {
+        int slot = find(id);
+        if (slot >= 0) {
+            remove(slot);
+        }
+    }
+
+    /**
+     * Remove every session that has expired by the given time.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the number of sessions removed
+     */
+    public synchronized int expireSessions(long nowMillis) {
+        int[] removed = new int[1];
+        wheel.advance(nowMillis, slot -> {
+            long expiry = buffer.getLong(slotOffset(slot) + EXPIRY_TIME);
+            if (expiry <= nowMillis) {
+                remove(slot);
+                removed[0]++;
+            } else {
+                // Due in a later turn of the wheel
+                wheel.schedule(slot, expiry);
+            }
+        });
+        return removed[0];
+    }
+
+    /**
+     * @return the number of sessions currently stored
+     */
+    public synchronized int activeSessions() {
+        return capacity - freeCount;
+    }
+
+    private void expireSafely() {
+        try {
+            expireSessions(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to expire mapped sessions", e);
+        }
+    }
+
+    /**
+     * Stop expiring sessions and write the mapped pages back to the file.
+     */
+    @Override
+    public void close() throws IOException {
+        expiryThread.shutdownNow();
+        synchronized (this) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private void checkHeader(Path file) {
+        if (buffer.getInt(0) != FILE_MAGIC || buffer.getInt(4) != FILE_VERSION
+            || buffer.getInt(8) != capacity || buffer.getInt(12) != slotSize) {
+            throw new IllegalStateException("Session store " + file + " was written with a different format, "
+                + "capacity or slot size; delete it or restore the previous settings");
+        }
+    }
+
+    /**
+     * Rebuild the heap-side index, free list and timing wheel from the file,
+     * dropping sessions that expired while the application was down and
+     * slots left incomplete by a crash.
+     */
+    private void recover() {
+        long now = System.currentTimeMillis();
+        int recovered = 0;
+        int damaged = 0;
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            int base = slotOffset(slot);
+            long expiry = buffer.getLong(base + EXPIRY_TIME);
+            boolean used = buffer.get(base + STATUS) == USED;
+            boolean intact = used && isIntact(base);
+            if (intact && expiry > now) {
+                indexInsert(slot, readId(slot).hashCode());
+                wheel.schedule(slot, expiry);
+                recovered++;
+            } else {
+                if (used && !intact) {
+                    damaged++;
+                }
+                buffer.put(base + STATUS, FREE);
+                freeSlots[freeCount++] = slot;
+            }
+        }
+        if (damaged > 0) {
+            logger.warn("Dropped " + damaged + " incompletely written sessions from the mapped session store");
+        }
+        logger.info("Recovered " + recovered + " sessions from the mapped session store");
+    }
+
+    private boolean isIntact(int base) {
+        int idLength = buffer.get(base + ID_LENGTH);
+        int payloadLength = buffer.getInt(base + PAYLOAD_LENGTH);
+        return idLength > 0 && idLength <= MAX_ID_LENGTH && payloadLength >= 0 && payloadLength <= slotSize - PAYLOAD
+            && buffer.getInt(base + CHECKSUM) == checksum(base);
+    }
+
+    /**
+     * @return the CRC-32C of the slot's id, attributes, their lengths and creation time
+     */
+    private int checksum(int base) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(base + ID_LENGTH, 1));
+        // Payload length and creation time
+        crc.update(buffer.slice(base + PAYLOAD_LENGTH, 12));
+        crc.update(buffer.slice(base + ID, buffer.get(base + ID_LENGTH)));
+        crc.update(buffer.slice(base + PAYLOAD, buffer.getInt(base + PAYLOAD_LENGTH)));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return the slot's timestamps under the given id, without attributes
+     */
+    private MapSession readState(int slot, String id) {
+        int base = slotOffset(slot);
+        MapSession state = new MapSession(id);
+        state.setCreationTime(Instant.ofEpochMilli(buffer.getLong(base + CREATION_TIME)));
+        state.setLastAccessedTime(Instant.ofEpochMilli(buffer.getLong(base + LAST_ACCESS_TIME)));
+        state.setMaxInactiveInterval(Duration.ofSeconds(buffer.getInt(base + MAX_INACTIVE)));
+        return state;
+    }
+
+    private byte[] readPayload(int slot) {
+        int base = slotOffset(slot);
+        byte[] payload = new byte[buffer.getInt(base + PAYLOAD_LENGTH)];
+        buffer.get(base + PAYLOAD, payload);
+        return payload;
+    }
+
+    private void remove(int slot) {
+        buffer.put(slotOffset(slot) + STATUS, FREE);
+        slotVersions[slot]++;
+        indexRemove(slot);
+        wheel.unschedule(slot);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int slotOffset(int slot) {
+        return FILE_HEADER_SIZE + slot * slotSize;
+    }
+
+    private String readId(int slot) {
+        int base = slotOffset(slot);
+        byte[] id = new byte[buffer.get(base + ID_LENGTH)];
+        buffer.get(base + ID, id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    private boolean idEquals(int slot, String id) {
+        int base = slotOffset(slot);
+        int length = buffer.get(base + ID_LENGTH);
+        if (length != id.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(base + ID + i) != id.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int find(String id) {
+        int hash = id.hashCode();
+        for (int i = mix(hash) & indexMask; index[i] != 0; i = (i + 1) & indexMask) {
+            int slot = index[i] - 1;
+            if (slotHashes[slot] == hash && idEquals(slot, id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void indexInsert(int slot, int hash) {
+        slotHashes[slot] = hash;
+        int i = mix(hash) & indexMask;
+        while (index[i] != 0) {
+            i = (i + 1) & indexMask;
+        }
+        index[i] = slot + 1;
+    }
+
+    /**
+     * Remove a slot from the index, shifting later entries of the probe run
+     * back so lookups never need tombstones.
+     */
+    private void indexRemove(int slot) {
+        int i = mix(slotHashes[slot]) & indexMask;
+        while (index[i] != slot + 1) {
+            i = (i + 1) & indexMask;
+        }
+        int hole = i;
+        for (int j = (hole + 1) & indexMask; index[j] != 0; j = (j + 1) & indexMask) {
+            int home = mix(slotHashes[index[j] - 1]) & indexMask;
+            // Move the entry into the hole unless its home lies cyclically in (hole, j]
+            boolean homeBetween = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (!homeBetween) {
+                index[hole] = index[j];
+                hole = j;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long expiryMillis(MapSession state) {
+        if (state.getMaxInactiveInterval().isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return state.getLastAccessedTime().plus(state.getMaxInactiveInterval()).toEpochMilli();
+    }
+
+    private static byte[] encodeId(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length > MAX_ID_LENGTH || bytes.length != id.length()) {
+            throw new IllegalArgumentException("Session id must be at most " + MAX_ID_LENGTH + " ASCII characters");
+        }
+        return bytes;
+    }
+
+    private byte[] checkedPayload(MapSession state) {
+        byte[] payload = encodeAttributes(state);
+        if (payload.length > slotSize - PAYLOAD) {
+            throw new IllegalStateException("Session attributes take " + payload.length
+                + " bytes, more than the mapped store's slot size allows");
+        }
+        return payload;
+    }
+
+    private byte[] encodeAttributes(MapSession state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            Set<String> names = state.getAttributeNames();
+            out.writeShort(names.size());
+            for (String name : names) {
+                byte[] value = (byte[]) conversionService.convert(state.getAttribute(name), OBJECT_TYPE, BYTES_TYPE);
+                out.writeUTF(name);
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void decodeAttributes(byte[] payload, MapSession state) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+                state.setAttribute(name, conversionService.convert(value, BYTES_TYPE, OBJECT_TYPE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hashed timing wheel of one-second buckets. Each bucket is an intrusive
+     * doubly linked list of slots threaded through int arrays, so scheduling,
+     * rescheduling and cancelling are O(1) and allocation-free. A slot goes
+     * into the bucket of the first tick at or after its expiry time, so every
+     * slot visited in its own turn is due. Expiry times further out than one
+     * turn of the wheel share a bucket with earlier ones and are visited once
+     * per turn until the turn in which they are due.
+     */
+    private static final class TimingWheel {
+        private final int[] heads = new int[WHEEL_BUCKETS];
+        private final int[] next;
+        private final int[] prev;
+        private final int[] bucketOf;
+        private long currentTick;
+
+        TimingWheel(int capacity, long nowMillis) {
+            Arrays.fill(heads, -1);
+            next = new int[capacity];
+            prev = new int[capacity];
+            bucketOf = new int[capacity];
+            Arrays.fill(bucketOf, -1);
+            currentTick = nowMillis / WHEEL_TICK_MILLIS;
+        }
+
+        void schedule(int slot, long expiryMillis) {
+            unschedule(slot);
+            if (expiryMillis == Long.MAX_VALUE) {
+                return;
+            }
+            long tick = Math.max((expiryMillis + WHEEL_TICK_MILLIS - 1) / WHEEL_TICK_MILLIS, currentTick + 1);
+            int bucket = (int) (tick & (WHEEL_BUCKETS - 1));
+            prev[slot] = -1;
+            next[slot] = heads[bucket];
+            if (heads[bucket] >= 0) {
+                prev[heads[bucket]] = slot;
+            }
+            heads[bucket] = slot;
+            bucketOf[slot] = bucket;
+        }
+
+        void unschedule(int slot) {
+            int bucket = bucketOf[slot];
+            if (bucket < 0) {
+                return;
+            }
+            if (prev[slot] >= 0) {
+                next[prev[slot]] = next[slot];
+            } else {
+                heads[bucket] = next[slot];
+            }
+            if (next[slot] >= 0) {
+                prev[next[slot]] = prev[slot];
+            }
+            bucketOf[slot] = -1;
+        }
+
+        /**
+         * Visit every slot in the buckets passed since the last call. The
+         * visitor decides whether a slot is really due and either unschedules
+         * it or schedules it again for a later turn.
+         */
+        void advance(long nowMillis, IntConsumer visitor) {
+            long nowTick = nowMillis / WHEEL_TICK_MILLIS;
+            long ticks = Math.min(nowTick - currentTick, WHEEL_BUCKETS);
+            for (long t = 1; t <= ticks; t++) {
+                int bucket = (int) ((currentTick + t) & (WHEEL_BUCKETS - 1));
+                int slot = heads[bucket];
+                while (slot >= 0) {
+                    int following = next[slot];
+                    visitor.accept(slot);
+                    slot = following;
+                }
+            }
+            currentTick = Math.max(currentTick, nowTick);
+        }
+    }
+
+    /**
+     * A session loaded from or created in the mapped store. Records which
+     * attributes change, so a save that only touches the session rewrites just
+     * its timestamps and an attribute change is applied to the slot's current
+     * attributes.
+     */
+    public static final class MappedSession implements Session {
+        private final MapSession state;
+        private final Set<String> changedAttributes = new HashSet<>();
+        private final Set<String> removedAttributes = new HashSet<>();
+        private String originalId;
+        private boolean isNew;
+        private boolean touched;
+
+        private MappedSession(MapSession state, boolean isNew) {
+            this.state = state;
+            this.originalId = state.getId();
+            this.isNew = isNew;
+        }
+
+        private boolean attributesChanged() {
+            return !changedAttributes.isEmpty() || !removedAttributes.isEmpty();
+        }
+
+        private void markSaved() {
+            originalId = state.getId();
+            isNew = false;
+            touched = false;
+            changedAttributes.clear();
+            removedAttributes.clear();
+        }
+
+        @Override
+        public String getId() {
+            return state.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return state.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return state.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return state.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            state.setAttribute(attributeName, attributeValue);
+            if (attributeValue == null) {
+                changedAttributes.remove(attributeName);
+                removedAttributes.add(attributeName);
+            } else {
+                removedAttributes.remove(attributeName);
+                changedAttributes.add(attributeName);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            setAttribute(attributeName, null);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return state.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            state.setLastAccessedTime(lastAccessedTime);
+            touched = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return state.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            state.setMaxInactiveInterval(interval);
+            touched = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return state.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.isExpired();
+        }
+    }
+}
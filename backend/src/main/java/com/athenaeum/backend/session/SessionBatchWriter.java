@@ -0,0 +1,485 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.DelegatingIndexResolver;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background writer that persists session changes to the Spring Session JDBC
+ * tables in batches.
+ *
+ * Request threads only record the latest state of each changed session; repeated
+ * changes to the same session before a flush are merged attribute by attribute,
+ * so a save that did not touch an attribute never drops another save's value.
+ * A single writer thread periodically drains the pending changes and writes them in one transaction
+ * using JDBC batch statements, so a burst of logins turns into a handful of
+ * batched inserts instead of one transaction per request. Attributes are
+ * serialized before the transaction, and a batch that fails is retried one
+ * session at a time, so a single bad session cannot hold back the others.
+ * Deletes also run on the writer thread, which keeps them ordered after any
+ * earlier write of the same session, and leave a tombstone until the session
+ * would have expired so a request still in flight for the deleted session
+ * cannot write it back.
+ */
+public class SessionBatchWriter implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(SessionBatchWriter.class);
+
+    static final String INSERT_SESSION_QUERY = "INSERT INTO SPRING_SESSION (PRIMARY_ID, SESSION_ID, CREATION_TIME, "
+        + "LAST_ACCESS_TIME, MAX_INACTIVE_INTERVAL, EXPIRY_TIME, PRINCIPAL_NAME) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    static final String UPDATE_SESSION_QUERY = "UPDATE SPRING_SESSION SET SESSION_ID = ?, LAST_ACCESS_TIME = ?, "
+        + "MAX_INACTIVE_INTERVAL = ?, EXPIRY_TIME = ?, PRINCIPAL_NAME = ? WHERE SESSION_ID = ?";
+    static final String INSERT_ATTRIBUTE_QUERY = "INSERT INTO SPRING_SESSION_ATTRIBUTES (SESSION_PRIMARY_ID, "
+        + "ATTRIBUTE_NAME, ATTRIBUTE_BYTES) VALUES (?, ?, ?)";
+    static final String INSERT_ATTRIBUTE_BY_SESSION_ID_QUERY = "INSERT INTO SPRING_SESSION_ATTRIBUTES "
+        + "(SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES) SELECT PRIMARY_ID, ?, ? FROM SPRING_SESSION "
+        + "WHERE SESSION_ID = ?";
+    static final String DELETE_ATTRIBUTE_QUERY = "DELETE FROM SPRING_SESSION_ATTRIBUTES WHERE SESSION_PRIMARY_ID = "
+        + "(SELECT PRIMARY_ID FROM SPRING_SESSION WHERE SESSION_ID = ?) AND ATTRIBUTE_NAME = ?";
+    static final String DELETE_SESSION_QUERY = "DELETE FROM SPRING_SESSION WHERE SESSION_ID = ?";
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final TypeDescriptor OBJECT_TYPE = TypeDescriptor.valueOf(Object.class);
+    private static final TypeDescriptor BYTES_TYPE = TypeDescriptor.valueOf(byte[].class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final ConversionService conversionService;
+    private final IndexResolver<Session> indexResolver = new DelegatingIndexResolver<>(new PrincipalNameIndexResolver<>());
+    private final int batchSize;
+    private final ScheduledExecutorService writerThread;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter sessionsWritten;
+    private final Timer flushTimer;
+
+    private final Object lock = new Object();
+    private Map<String, PendingWrite> pending = new HashMap<>();
+    private final Map<String, Instant> deleted = new HashMap<>();
+    private volatile Map<String, PendingWrite> inFlight = Map.of();
+
+    public SessionBatchWriter(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                              ConversionService conversionService, MeterRegistry meterRegistry,
+                              Duration flushInterval, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.conversionService = conversionService;
+        this.batchSize = batchSize;
+        this.sessionsWritten = Counter.builder("athenaeum.session.writes")
+            .description("Session changes written to the session store by the batch writer")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("athenaeum.session.flush")
+            .description("Time taken to write one batch of session changes")
+            .register(meterRegistry);
+
+        this.writerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        writerThread.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a change to a session. The changed and removed attributes are
+     * applied to any change still waiting to be written; otherwise the given
+     * state is kept as it is. Attribute names say which attribute rows need
+     * rewriting. Changes to a deleted session are dropped.
+     *
+     * @param previousId the id the session had when it was loaded or created
+     * @param isNew true if the session has never been written
+     * @param state the session's state with this change applied, not modified afterwards
+     * @param changedAttributes attributes that were set since the session was loaded
+     * @param removedAttributes attributes that were removed since the session was loaded
+     */
+    void submit(String previousId, boolean isNew, MapSession state,
+                Set<String> changedAttributes, Set<String> removedAttributes) {
+        int size;
+        synchronized (lock) {
+            if (!isNew && isDeleted(previousId)) {
+                return;
+            }
+            PendingWrite write = pending.remove(previousId);
+            if (write == null) {
+                write = new PendingWrite(isNew ? null : previousId);
+                write.state = state;
+            } else {
+                write.state = applyChanges(write.state, state, changedAttributes, removedAttributes);
+            }
+            for (String name : removedAttributes) {
+                write.changedAttributes.remove(name);
+                write.removedAttributes.add(name);
+            }
+            for (String name : changedAttributes) {
+                write.removedAttributes.remove(name);
+                write.changedAttributes.add(name);
+            }
+            pending.put(state.getId(), write);
+            size = pending.size();
+        }
+        if (size >= batchSize && flushRequested.compareAndSet(false, true)) {
+            writerThread.execute(this::flushSafely);
+        }
+    }
+
+    /**
+     * Get the latest unwritten state of a session.
+     *
+     * @param id the session id
+     * @return the pending state, or null if nothing is waiting to be written or the session was deleted
+     */
+    MapSession findPending(String id) {
+        PendingWrite write;
+        synchronized (lock) {
+            if (isDeleted(id)) {
+                return null;
+            }
+            write = pending.get(id);
+        }
+        if (write == null) {
+            write = inFlight.get(id);
+        }
+        return write != null ? write.state : null;
+    }
+
+    /**
+     * Drop any pending change to a session and delete it from the store.
+     * Later changes to the session are ignored until the given time. Blocks
+     * until the delete has been written.
+     *
+     * @param id the session id
+     * @param retainUntil when the session would have expired at the latest
+     */
+    void delete(String id, Instant retainUntil) {
+        String storedId;
+        synchronized (lock) {
+            deleted.put(id, retainUntil);
+            PendingWrite write = pending.remove(id);
+            storedId = write != null ? write.storedId : id;
+        }
+        if (storedId == null) {
+            return;
+        }
+        try {
+            writerThread.submit(() -> jdbcTemplate.update(DELETE_SESSION_QUERY, storedId)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deleting session", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to delete session", e.getCause());
+        }
+    }
+
+    /**
+     * Write every pending change now, on the calling thread's behalf.
+     *
+     * @return the number of sessions written
+     */
+    public int flush() {
+        try {
+            return writerThread.submit(this::writePending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing sessions", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to flush sessions", e.getCause());
+        }
+    }
+
+    /**
+     * Called with the lock held.
+     */
+    private boolean isDeleted(String id) {
+        Instant retainUntil = deleted.get(id);
+        return retainUntil != null && retainUntil.isAfter(Instant.now());
+    }
+
+    private void flushSafely() {
+        try {
+            writePending();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write session batch", e);
+        }
+    }
+
+    /**
+     * Runs on the writer thread only.
+     */
+    private int writePending() {
+        flushRequested.set(false);
+        Map<String, PendingWrite> batch;
+        synchronized (lock) {
+            Instant now = Instant.now();
+            deleted.values().removeIf(retainUntil -> !retainUntil.isAfter(now));
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            inFlight = batch;
+        }
+
+        try {
+            // Serialized before the transaction, so a session that cannot be serialized is dropped on its own
+            Map<String, SessionRows> rows = new LinkedHashMap<>();
+            batch.forEach((id, write) -> {
+                try {
+                    rows.put(id, toRows(write));
+                } catch (RuntimeException e) {
+                    logger.error("Dropping a session change whose attributes cannot be serialized", e);
+                }
+            });
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            try {
+                flushTimer.record(() -> transactionOperations.executeWithoutResult(status -> writeRows(rows.values())));
+                sessionsWritten.increment(rows.size());
+                return rows.size();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write session batch; writing its sessions one at a time", e);
+                return writeEach(batch, rows);
+            }
+        } finally {
+            inFlight = Map.of();
+        }
+    }
+
+    /**
+     * Write each session of a failed batch in its own transaction, so one bad
+     * row does not hold back the rest. Sessions that fail again are put back
+     * for the next flush; one that keeps failing while others are written is
+     * dropped after {@link #MAX_WRITE_ATTEMPTS} flushes. If none can be
+     * written the store itself is failing, and every session is put back
+     * without counting the attempt.
+     *
+     * @return the number of sessions written
+     */
+    private int writeEach(Map<String, PendingWrite> batch, Map<String, SessionRows> rows) {
+        int written = 0;
+        Map<String, PendingWrite> failed = new HashMap<>();
+        RuntimeException failure = null;
+        for (Map.Entry<String, SessionRows> entry : rows.entrySet()) {
+            try {
+                transactionOperations.executeWithoutResult(status -> writeRows(List.of(entry.getValue())));
+                written++;
+            } catch (RuntimeException e) {
+                failed.put(entry.getKey(), batch.get(entry.getKey()));
+                failure = e;
+            }
+        }
+        sessionsWritten.increment(written);
+        if (failed.isEmpty()) {
+            return written;
+        }
+
+        boolean storeFailing = written == 0;
+        synchronized (lock) {
+            for (Map.Entry<String, PendingWrite> entry : failed.entrySet()) {
+                PendingWrite write = entry.getValue();
+                if (!storeFailing && ++write.failedAttempts >= MAX_WRITE_ATTEMPTS) {
+                    logger.error("Dropping a session change that failed to write " + MAX_WRITE_ATTEMPTS + " times",
+                        failure);
+                    continue;
+                }
+                // Fold it under any newer change to the same session
+                pending.merge(entry.getKey(), write, PendingWrite::rebaseOnto);
+            }
+        }
+        if (storeFailing) {
+            throw failure;
+        }
+        return written;
+    }
+
+    /**
+     * Apply one save's changes to a newer or concurrently changed state of the
+     * same session. Attributes the save did not change keep their current
+     * values, and the later of the two access times wins.
+     *
+     * @param current the state to apply the changes to, not modified
+     * @param changed the state the save was made from
+     * @param changedAttributes attributes the save set
+     * @param removedAttributes attributes the save removed
+     * @return a new state with the changes applied
+     */
+    static MapSession applyChanges(MapSession current, MapSession changed,
+                                   Set<String> changedAttributes, Set<String> removedAttributes) {
+        MapSession merged = new MapSession(current);
+        merged.setId(changed.getId());
+        for (String name : removedAttributes) {
+            merged.removeAttribute(name);
+        }
+        for (String name : changedAttributes) {
+            merged.setAttribute(name, changed.getAttribute(name));
+        }
+        if (changed.getLastAccessedTime().isAfter(merged.getLastAccessedTime())) {
+            merged.setLastAccessedTime(changed.getLastAccessedTime());
+        }
+        merged.setMaxInactiveInterval(changed.getMaxInactiveInterval());
+        return merged;
+    }
+
+    /**
+     * Serialize one session's change into the rows it writes.
+     */
+    private SessionRows toRows(PendingWrite write) {
+        SessionRows rows = new SessionRows();
+        MapSession state = write.state;
+        long lastAccessed = state.getLastAccessedTime().toEpochMilli();
+        int maxInactive = (int) state.getMaxInactiveInterval().getSeconds();
+        long expiry = state.getMaxInactiveInterval().isNegative() ? Long.MAX_VALUE
+            : state.getLastAccessedTime().plus(state.getMaxInactiveInterval()).toEpochMilli();
+        String principalName = indexResolver.resolveIndexesFor(state)
+            .get(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME);
+
+        if (write.storedId == null) {
+            String primaryId = UUID.randomUUID().toString();
+            rows.sessionInsert = new Object[] {primaryId, state.getId(), state.getCreationTime().toEpochMilli(),
+                lastAccessed, maxInactive, expiry, principalName};
+            for (String name : state.getAttributeNames()) {
+                rows.attributeInserts.add(new Object[] {primaryId, name, serialize(state.getAttribute(name))});
+            }
+        } else {
+            rows.sessionUpdate = new Object[] {state.getId(), lastAccessed, maxInactive, expiry, principalName,
+                write.storedId};
+            for (String name : write.removedAttributes) {
+                rows.attributeDeletes.add(new Object[] {state.getId(), name});
+            }
+            for (String name : write.changedAttributes) {
+                Object value = state.getAttribute(name);
+                rows.attributeDeletes.add(new Object[] {state.getId(), name});
+                if (value != null) {
+                    rows.attributeInsertsBySessionId.add(new Object[] {name, serialize(value), state.getId()});
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void writeRows(Collection<SessionRows> sessions) {
+        List<Object[]> sessionInserts = new ArrayList<>();
+        List<Object[]> sessionUpdates = new ArrayList<>();
+        List<Object[]> attributeInserts = new ArrayList<>();
+        List<Object[]> attributeDeletes = new ArrayList<>();
+        List<Object[]> attributeInsertsBySessionId = new ArrayList<>();
+        for (SessionRows rows : sessions) {
+            if (rows.sessionInsert != null) {
+                sessionInserts.add(rows.sessionInsert);
+            }
+            if (rows.sessionUpdate != null) {
+                sessionUpdates.add(rows.sessionUpdate);
+            }
+            attributeInserts.addAll(rows.attributeInserts);
+            attributeDeletes.addAll(rows.attributeDeletes);
+            attributeInsertsBySessionId.addAll(rows.attributeInsertsBySessionId);
+        }
+
+        batchUpdate(INSERT_SESSION_QUERY, sessionInserts);
+        batchUpdate(INSERT_ATTRIBUTE_QUERY, attributeInserts);
+        batchUpdate(UPDATE_SESSION_QUERY, sessionUpdates);
+        batchUpdate(DELETE_ATTRIBUTE_QUERY, attributeDeletes);
+        batchUpdate(INSERT_ATTRIBUTE_BY_SESSION_ID_QUERY, attributeInsertsBySessionId);
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        return (byte[]) conversionService.convert(value, OBJECT_TYPE, BYTES_TYPE);
+    }
+
+    /**
+     * Stop the writer thread after writing any pending changes.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write pending sessions on shutdown", e);
+        }
+        writerThread.shutdown();
+    }
+
+    /**
+     * Statement parameters for one session's change.
+     */
+    private static final class SessionRows {
+        Object[] sessionInsert;
+        Object[] sessionUpdate;
+        final List<Object[]> attributeInserts = new ArrayList<>();
+        final List<Object[]> attributeDeletes = new ArrayList<>();
+        final List<Object[]> attributeInsertsBySessionId = new ArrayList<>();
+    }
+
+    /**
+     * Merged changes to one session since the last flush.
+     */
+    private static final class PendingWrite {
+        /** Session id currently stored in the table, or null if the session has never been written. */
+        String storedId;
+        /** Flushes in which this change failed to write while other sessions were written. */
+        int failedAttempts;
+        final Set<String> changedAttributes = new HashSet<>();
+        final Set<String> removedAttributes = new HashSet<>();
+        MapSession state;
+
+        PendingWrite(String storedId) {
+            this.storedId = storedId;
+        }
+
+        /**
+         * Combine this newer change with an older one that failed to write.
+         */
+        PendingWrite rebaseOnto(PendingWrite older) {
+            storedId = older.storedId;
+            failedAttempts = older.failedAttempts;
+            state = applyChanges(older.state, state, changedAttributes, removedAttributes);
+            for (String name : older.changedAttributes) {
+                if (!removedAttributes.contains(name)) {
+                    changedAttributes.add(name);
+                }
+            }
+            for (String name : older.removedAttributes) {
+                if (!changedAttributes.contains(name)) {
+                    removedAttributes.add(name);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes expired sessions from the JDBC session store a chunk at a time.
+ *
+ * The stock Spring Session cleanup deletes every expired session in a single
+ * statement, which holds locks on the session tables for as long as the delete
+ * takes. This sweeper deletes at most one chunk per statement and commits
+ * between chunks, so request threads writing sessions only ever wait for one
+ * small delete.
+ */
+public class SessionExpirySweeper implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(SessionExpirySweeper.class);
+
+    static final String DELETE_EXPIRED_CHUNK_QUERY = "DELETE FROM SPRING_SESSION WHERE PRIMARY_ID IN "
+        + "(SELECT PRIMARY_ID FROM SPRING_SESSION WHERE EXPIRY_TIME < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final ScheduledExecutorService sweeperThread;
+    private final Counter sessionsExpired;
+
+    public SessionExpirySweeper(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                Duration sweepInterval, int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.sessionsExpired = Counter.builder("athenaeum.session.expired")
+            .description("Expired sessions deleted from the session store")
+            .register(meterRegistry);
+
+        this.sweeperThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = sweepInterval.toMillis();
+        sweeperThread.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Delete every session that has expired, one chunk at a time.
+     *
+     * @return the number of sessions deleted
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_CHUNK_QUERY, now, chunkSize);
+            total += deleted;
+            sessionsExpired.increment(deleted);
+        } while (deleted == chunkSize);
+
+        if (total > 0 && logger.isDebugEnabled()) {
+            logger.debug("Deleted " + total + " expired sessions");
+        }
+        return total;
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to delete expired sessions", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        sweeperThread.shutdownNow();
+    }
+}
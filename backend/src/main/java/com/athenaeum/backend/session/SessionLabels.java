@@ -0,0 +1,29 @@
+package com.athenaeum.backend.session;
+
+import com.athenaeum.backend.dto.LabelSet;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * The labels a session was granted, stamped with the label version they were
+ * read at. While the user's current label version still equals the stamp, the
+ * cached mask is up to date and no lookup is needed.
+ *
+ * @param mask the {@link LabelSet} bitmask
+ * @param version the user's label version when the mask was read
+ */
+public record SessionLabels(int mask, long version) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Session attribute holding the current {@code SessionLabels}.
+     */
+    public static final String ATTRIBUTE_NAME = "ATHENAEUM_SESSION_LABELS";
+
+    public LabelSet labels() {
+        return LabelSet.ofMask(mask);
+    }
+}
@@ -0,0 +1,74 @@
+package com.athenaeum.backend.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signed session cookies that were logged out before they expired.
+ *
+ * A revoked cookie is remembered only until it would have expired anyway, so
+ * the list holds at most the logouts of one cookie lifetime. If more than
+ * {@code maximumSize} are pending at once, the list does not silently forget
+ * one: it advances the revocation epoch instead, which invalidates every
+ * cookie issued before, and everyone logs in again.
+ *
+ * The list lives in this process only. With several nodes, or after a
+ * restart with the same secret, a logged-out cookie remains valid elsewhere
+ * until it expires.
+ */
+public class SessionRevocationList {
+
+    private static final Log logger = LogFactory.getLog(SessionRevocationList.class);
+
+    private final AtomicLong epoch = new AtomicLong();
+    private final Cache<String, Boolean> revoked;
+
+    /**
+     * @param lifetime how long a cookie is valid after it is issued
+     * @param maximumSize the most revocations to hold before advancing the epoch
+     */
+    public SessionRevocationList(Duration lifetime, long maximumSize) {
+        this(lifetime, maximumSize, Ticker.systemTicker());
+    }
+
+    SessionRevocationList(Duration lifetime, long maximumSize, Ticker ticker) {
+        this.revoked = Caffeine.newBuilder()
+            .expireAfterWrite(lifetime)
+            .maximumSize(maximumSize)
+            .ticker(ticker)
+            .executor(Runnable::run)
+            .evictionListener((String tokenId, Boolean value, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE) {
+                    long next = epoch.incrementAndGet();
+                    logger.warn("Session revocation list is full; advanced to epoch " + next
+                        + ", invalidating all earlier session cookies");
+                }
+            })
+            .build();
+    }
+
+    /**
+     * @return the epoch new cookies are issued in
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    public void revoke(String tokenId) {
+        revoked.put(tokenId, Boolean.TRUE);
+    }
+
+    /**
+     * @return true if a cookie with this id and epoch may no longer be used
+     */
+    public boolean isRevoked(String tokenId, long tokenEpoch) {
+        return tokenEpoch < epoch.get() || revoked.getIfPresent(tokenId) != null;
+    }
+}
@@ -0,0 +1,200 @@
+package com.athenaeum.backend.session;
+
+import com.athenaeum.backend.service.SessionLabelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps the security context in a signed session cookie instead of the
+ * session store.
+ *
+ * The cookie carries the username, label mask and label version, the issue
+ * time and the revocation epoch, so an authenticated request is restored with
+ * one HMAC check and no session lookup. Its labels are put on the request as
+ * {@link SessionLabels}, where {@link SessionLabelService} finds them.
+ *
+ * Saving an authenticated context issues a new cookie; saving an empty one,
+ * as logout does, revokes the request's cookie and clears it. A cookie is
+ * valid for a fixed lifetime after it is issued and is not renewed, so users
+ * log in again once it has passed.
+ *
+ * Cookies rejected by signature, age or revocation are counted in
+ * {@code athenaeum.session.cookie.rejected} by {@code reason}.
+ */
+public class SignedCookieSecurityContextRepository implements SecurityContextRepository {
+
+    public static final String COOKIE_NAME = "ATHENAEUM_SESSION";
+
+    private static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_USER");
+
+    private final SignedSessionCodec codec;
+    private final SessionRevocationList revocationList;
+    private final SessionLabelService sessionLabelService;
+    private final Duration lifetime;
+    private final boolean secureCookie;
+    private final Clock clock;
+    private final Counter rejectedInvalid;
+    private final Counter rejectedExpired;
+    private final Counter rejectedRevoked;
+
+    /**
+     * @param lifetime how long a cookie is valid after it is issued
+     * @param secureCookie whether the cookie is only sent over HTTPS
+     */
+    public SignedCookieSecurityContextRepository(SignedSessionCodec codec, SessionRevocationList revocationList,
+                                                 SessionLabelService sessionLabelService, MeterRegistry meterRegistry,
+                                                 Duration lifetime, boolean secureCookie) {
+        this(codec, revocationList, sessionLabelService, meterRegistry, lifetime, secureCookie, Clock.systemUTC());
+    }
+
+    SignedCookieSecurityContextRepository(SignedSessionCodec codec, SessionRevocationList revocationList,
+                                          SessionLabelService sessionLabelService, MeterRegistry meterRegistry,
+                                          Duration lifetime, boolean secureCookie, Clock clock) {
+        this.codec = codec;
+        this.revocationList = revocationList;
+        this.sessionLabelService = sessionLabelService;
+        this.lifetime = lifetime;
+        this.secureCookie = secureCookie;
+        this.clock = clock;
+        this.rejectedInvalid = rejectedCounter(meterRegistry, "invalid");
+        this.rejectedExpired = rejectedCounter(meterRegistry, "expired");
+        this.rejectedRevoked = rejectedCounter(meterRegistry, "revoked");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("athenaeum.session.cookie.rejected")
+            .description("Signed session cookies that were not accepted, by reason")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new DeferredSecurityContext() {
+
+            private SecurityContext context;
+
+            @Override
+            public SecurityContext get() {
+                if (context == null) {
+                    context = load(request);
+                    if (context == null) {
+                        context = SecurityContextHolder.getContextHolderStrategy().createEmptyContext();
+                    }
+                }
+                return context;
+            }
+
+            @Override
+            public boolean isGenerated() {
+                return get().getAuthentication() == null;
+            }
+        };
+    }
+
+    /**
+     * @return the context restored from the request's cookie, or null if it
+     *         has no acceptable one
+     */
+    private SecurityContext load(HttpServletRequest request) {
+        String value = cookieValue(request);
+        if (value == null) {
+            return null;
+        }
+        SignedSessionToken token = codec.decode(value);
+        if (token == null) {
+            rejectedInvalid.increment();
+            return null;
+        }
+        if (clock.instant().getEpochSecond() - token.issuedAt() >= lifetime.toSeconds()) {
+            rejectedExpired.increment();
+            return null;
+        }
+        if (revocationList.isRevoked(SignedSessionCodec.tokenId(value), token.epoch())) {
+            rejectedRevoked.increment();
+            return null;
+        }
+        request.setAttribute(SessionLabels.ATTRIBUTE_NAME, token.labels());
+        SecurityContext context = SecurityContextHolder.getContextHolderStrategy().createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(token.username(), null, AUTHORITIES));
+        return context;
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        // Whatever the request came in with is replaced, so it may not be used again
+        String previous = cookieValue(request);
+        if (previous != null && codec.decode(previous) != null) {
+            revocationList.revoke(SignedSessionCodec.tokenId(previous));
+        }
+
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            request.removeAttribute(SessionLabels.ATTRIBUTE_NAME);
+            writeCookie(request, response, "", Duration.ZERO);
+            return;
+        }
+
+        SessionLabels labels = sessionLabelService.snapshot(authentication.getName());
+        SignedSessionToken token = new SignedSessionToken(authentication.getName(), labels.mask(), labels.version(),
+            clock.instant().getEpochSecond(), revocationList.epoch());
+        request.setAttribute(SessionLabels.ATTRIBUTE_NAME, labels);
+        writeCookie(request, response, codec.encode(token), lifetime);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return cookieValue(request) != null;
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+        String path = request.getContextPath();
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+            .path(path.isEmpty() ? "/" : path)
+            .maxAge(maxAge)
+            .httpOnly(true)
+            .secure(secureCookie)
+            .sameSite("Lax")
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static String cookieValue(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,180 @@
+package com.athenaeum.backend.session;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes {@link SignedSessionToken}s as cookie values and verifies them.
+ *
+ * A value is the base64url token body, a dot, and a 128-bit HMAC-SHA256 of
+ * the body. The body is a format byte followed by the issue time, revocation
+ * epoch, label version, label mask, eight random bytes and username, about 50
+ * bytes for a typical username. The random bytes make every cookie, and so
+ * every revocation id, unique even for logins in the same second. With encryption on, the body is sealed with AES-GCM under a fresh
+ * nonce before it is signed, so the cookie no longer shows who it belongs to.
+ *
+ * The signing and encryption keys are both derived from one secret. Verifying
+ * a value is a single HMAC over a few dozen bytes with no I/O.
+ */
+public class SignedSessionCodec {
+
+    private static final byte FORMAT = 2;
+    private static final int TOKEN_NONCE_BYTES = 8;
+    private static final int HEADER_BYTES = 1 + Long.BYTES * 3 + Integer.BYTES + TOKEN_NONCE_BYTES;
+    private static final int MAC_BYTES = 16;
+    private static final int NONCE_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Mac macPrototype;
+    private final SecretKeySpec encryptionKey;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param secret at least 32 bytes of key material
+     * @param encrypt whether to encrypt token bodies as well as sign them
+     */
+    public SignedSessionCodec(byte[] secret, boolean encrypt) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Session cookie secret must be at least 32 bytes");
+        }
+        try {
+            this.macPrototype = Mac.getInstance(MAC_ALGORITHM);
+            this.macPrototype.init(new SecretKeySpec(derive(secret, "athenaeum-session-mac"), MAC_ALGORITHM));
+            this.encryptionKey = encrypt
+                ? new SecretKeySpec(Arrays.copyOf(derive(secret, "athenaeum-session-encryption"), 16), "AES")
+                : null;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * @return the cookie value for the token
+     */
+    public String encode(SignedSessionToken token) {
+        byte[] username = token.username().getBytes(StandardCharsets.UTF_8);
+        byte[] tokenNonce = new byte[TOKEN_NONCE_BYTES];
+        random.nextBytes(tokenNonce);
+        byte[] body = ByteBuffer.allocate(HEADER_BYTES + username.length)
+            .put(FORMAT)
+            .putLong(token.issuedAt())
+            .putLong(token.epoch())
+            .putLong(token.labelVersion())
+            .putInt(token.mask())
+            .put(tokenNonce)
+            .put(username)
+            .array();
+        if (encryptionKey != null) {
+            body = seal(body);
+        }
+        return ENCODER.encodeToString(body) + '.' + ENCODER.encodeToString(mac(body));
+    }
+
+    /**
+     * @return the token in the cookie value, or null if the value is malformed
+     *         or was not signed with this codec's secret
+     */
+    public SignedSessionToken decode(String value) {
+        int dot = value.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        byte[] body;
+        try {
+            body = DECODER.decode(value.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // Compared as text: the decoder ignores stray trailing bits, and the signature
+        // text must be unique because it is the revocation id
+        if (!MessageDigest.isEqual(value.substring(dot + 1).getBytes(StandardCharsets.US_ASCII),
+                ENCODER.encodeToString(mac(body)).getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        if (encryptionKey != null) {
+            body = open(body);
+            if (body == null) {
+                return null;
+            }
+        }
+        if (body.length < HEADER_BYTES || body[0] != FORMAT) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body, 1, body.length - 1);
+        long issuedAt = buffer.getLong();
+        long epoch = buffer.getLong();
+        long labelVersion = buffer.getLong();
+        int mask = buffer.getInt();
+        String username = new String(body, HEADER_BYTES, body.length - HEADER_BYTES, StandardCharsets.UTF_8);
+        return new SignedSessionToken(username, mask, labelVersion, issuedAt, epoch);
+    }
+
+    /**
+     * @return the part of a cookie value that identifies it uniquely, its signature
+     */
+    public static String tokenId(String value) {
+        return value.substring(value.indexOf('.') + 1);
+    }
+
+    private byte[] mac(byte[] body) {
+        Mac mac;
+        try {
+            // Mac instances are not thread-safe; a clone of the initialized prototype skips key setup
+            mac = (Mac) macPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 implementation cannot be cloned", e);
+        }
+        return Arrays.copyOf(mac.doFinal(body), MAC_BYTES);
+    }
+
+    private byte[] seal(byte[] body) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, nonce));
+            byte[] sealed = new byte[NONCE_BYTES + cipher.getOutputSize(body.length)];
+            System.arraycopy(nonce, 0, sealed, 0, NONCE_BYTES);
+            cipher.doFinal(body, 0, body.length, sealed, NONCE_BYTES);
+            return sealed;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt session token", e);
+        }
+    }
+
+    /**
+     * @return the decrypted body, or null if it cannot be decrypted
+     */
+    private byte[] open(byte[] sealed) {
+        if (sealed.length < NONCE_BYTES) {
+            return null;
+        }
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, sealed, 0, NONCE_BYTES));
+            return cipher.doFinal(sealed, NONCE_BYTES, sealed.length - NONCE_BYTES);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    private static byte[] derive(byte[] secret, String purpose) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+        return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,17 @@
+package com.athenaeum.backend.session;
+
+/**
+ * What a signed session cookie says about its holder.
+ *
+ * @param username the authenticated user
+ * @param mask the {@code LabelSet} bitmask granted at login
+ * @param labelVersion the user's label version when the mask was read
+ * @param issuedAt when the cookie was issued, in epoch seconds
+ * @param epoch the revocation epoch the cookie was issued in
+ */
+public record SignedSessionToken(String username, int mask, long labelVersion, long issuedAt, long epoch) {
+
+    public SessionLabels labels() {
+        return new SessionLabels(mask, labelVersion);
+    }
+}
@@ -21,3 +21,15 @@ CREATE TABLE IF NOT EXISTS SPRING_SESSION_ATTRIBUTES (
     CONSTRAINT SPRING_SESSION_ATTRIBUTES_PK PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME),
     CONSTRAINT SPRING_SESSION_ATTRIBUTES_FK FOREIGN KEY (SESSION_PRIMARY_ID) REFERENCES SPRING_SESSION(PRIMARY_ID) ON DELETE CASCADE
 );
+
+-- Checkpoints for restartable bulk user imports
+CREATE TABLE IF NOT EXISTS USER_IMPORT_JOB (
+    JOB_ID VARCHAR(500) NOT NULL,
+    POSITION BIGINT NOT NULL,
+    IMPORTED BIGINT NOT NULL,
+    SKIPPED BIGINT NOT NULL,
+    REJECTED BIGINT NOT NULL,
+    COMPLETED BOOLEAN NOT NULL,
+    UPDATED_AT BIGINT NOT NULL,
+    CONSTRAINT USER_IMPORT_JOB_PK PRIMARY KEY (JOB_ID)
+);
@@ -0,0 +1,102 @@
+package com.athenaeum.backend.catalog;
+
+import com.athenaeum.backend.dto.SessionLabel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DeweyClassifier.
+ */
+class DeweyClassifierTest {
+
+    private final DeweyClassifier classifier = new DeweyClassifier();
+
+    @Test
+    void classifyCallNumber_ShouldMapMainClasses() {
+        assertEquals(SessionLabel.COMPUTER_SCIENCE, classifier.classifyCallNumber("005.133 STR"));
+        assertEquals(SessionLabel.PHILOSOPHY, classifier.classifyCallNumber("170 ARI"));
+        assertEquals(SessionLabel.RELIGION, classifier.classifyCallNumber("220.5"));
+        assertEquals(SessionLabel.SOCIAL_SCIENCES, classifier.classifyCallNumber("330.1"));
+        assertEquals(SessionLabel.LANGUAGE, classifier.classifyCallNumber("423"));
+        assertEquals(SessionLabel.SCIENCE, classifier.classifyCallNumber("530.12 FEY"));
+        assertEquals(SessionLabel.TECHNOLOGY, classifier.classifyCallNumber("641.5"));
+        assertEquals(SessionLabel.ARTS, classifier.classifyCallNumber("780.92"));
+        assertEquals(SessionLabel.LITERATURE, classifier.classifyCallNumber("823.914 ROW"));
+        assertEquals(SessionLabel.HISTORY, classifier.classifyCallNumber("940.53"));
+    }
+
+    @Test
+    void classifyCallNumber_ShouldPreferMostSpecificRange() {
+        assertEquals(SessionLabel.GEOGRAPHY, classifier.classifyCallNumber("914.04 RIC"));
+        assertEquals(SessionLabel.HISTORY, classifier.classifyCallNumber("909.07"));
+        assertEquals(SessionLabel.HISTORY, classifier.classifyCallNumber("920 LIN"));
+    }
+
+    @Test
+    void classifyCallNumber_ShouldSkipPrefixesAndSegmentationMarks() {
+        assertEquals(SessionLabel.COMPUTER_SCIENCE, classifier.classifyCallNumber("REF 004.6 T"));
+        assertEquals(SessionLabel.LITERATURE, classifier.classifyCallNumber("  813/.54 HEM"));
+        assertEquals(SessionLabel.LITERATURE, classifier.classifyCallNumber("813.'54"));
+    }
+
+    @Test
+    void classifyCallNumber_WithoutClassNumber_ShouldReturnNull() {
+        assertNull(classifier.classifyCallNumber(""));
+        assertNull(classifier.classifyCallNumber("FIC ROW"));
+        assertNull(classifier.classifyCallNumber("QA76.73 .J38"));
+        assertNull(classifier.classifyCallNumber("1234.5"));
+        assertNull(classifier.classifyCallNumber("82"));
+    }
+
+    @Test
+    void classifySubject_ShouldMatchLongestPhraseFirst() {
+        assertEquals(SessionLabel.LITERATURE, classifier.classifySubject("Science fiction, American"));
+        assertEquals(SessionLabel.COMPUTER_SCIENCE, classifier.classifySubject("Computer science -- History"));
+        assertEquals(SessionLabel.GEOGRAPHY, classifier.classifySubject("France -- Description and travel"));
+        assertNull(classifier.classifySubject("Cats"));
+    }
+
+    @Test
+    void classify_ShouldFallBackToSubjectHeadings() {
+        assertEquals(SessionLabel.ARTS, classifier.classify("759.4", List.of("Philosophy")));
+        assertEquals(SessionLabel.PHILOSOPHY, classifier.classify("B945.J2", List.of("Cats", "Pragmatism", "Philosophy")));
+        assertEquals(SessionLabel.SCIENCE, classifier.classify(null, List.of("Astronomy")));
+        assertNull(classifier.classify(null, List.of()));
+    }
+
+    @Test
+    void constructor_ShouldApplyOverrides() {
+        DeweyClassifier custom = new DeweyClassifier(
+            List.of("641.5-641.59=ARTS", "910-919=HISTORY", "001.6=COMPUTER_SCIENCE"),
+            List.of("folk tales=SOCIAL_SCIENCES", "travel=HISTORY"));
+
+        assertEquals(SessionLabel.ARTS, custom.classifyCallNumber("641.59"));
+        assertEquals(SessionLabel.ARTS, custom.classifyCallNumber("641.5"));
+        assertEquals(SessionLabel.TECHNOLOGY, custom.classifyCallNumber("641.6"));
+        assertEquals(SessionLabel.TECHNOLOGY, custom.classifyCallNumber("641"));
+        assertEquals(SessionLabel.HISTORY, custom.classifyCallNumber("914.04"));
+        assertEquals(SessionLabel.SOCIAL_SCIENCES, custom.classifySubject("Folk tales -- Ireland"));
+        assertEquals(SessionLabel.HISTORY, custom.classifySubject("Travel"));
+    }
+
+    @Test
+    void prefixes_ShouldCoverRangeExactly() {
+        assertEquals(List.of("9"), DeweyClassifier.prefixes("900-999", "e"));
+        assertEquals(List.of("91"), DeweyClassifier.prefixes("910-919", "e"));
+        assertEquals(List.of("0046"), DeweyClassifier.prefixes("004.6", "e"));
+        assertEquals(List.of("3055", "3056", "3057", "3058"), DeweyClassifier.prefixes("305.5-305.8", "e"));
+        assertEquals(List.of("1059", "106", "107", "108", "1090", "1091"), DeweyClassifier.prefixes("105.9-109.1", "e"));
+    }
+
+    @Test
+    void constructor_WithMalformedOverride_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new DeweyClassifier(List.of("91-919=GEOGRAPHY"), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DeweyClassifier(List.of("919-910=GEOGRAPHY"), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DeweyClassifier(List.of("910-919=TRAVEL"), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DeweyClassifier(List.of("910-919"), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DeweyClassifier(List.of(), List.of("a b c d=ARTS")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.athenaeum.backend.config;
+
+import com.athenaeum.backend.catalog.DeweyClassifier;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CatalogConfig.
+ */
+class CatalogConfigTest {
+
+    private final CatalogConfig config = new CatalogConfig();
+
+    @Test
+    void deweyClassifier_WithYamlListOverrides_ShouldApplyThem() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("athenaeum.classification.dewey-overrides[0]", "780-789=LITERATURE")
+            .withProperty("athenaeum.classification.subject-overrides[0]", "folklore=SOCIAL_SCIENCES");
+
+        DeweyClassifier classifier = config.deweyClassifier(environment);
+
+        assertEquals(SessionLabel.LITERATURE, classifier.classifyCallNumber("782.42"));
+        assertEquals(SessionLabel.SOCIAL_SCIENCES, classifier.classify(null, List.of("Folklore")));
+    }
+
+    @Test
+    void deweyClassifier_WithCommaSeparatedOverrides_ShouldApplyThem() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("athenaeum.classification.dewey-overrides", "780-789=LITERATURE, 000-009=HISTORY");
+
+        DeweyClassifier classifier = config.deweyClassifier(environment);
+
+        assertEquals(SessionLabel.LITERATURE, classifier.classifyCallNumber("782.42"));
+        assertEquals(SessionLabel.HISTORY, classifier.classifyCallNumber("004.6"));
+    }
+
+    @Test
+    void deweyClassifier_WithoutOverrides_ShouldUseDefaults() {
+        DeweyClassifier classifier = config.deweyClassifier(new MockEnvironment()
+            .withProperty("athenaeum.classification.dewey-overrides", ""));
+
+        assertEquals(SessionLabel.ARTS, classifier.classifyCallNumber("782.42"));
+    }
+}
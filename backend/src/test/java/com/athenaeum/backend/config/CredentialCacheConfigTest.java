@@ -0,0 +1,76 @@
+package com.athenaeum.backend.config;
+
+import com.athenaeum.backend.dto.LoginRequest;
+import com.athenaeum.backend.service.CustomUserDetailsService;
+import com.athenaeum.backend.service.UserDirectoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the verified-credential cache in SecurityConfig.
+ */
+@SpringBootTest(properties = "athenaeum.security.credential-cache.enabled=true")
+@AutoConfigureMockMvc
+class CredentialCacheConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
+    @Test
+    void login_Repeated_ShouldVerifyPasswordOnce() throws Exception {
+        double before = passwordChecks();
+
+        login("admin", "changeme").andExpect(status().isOk());
+        login("admin", "changeme").andExpect(status().isOk());
+        login("admin", "wrongpassword").andExpect(status().isUnauthorized());
+
+        assertEquals(2, passwordChecks() - before);
+    }
+
+    @Test
+    void login_AfterPasswordChange_ShouldVerifyAgainstNewHash() throws Exception {
+        String original = userDetailsService.loadUserByUsername("admin").getPassword();
+        login("admin", "changeme").andExpect(status().isOk());
+        try {
+            userDirectory.updatePassword("admin", new BCryptPasswordEncoder(4).encode("newsecret"));
+
+            login("admin", "changeme").andExpect(status().isUnauthorized());
+        } finally {
+            userDirectory.updatePassword("admin", original);
+        }
+    }
+
+    private double passwordChecks() {
+        return meterRegistry.get("athenaeum.password.hash").tag("operation", "matches").timer().count();
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(username, password))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.athenaeum.backend.config;
+
+import com.athenaeum.backend.dto.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Prometheus scrape endpoint on the management port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class ManagementEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheus_OnManagementPort_ShouldExposeHotPathMetrics() {
+        restTemplate.postForEntity("http://localhost:" + port + "/api/auth/login",
+            new LoginRequest("admin", "changeme"), String.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("athenaeum_auth_login_seconds_count{outcome=\"success\""));
+        assertTrue(response.getBody().contains("athenaeum_auth_login_seconds_bucket"));
+        assertTrue(response.getBody().contains("athenaeum_session_load_seconds"));
+        assertTrue(response.getBody().contains("athenaeum_labels_lookup_seconds"));
+    }
+
+    @Test
+    void metrics_OnManagementPort_ShouldRequireLogin() {
+        ResponseEntity<String> health = restTemplate.getForEntity(
+            "http://localhost:" + managementPort + "/actuator/health", String.class);
+        ResponseEntity<String> metrics = restTemplate.getForEntity(
+            "http://localhost:" + managementPort + "/actuator/metrics", String.class);
+
+        assertEquals(HttpStatus.OK, health.getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, metrics.getStatusCode());
+    }
+
+    @Test
+    void prometheus_OnApplicationPort_ShouldNotBeServed() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
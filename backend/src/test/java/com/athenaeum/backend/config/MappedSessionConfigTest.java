@@ -0,0 +1,68 @@
+package com.athenaeum.backend.config;
+
+import com.athenaeum.backend.dto.LoginRequest;
+import com.athenaeum.backend.session.MappedSessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the mapped session store mode of SessionConfig.
+ */
+@SpringBootTest(properties = "spring.session.store-type=mapped")
+@AutoConfigureMockMvc
+class MappedSessionConfigTest {
+
+    @DynamicPropertySource
+    static void sessionFile(DynamicPropertyRegistry registry) throws Exception {
+        Path directory = Files.createTempDirectory("athenaeum-sessions");
+        registry.add("athenaeum.session.mapped.file", () -> directory.resolve("sessions.dat").toString());
+        registry.add("athenaeum.session.mapped.capacity", () -> "1024");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SessionRepository<?> sessionRepository;
+
+    @Test
+    void sessionRepository_ShouldBeMappedStore() {
+        assertInstanceOf(MappedSessionRepository.class, sessionRepository);
+    }
+
+    @Test
+    void login_ShouldKeepUserAuthenticatedOnLaterRequests() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("admin", "changeme"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie sessionCookie = login.getResponse().getCookie("JSESSIONID");
+        assertNotNull(sessionCookie);
+
+        mockMvc.perform(get("/api/auth/user").cookie(sessionCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authenticated").value(true))
+                .andExpect(jsonPath("$.username").value("admin"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.athenaeum.backend.config;
+
+import com.athenaeum.backend.dto.LoginRequest;
+import com.athenaeum.backend.session.SignedCookieSecurityContextRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the signed-cookie session mode of SecurityConfig.
+ */
+@SpringBootTest(properties = {
+    "athenaeum.session.mode=signed-cookie",
+    "athenaeum.session.signed-cookie.secret=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+    "athenaeum.session.signed-cookie.encrypt=true"
+})
+@AutoConfigureMockMvc
+class SignedCookieSessionConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SecurityContextRepository securityContextRepository;
+
+    @Test
+    void securityContextRepository_ShouldBeSignedCookie() {
+        assertInstanceOf(SignedCookieSecurityContextRepository.class, securityContextRepository);
+    }
+
+    @Test
+    void login_ShouldAuthenticateLaterRequestsWithoutSession() throws Exception {
+        MvcResult login = login();
+        Cookie sessionCookie = login.getResponse().getCookie(SignedCookieSecurityContextRepository.COOKIE_NAME);
+        assertNotNull(sessionCookie);
+        assertTrue(sessionCookie.isHttpOnly());
+        assertNull(login.getResponse().getCookie("JSESSIONID"));
+        assertNull(login.getRequest().getSession(false));
+
+        MvcResult user = mockMvc.perform(get("/api/auth/user").cookie(sessionCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authenticated").value(true))
+                .andExpect(jsonPath("$.username").value("admin"))
+                .andExpect(jsonPath("$.labels.length()").value(11))
+                .andReturn();
+        assertNull(user.getRequest().getSession(false));
+
+        mockMvc.perform(get("/api/protected/resource").cookie(sessionCookie))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logout_ShouldRevokeCookie() throws Exception {
+        Cookie sessionCookie = login().getResponse().getCookie(SignedCookieSecurityContextRepository.COOKIE_NAME);
+
+        MvcResult logout = mockMvc.perform(post("/api/auth/logout").cookie(sessionCookie))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(0, logout.getResponse().getCookie(SignedCookieSecurityContextRepository.COOKIE_NAME).getMaxAge());
+
+        mockMvc.perform(get("/api/protected/resource").cookie(sessionCookie))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void request_WithTamperedCookie_ShouldNotAuthenticate() throws Exception {
+        Cookie sessionCookie = login().getResponse().getCookie(SignedCookieSecurityContextRepository.COOKIE_NAME);
+        String value = sessionCookie.getValue();
+        Cookie tampered = new Cookie(sessionCookie.getName(), (value.charAt(0) == 'A' ? 'B' : 'A') + value.substring(1));
+
+        mockMvc.perform(get("/api/protected/resource").cookie(tampered))
+                .andExpect(status().isForbidden());
+    }
+
+    private MvcResult login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("admin", "changeme"))))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
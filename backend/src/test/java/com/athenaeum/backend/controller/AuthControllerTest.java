@@ -1,19 +1,29 @@
 package com.athenaeum.backend.controller;
 
 import com.athenaeum.backend.dto.LoginRequest;
+import com.athenaeum.backend.security.PasswordEncoderOverloadedException;
+import com.athenaeum.backend.service.CustomUserDetailsService;
+import com.athenaeum.backend.service.SessionLabelService;
+import com.athenaeum.backend.service.UserDirectoryService;
+import com.athenaeum.backend.service.UserInfoCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -35,6 +45,18 @@ class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SessionLabelService sessionLabelService;
+
+    @Autowired
+    private UserInfoCache userInfoCache;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
     @Test
     void login_WithValidCredentials_ShouldReturnSuccess() throws Exception {
         LoginRequest loginRequest = new LoginRequest("admin", "changeme");
@@ -133,6 +155,32 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.labels.length()").value(11));
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getUserInfo_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/auth/user"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/auth/user").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getUserInfo_WhenAuthenticationChanges_ShouldChangeETag() throws Exception {
+        String anonymousETag = mockMvc.perform(get("/api/auth/user"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/auth/user").header("If-None-Match", anonymousETag)
+                .with(user("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("admin"));
+    }
+
     @Test
     void login_ShouldCreateSessionWithAuthentication() throws Exception {
         LoginRequest loginRequest = new LoginRequest("admin", "changeme");
@@ -166,4 +214,36 @@ class AuthControllerTest {
                     "HISTORY", "GEOGRAPHY"
                 )));
     }
+
+    @Test
+    void login_WhenPasswordHashingOverloaded_ShouldReturnServiceUnavailable() throws Exception {
+        AuthController controller = new AuthController(authentication -> {
+            throw new PasswordEncoderOverloadedException("Too many password hashes queued", null);
+        }, new HttpSessionSecurityContextRepository(), sessionLabelService, userInfoCache, new SimpleMeterRegistry());
+        MockMvc standalone = MockMvcBuilders.standaloneSetup(controller).build();
+
+        standalone.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("admin", "changeme"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void login_WithLowerCostHash_ShouldRehashAtConfiguredCost() throws Exception {
+        String original = userDetailsService.loadUserByUsername("admin").getPassword();
+        userDirectory.updatePassword("admin", new BCryptPasswordEncoder(4).encode("changeme"));
+        try {
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new LoginRequest("admin", "changeme"))))
+                    .andExpect(status().isOk());
+
+            String rehashed = userDetailsService.loadUserByUsername("admin").getPassword();
+            assertTrue(rehashed.startsWith("$2a$10$"), "Password should be rehashed at cost 10: " + rehashed);
+        } finally {
+            userDirectory.updatePassword("admin", original);
+        }
+    }
 }
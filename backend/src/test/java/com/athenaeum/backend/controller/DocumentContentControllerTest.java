@@ -0,0 +1,175 @@
+package com.athenaeum.backend.controller;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for DocumentContentController.
+ */
+@SpringBootTest(properties = "athenaeum.documents.sendfile-threshold=1KB")
+@AutoConfigureMockMvc
+class DocumentContentControllerTest {
+
+    private static Path contentDirectory;
+
+    @DynamicPropertySource
+    static void contentDirectory(DynamicPropertyRegistry registry) throws IOException {
+        contentDirectory = Files.createTempDirectory("athenaeum-documents");
+        registry.add("athenaeum.documents.content-dir", contentDirectory::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DocumentCatalogService documentCatalogService;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_ShouldReturnWholeBody() throws Exception {
+        Document document = documentWithContent(".pdf", "%PDF-1.7 hello");
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", 14))
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().string("%PDF-1.7 hello"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_WithRange_ShouldReturnPartialContent() throws Exception {
+        Document document = documentWithContent(".epub", "0123456789");
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()).header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().contentType("application/epub+zip"))
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_WithUnsatisfiableRange_ShouldReturnRangeNotSatisfiable() throws Exception {
+        Document document = documentWithContent(".pdf", "0123456789");
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()).header("Range", "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        Document document = documentWithContent(".pdf", "0123456789");
+        String etag = mockMvc.perform(get("/api/documents/{id}/content", document.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_WithStaleIfRange_ShouldReturnWholeBody() throws Exception {
+        Document document = documentWithContent(".pdf", "0123456789");
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId())
+                .header("Range", "bytes=2-5")
+                .header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_WhenContainerSupportsSendfile_ShouldHandOverFile() throws Exception {
+        byte[] body = new byte[64 * 1024];
+        Arrays.fill(body, (byte) 'x');
+        Document document = documentCatalogService.addDocument("Large", "Author", "Subject", SessionLabel.ARTS);
+        Path file = Files.write(contentDirectory.resolve(document.getId() + ".pdf"), body);
+
+        MvcResult result = mockMvc.perform(get("/api/documents/{id}/content", document.getId())
+                .header("Range", "bytes=1024-")
+                .requestAttr(DocumentContentController.SENDFILE_SUPPORTED, Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue("Content-Length", body.length - 1024))
+                .andReturn();
+
+        assertEquals(file.toAbsolutePath().normalize().toString(),
+            result.getRequest().getAttribute(DocumentContentController.SENDFILE_FILENAME));
+        assertEquals(1024L, result.getRequest().getAttribute(DocumentContentController.SENDFILE_START));
+        assertEquals((long) body.length, result.getRequest().getAttribute(DocumentContentController.SENDFILE_END));
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void headContent_ShouldReturnHeadersOnly() throws Exception {
+        Document document = documentWithContent(".pdf", "0123456789");
+
+        mockMvc.perform(head("/api/documents/{id}/content", document.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 10))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getContent_WhenNotVisible_ShouldReturnNotFound() throws Exception {
+        Document document = documentWithContent(".pdf", "secret");
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getContent_WithoutFile_ShouldReturnNotFound() throws Exception {
+        Document document = documentCatalogService.addDocument("Lost", "Nobody", "Nothing", SessionLabel.HISTORY);
+
+        mockMvc.perform(get("/api/documents/{id}/content", document.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getContent_WithoutAuthentication_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/documents/0/content"))
+                .andExpect(status().isForbidden());
+    }
+
+    private Document documentWithContent(String extension, String body) throws IOException {
+        Document document = documentCatalogService.addDocument("Title", "Author", "Subject", SessionLabel.LITERATURE);
+        Files.writeString(contentDirectory.resolve(document.getId() + extension), body);
+        return document;
+    }
+}
@@ -0,0 +1,155 @@
+package com.athenaeum.backend.controller;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for DocumentController.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DocumentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DocumentCatalogService documentCatalogService;
+
+    @Test
+    void listDocuments_WithoutAuthentication_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/documents"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void listDocuments_WithAllLabels_ShouldReturnDocuments() throws Exception {
+        documentCatalogService.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+
+        mockMvc.perform(get("/api/documents").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents").isArray())
+                .andExpect(jsonPath("$.documents.length()").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getFacets_ShouldCountDocumentsPerHeldLabel() throws Exception {
+        documentCatalogService.addDocument("Walden", "Henry David Thoreau", "Nature", SessionLabel.PHILOSOPHY);
+        long[] expected = documentCatalogService.countByLabel();
+
+        mockMvc.perform(get("/api/documents/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SessionLabel.values().length))
+                .andExpect(jsonPath("$[1].label").value("PHILOSOPHY"))
+                .andExpect(jsonPath("$[1].displayName").value("Philosophy"))
+                .andExpect(jsonPath("$[1].count").value(expected[SessionLabel.PHILOSOPHY.ordinal()]));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getFacets_WithoutLabels_ShouldReturnEmptyList() throws Exception {
+        mockMvc.perform(get("/api/documents/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void listDocuments_WithoutLabels_ShouldReturnEmptyList() throws Exception {
+        documentCatalogService.addDocument("SPQR", "Mary Beard", "Rome", SessionLabel.HISTORY);
+
+        mockMvc.perform(get("/api/documents"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void listDocuments_WithCursor_ShouldReturnFollowingPage() throws Exception {
+        Document first = documentCatalogService.addDocument("Walden", "Thoreau", "Nature", SessionLabel.LITERATURE);
+        Document second = documentCatalogService.addDocument("Cosmos", "Sagan", "Astronomy", SessionLabel.SCIENCE);
+        documentCatalogService.addDocument("Maus", "Spiegelman", "Holocaust", SessionLabel.HISTORY);
+
+        mockMvc.perform(get("/api/documents")
+                .param("cursor", String.valueOf(first.getId() - 1))
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(first.getId()));
+
+        mockMvc.perform(get("/api/documents")
+                .param("cursor", String.valueOf(first.getId()))
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents[0].id").value(second.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(second.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void streamDocuments_ShouldWriteOneJsonDocumentPerLine() throws Exception {
+        Document first = documentCatalogService.addDocument("Emma", "Austen", "Fiction", SessionLabel.LITERATURE);
+        for (int i = 0; i < DocumentController.STREAM_CHUNK_SIZE; i++) {
+            documentCatalogService.addDocument("Atlas " + i, "Various", "Maps", SessionLabel.GEOGRAPHY);
+        }
+
+        String body = mockMvc.perform(get("/api/documents/stream")
+                .param("cursor", String.valueOf(first.getId() - 1)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(DocumentController.STREAM_CHUNK_SIZE + 1, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertTrue(lines[0].startsWith("{\"id\":" + first.getId() + ","));
+        assertTrue(lines[lines.length - 1].contains("\"title\":\"Atlas " + (DocumentController.STREAM_CHUNK_SIZE - 1) + "\""));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void streamDocuments_WithoutLabels_ShouldWriteNothing() throws Exception {
+        documentCatalogService.addDocument("Leviathan", "Hobbes", "Politics", SessionLabel.PHILOSOPHY);
+
+        mockMvc.perform(get("/api/documents/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void getDocument_WhenVisible_ShouldReturnDocument() throws Exception {
+        Document document = documentCatalogService.addDocument("SICP", "Abelson", "Programming",
+            SessionLabel.COMPUTER_SCIENCE);
+
+        mockMvc.perform(get("/api/documents/{id}", document.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("SICP"))
+                .andExpect(jsonPath("$.label").value("COMPUTER_SCIENCE"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getDocument_WhenNotVisible_ShouldReturnNotFound() throws Exception {
+        Document document = documentCatalogService.addDocument("Ethics", "Spinoza", "Metaphysics",
+            SessionLabel.PHILOSOPHY);
+
+        mockMvc.perform(get("/api/documents/{id}", document.getId()))
+                .andExpect(status().isNotFound());
+    }
+}
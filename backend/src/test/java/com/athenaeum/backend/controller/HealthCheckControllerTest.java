@@ -1,11 +1,16 @@
 package com.athenaeum.backend.controller;
 
+import com.athenaeum.backend.service.ReadinessService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -19,6 +24,15 @@ class HealthCheckControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ReadinessService readinessService;
+
+    @Autowired
+    private HealthCheckController healthCheckController;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Test
     void healthCheck_ShouldReturnUpStatus() throws Exception {
         mockMvc.perform(get("/api/health"))
@@ -27,4 +41,49 @@ class HealthCheckControllerTest {
                 .andExpect(jsonPath("$.message").value("Athenaeum Backend is running"))
                 .andExpect(jsonPath("$.timestamp").exists());
     }
+
+    @Test
+    void liveness_ShouldReturnUpWithoutAuthentication() throws Exception {
+        mockMvc.perform(get("/api/health/live"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void readiness_ShouldReportEachDependency() throws Exception {
+        readinessService.refresh();
+
+        mockMvc.perform(get("/api/health/ready"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.checks.database").value("UP"))
+                .andExpect(jsonPath("$.checks.sessionStore").value("UP"))
+                .andExpect(jsonPath("$.checks.startup").value("UP"))
+                .andExpect(jsonPath("$.checkedAt").exists());
+    }
+
+    @Test
+    void readiness_WhileRefusingTraffic_ShouldReportStartupDown() throws Exception {
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        try {
+            mockMvc.perform(get("/api/health/ready"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.status").value("DOWN"))
+                    .andExpect(jsonPath("$.checks.startup").value("DOWN"));
+        } finally {
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+
+        mockMvc.perform(get("/api/health/ready"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void readiness_ShouldReuseResponseUntilNextCheck() {
+        readinessService.refresh();
+
+        assertSame(healthCheckController.readiness(), healthCheckController.readiness());
+        assertSame(healthCheckController.liveness(), healthCheckController.liveness());
+    }
 }
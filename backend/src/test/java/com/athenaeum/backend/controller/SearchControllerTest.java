@@ -0,0 +1,55 @@
+package com.athenaeum.backend.controller;
+
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for SearchController.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DocumentCatalogService documentCatalogService;
+
+    @Test
+    void search_WithoutAuthentication_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "anything"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void search_WithAllLabels_ShouldReturnRankedHits() throws Exception {
+        documentCatalogService.addDocument("Zarathustra", "Nietzsche", "Philosophy", SessionLabel.PHILOSOPHY);
+
+        mockMvc.perform(get("/api/search").param("q", "zarathustra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].document.title").value("Zarathustra"))
+                .andExpect(jsonPath("$[0].score").isNumber());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void search_WithoutLabels_ShouldReturnNoHits() throws Exception {
+        documentCatalogService.addDocument("Gilgamesh", "Unknown", "Epic", SessionLabel.LITERATURE);
+
+        mockMvc.perform(get("/api/search").param("q", "gilgamesh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
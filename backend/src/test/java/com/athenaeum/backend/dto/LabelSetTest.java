@@ -0,0 +1,72 @@
+package com.athenaeum.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LabelSet.
+ */
+class LabelSetTest {
+
+    @Test
+    void of_ShouldSetOneBitPerLabel() {
+        LabelSet labels = LabelSet.of(SessionLabel.COMPUTER_SCIENCE, SessionLabel.HISTORY);
+
+        assertEquals(2, labels.size());
+        assertEquals((1 << SessionLabel.COMPUTER_SCIENCE.ordinal()) | (1 << SessionLabel.HISTORY.ordinal()), labels.mask());
+        assertTrue(labels.contains(SessionLabel.HISTORY));
+        assertFalse(labels.contains(SessionLabel.ARTS));
+        assertFalse(labels.contains(null));
+    }
+
+    @Test
+    void ofMask_ShouldReturnCanonicalInstances() {
+        LabelSet labels = LabelSet.of(SessionLabel.SCIENCE);
+
+        assertSame(labels, LabelSet.ofMask(labels.mask()));
+        assertSame(LabelSet.ALL, LabelSet.copyOf(List.of(SessionLabel.values())));
+        assertSame(LabelSet.EMPTY, LabelSet.copyOf(List.of()));
+    }
+
+    @Test
+    void ofMask_WithUnknownBits_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> LabelSet.ofMask(1 << SessionLabel.values().length));
+    }
+
+    @Test
+    void setAlgebra_ShouldMatchBitwiseOperations() {
+        LabelSet a = LabelSet.of(SessionLabel.ARTS, SessionLabel.LITERATURE);
+        LabelSet b = LabelSet.of(SessionLabel.LITERATURE, SessionLabel.HISTORY);
+
+        assertEquals(LabelSet.of(SessionLabel.ARTS, SessionLabel.LITERATURE, SessionLabel.HISTORY), a.union(b));
+        assertEquals(LabelSet.of(SessionLabel.LITERATURE), a.intersect(b));
+        assertTrue(a.intersects(b));
+        assertFalse(a.intersects(LabelSet.of(SessionLabel.RELIGION)));
+        assertTrue(LabelSet.ALL.containsAll(a));
+        assertFalse(a.containsAll(b));
+        assertEquals(b, b.with(SessionLabel.HISTORY));
+        assertEquals(LabelSet.of(SessionLabel.HISTORY), b.without(SessionLabel.LITERATURE));
+    }
+
+    @Test
+    void iterator_ShouldReturnLabelsInOrdinalOrder() {
+        LabelSet labels = LabelSet.of(SessionLabel.GEOGRAPHY, SessionLabel.PHILOSOPHY, SessionLabel.LANGUAGE);
+
+        assertEquals(List.of(SessionLabel.PHILOSOPHY, SessionLabel.LANGUAGE, SessionLabel.GEOGRAPHY), labels.toList());
+    }
+
+    @Test
+    void json_ShouldRoundTripAsArrayOfNames() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        LabelSet labels = LabelSet.of(SessionLabel.TECHNOLOGY, SessionLabel.RELIGION);
+
+        String json = objectMapper.writeValueAsString(labels);
+
+        assertEquals("[\"RELIGION\",\"TECHNOLOGY\"]", json);
+        assertSame(labels, objectMapper.readValue(json, LabelSet.class));
+    }
+}
@@ -0,0 +1,93 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import com.athenaeum.backend.service.SearchIndexService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CatalogImportService.
+ */
+@SpringBootTest(properties = {
+    "athenaeum.import.catalog.batch-size=2",
+    "athenaeum.import.catalog.parallelism=2",
+    "athenaeum.import.catalog.queue-capacity=1",
+    "athenaeum.import.catalog.window-size=256B"
+})
+class CatalogImportServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private DocumentCatalogService documentCatalogService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Test
+    void importCatalog_FromNdjson_ShouldAddClassifiedDocumentsInFileOrder() throws IOException {
+        Path file = Files.writeString(directory.resolve("dump.ndjson"),
+            "{\"title\":\"Zymurgical Cosmos\",\"author\":\"Carl Sagan\",\"callNumber\":\"520 SAG\"}\n"
+                + "{\"title\":\"Zymurgical Guide to France\",\"callNumber\":\"914.4\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"title\":\"Zymurgical Mystery\",\"subjects\":[\"Cats\"]}\n"
+                + "{\"title\":\"Zymurgical Pragmatism\",\"callNumber\":\"B945.J2\",\"subjects\":[\"Philosophy\"]}\n"
+                + "{\"title\":\"Zymurgical Poems\",\"callNumber\":\"811.54\"}");
+        int firstId = documentCatalogService.size();
+
+        CatalogImportResult result = catalogImportService.importCatalog(file, CatalogRecordParser.Format.NDJSON);
+
+        assertEquals(6, result.records());
+        assertEquals(4, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(Files.size(file), result.bytes());
+        assertEquals(2, result.errors().size());
+        assertTrue(result.errors().get(0).startsWith("record 3: malformed JSON"));
+        assertTrue(result.errors().get(1).startsWith("record 4: no label"));
+
+        List<Document> added = documentCatalogService.listDocuments(LabelSet.ALL, firstId, 10);
+        assertEquals(List.of("Zymurgical Cosmos", "Zymurgical Guide to France", "Zymurgical Pragmatism",
+            "Zymurgical Poems"), added.stream().map(Document::getTitle).toList());
+        assertEquals(List.of(SessionLabel.SCIENCE, SessionLabel.GEOGRAPHY, SessionLabel.PHILOSOPHY,
+            SessionLabel.LITERATURE), added.stream().map(Document::getLabel).toList());
+        assertEquals(4, searchIndexService.search("zymurgical", LabelSet.ALL, 10).size());
+    }
+
+    @Test
+    void importCatalog_FromMarc_ShouldAddDocuments() throws IOException {
+        ByteArrayOutputStream dump = new ByteArrayOutputStream();
+        dump.writeBytes(CatalogRecordParserTest.marcRecord(
+            "082", "04\u001Fa005.133", "245", "10\u001FaMarcedly Java /"));
+        dump.writeBytes(CatalogRecordParserTest.marcRecord(
+            "245", "10\u001FaMarcedly Sacred Texts", "650", " 0\u001FaBible\u001FxCommentaries."));
+        Path file = Files.write(directory.resolve("dump.mrc"), dump.toByteArray());
+        int firstId = documentCatalogService.size();
+
+        CatalogImportResult result = catalogImportService.importCatalog(file, CatalogRecordParser.Format.MARC);
+
+        assertEquals(2, result.imported());
+        List<Document> added = documentCatalogService.listDocuments(LabelSet.ALL, firstId, 10);
+        assertEquals("Marcedly Java", added.get(0).getTitle());
+        assertEquals(SessionLabel.COMPUTER_SCIENCE, added.get(0).getLabel());
+        assertEquals(SessionLabel.RELIGION, added.get(1).getLabel());
+        assertEquals("Bible -- Commentaries", added.get(1).getSubject());
+    }
+}
@@ -0,0 +1,119 @@
+package com.athenaeum.backend.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CatalogRecordParser.
+ */
+class CatalogRecordParserTest {
+
+    private final CatalogRecordParser marc = CatalogRecordParser.forFormat(CatalogRecordParser.Format.MARC, null);
+    private final CatalogRecordParser ndjson =
+        CatalogRecordParser.forFormat(CatalogRecordParser.Format.NDJSON, new ObjectMapper());
+
+    @Test
+    void marc_ShouldReadTitleAuthorCallNumberAndSubjects() {
+        byte[] record = marcRecord(
+            "001", "ocm12345",
+            "082", "04\u001Fa813/.54\u001F222",
+            "100", "1 \u001FaHerbert, Frank,\u001Fd1920-1986.",
+            "245", "10\u001FaDune :\u001Fba novel /\u001Fcby Frank Herbert.",
+            "650", " 0\u001FaScience fiction.",
+            "651", " 0\u001FaArrakis (Imaginary place)\u001FvFiction.",
+            "650", " 0\u001FaÉcologie\u001FxRomans.");
+
+        CatalogRecord parsed = parse(marc, record, 7);
+
+        assertEquals(new CatalogRecord(7, "Dune : a novel", "Herbert, Frank", "813/.54",
+            List.of("Science fiction", "Arrakis (Imaginary place) -- Fiction", "Écologie -- Romans")), parsed);
+    }
+
+    @Test
+    void marc_WithWrongLeaderLength_ShouldReject() {
+        byte[] record = marcRecord("245", "00\u001FaTitle");
+        record[0] = '9';
+
+        InvalidCatalogRecordException e = assertThrows(InvalidCatalogRecordException.class,
+            () -> parse(marc, record, 3));
+        assertTrue(e.getMessage().startsWith("record 3: leader gives length"));
+    }
+
+    @Test
+    void marc_WithoutTitle_ShouldReject() {
+        byte[] record = marcRecord("082", "04\u001Fa005.1");
+
+        assertThrows(InvalidCatalogRecordException.class, () -> parse(marc, record, 1));
+    }
+
+    @Test
+    void ndjson_ShouldReadFields() {
+        byte[] line = ("{\"title\":\"Cosmos\",\"author\":\"Carl Sagan\",\"callNumber\":\"520 SAG\","
+            + "\"subjects\":[\"Astronomy\",\"Cosmology\"]}").getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(new CatalogRecord(2, "Cosmos", "Carl Sagan", "520 SAG", List.of("Astronomy", "Cosmology")),
+            parse(ndjson, line, 2));
+        assertEquals(new CatalogRecord(1, "Untitled notes", "", null, List.of()),
+            parse(ndjson, "{\"title\":\"Untitled notes\"}".getBytes(StandardCharsets.UTF_8), 1));
+    }
+
+    @Test
+    void ndjson_WithMalformedRecord_ShouldReject() {
+        assertThrows(InvalidCatalogRecordException.class,
+            () -> parse(ndjson, "{\"title\":".getBytes(StandardCharsets.UTF_8), 1));
+        assertThrows(InvalidCatalogRecordException.class,
+            () -> parse(ndjson, "[1,2]".getBytes(StandardCharsets.UTF_8), 1));
+        assertThrows(InvalidCatalogRecordException.class,
+            () -> parse(ndjson, "{\"title\":\"T\",\"subjects\":\"History\"}".getBytes(StandardCharsets.UTF_8), 1));
+    }
+
+    @Test
+    void forFileName_ShouldRecogniseMarcExtensions() {
+        assertEquals(CatalogRecordParser.Format.MARC, CatalogRecordParser.Format.forFileName("dump.MRC"));
+        assertEquals(CatalogRecordParser.Format.MARC, CatalogRecordParser.Format.forFileName("dump.marc"));
+        assertEquals(CatalogRecordParser.Format.NDJSON, CatalogRecordParser.Format.forFileName("dump.jsonl"));
+    }
+
+    /**
+     * Parse a record placed in the middle of a larger buffer, as it would be in a mapped window.
+     */
+    private static CatalogRecord parse(CatalogRecordParser parser, byte[] record, long position) {
+        // MARC records end with their terminator, which is not part of the range handed to the parser
+        int length = record[record.length - 1] == 0x1D ? record.length - 1 : record.length;
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 10);
+        buffer.put(5, record);
+        return parser.parse(buffer, 5, 5 + length, position);
+    }
+
+    /**
+     * Build a binary MARC 21 record from tag and field data pairs.
+     */
+    static byte[] marcRecord(String... tagsAndData) {
+        int fields = tagsAndData.length / 2;
+        ByteArrayOutputStream directory = new ByteArrayOutputStream();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int i = 0; i < fields; i++) {
+            byte[] field = (tagsAndData[2 * i + 1] + "\u001E").getBytes(StandardCharsets.UTF_8);
+            directory.writeBytes(String.format("%s%04d%05d", tagsAndData[2 * i], field.length, data.size())
+                .getBytes(StandardCharsets.US_ASCII));
+            data.writeBytes(field);
+        }
+        int baseAddress = 24 + directory.size() + 1;
+        int length = baseAddress + data.size() + 1;
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.writeBytes(String.format("%05dnam a22%05d   4500", length, baseAddress)
+            .getBytes(StandardCharsets.US_ASCII));
+        record.writeBytes(directory.toByteArray());
+        record.write(0x1E);
+        record.writeBytes(data.toByteArray());
+        record.write(0x1D);
+        return record.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.importer.MappedRecordReader.RecordChunk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MappedRecordReader.
+ */
+class MappedRecordReaderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void nextChunk_ShouldSplitRecordsAndSkipBlankOnes() throws IOException {
+        Path file = write("alpha\nbeta\n\n  \r\ngamma\ndelta");
+
+        try (MappedRecordReader reader = new MappedRecordReader(file, (byte) '\n', 1024)) {
+            RecordChunk first = reader.nextChunk(3);
+            RecordChunk second = reader.nextChunk(3);
+
+            assertEquals(List.of("alpha", "beta", "gamma"), records(first));
+            assertEquals(1, first.firstPosition());
+            assertEquals(List.of("delta"), records(second));
+            assertEquals(4, second.firstPosition());
+            assertNull(reader.nextChunk(3));
+            assertEquals(4, reader.position());
+            assertEquals(reader.size(), reader.bytesRead());
+        }
+    }
+
+    @Test
+    void nextChunk_ShouldRemapRecordsThatCrossWindows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String record = "record-" + i + "-" + "x".repeat(i % 7);
+            expected.add(record);
+            content.append(record).append('\n');
+        }
+        Path file = write(content.toString());
+
+        List<String> read = new ArrayList<>();
+        try (MappedRecordReader reader = new MappedRecordReader(file, (byte) '\n', 32)) {
+            RecordChunk chunk;
+            while ((chunk = reader.nextChunk(10)) != null) {
+                assertTrue(chunk.count() > 0);
+                read.addAll(records(chunk));
+            }
+        }
+
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void nextChunk_WithRecordLongerThanWindow_ShouldThrow() throws IOException {
+        Path file = write("short\n" + "y".repeat(100) + "\nshort\n");
+
+        try (MappedRecordReader reader = new MappedRecordReader(file, (byte) '\n', 32)) {
+            assertEquals(List.of("short"), records(reader.nextChunk(10)));
+            assertThrows(IOException.class, () -> reader.nextChunk(10));
+        }
+    }
+
+    @Test
+    void nextChunk_WithEmptyFile_ShouldReturnNull() throws IOException {
+        try (MappedRecordReader reader = new MappedRecordReader(write(""), (byte) '\n', 32)) {
+            assertNull(reader.nextChunk(10));
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("dump.ndjson"), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> records(RecordChunk chunk) {
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < chunk.count(); i++) {
+            byte[] bytes = new byte[chunk.ends()[i] - chunk.starts()[i]];
+            chunk.buffer().get(chunk.starts()[i], bytes);
+            records.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return records;
+    }
+}
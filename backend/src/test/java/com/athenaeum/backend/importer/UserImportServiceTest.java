@@ -0,0 +1,119 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.service.UserDirectoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserImportService.
+ */
+@SpringBootTest(properties = {"athenaeum.import.chunk-size=2", "athenaeum.security.bcrypt.strength=4"})
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void importUsers_FromCsv_ShouldStoreHashedUsersWithLabels() throws IOException {
+        // Looked up first so the import has to drop the cached miss
+        assertTrue(userDirectory.findUser("csv-alice").isEmpty());
+
+        UserImportResult result = userImportService.importUsers("csv", new StringReader(
+            "username,password,labels\n"
+                + "csv-alice,secret,HISTORY|GEOGRAPHY\n"
+                + "admin,other,ARTS\n"
+                + "csv-bob,secret,ASTROLOGY\n"
+                + "csv-carol,hunter2,\n"
+                + "csv-alice,again,ARTS\n"), UserRecordReader.Format.CSV);
+
+        assertEquals(new UserImportResult("csv", 5, 2, 2, 1, true,
+            List.of("line 4: unknown label ASTROLOGY for csv-bob")), result);
+        UserDirectoryService.DirectoryUser alice = userDirectory.findUser("csv-alice").orElseThrow();
+        assertEquals(LabelSet.of(SessionLabel.HISTORY, SessionLabel.GEOGRAPHY), alice.labels());
+        assertTrue(passwordEncoder.matches("secret", alice.passwordHash()));
+        assertTrue(passwordEncoder.matches("hunter2", userDirectory.findUser("csv-carol").orElseThrow().passwordHash()));
+        assertEquals(LabelSet.ALL, userDirectory.findUser("admin").orElseThrow().labels());
+    }
+
+    @Test
+    void importUsers_FromNdjson_ShouldStoreUsers() throws IOException {
+        UserImportResult result = userImportService.importUsers("ndjson", new StringReader(
+            "{\"username\":\"json-alice\",\"password\":\"secret\",\"labels\":[\"SCIENCE\"]}\n"),
+            UserRecordReader.Format.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals(LabelSet.of(SessionLabel.SCIENCE), userDirectory.findUser("json-alice").orElseThrow().labels());
+    }
+
+    @Test
+    void importUsers_AfterFailure_ShouldResumeFromLastCheckpoint() throws IOException {
+        String content = "username,password,labels\n"
+            + "resume-1,secret,ARTS\n"
+            + "resume-2,secret,ARTS\n"
+            + "resume-3,secret,ARTS\n"
+            + "resume-4,secret,ARTS\n"
+            + "resume-5,secret,ARTS\n";
+        // Fails while reading the fourth record, after the first chunk of two has committed
+        Reader failing = new FailingReader(content, content.indexOf("resume-4"));
+        assertThrows(IOException.class, () -> userImportService.importUsers("resume", failing,
+            UserRecordReader.Format.CSV));
+        assertTrue(userDirectory.findUser("resume-2").isPresent());
+        assertTrue(userDirectory.findUser("resume-3").isEmpty());
+
+        UserImportResult resumed = userImportService.importUsers("resume", new StringReader(content),
+            UserRecordReader.Format.CSV);
+
+        assertEquals(new UserImportResult("resume", 5, 5, 0, 0, true, List.of()), resumed);
+        assertTrue(userDirectory.findUser("resume-5").isPresent());
+
+        UserImportResult again = userImportService.importUsers("resume", new StringReader(""),
+            UserRecordReader.Format.CSV);
+        assertEquals(resumed, again);
+    }
+
+    /**
+     * Reader that fails once the given number of characters has been read.
+     */
+    private static final class FailingReader extends Reader {
+
+        private final StringReader delegate;
+        private int remaining;
+
+        FailingReader(String content, int failAfter) {
+            this.delegate = new StringReader(content);
+            this.remaining = failAfter;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                throw new IOException("Simulated read failure");
+            }
+            int read = delegate.read(buffer, offset, Math.min(length, remaining));
+            remaining -= Math.max(read, 0);
+            return read;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
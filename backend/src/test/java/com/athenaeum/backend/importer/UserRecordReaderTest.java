@@ -0,0 +1,81 @@
+package com.athenaeum.backend.importer;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserRecordReader.
+ */
+class UserRecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_ShouldReadColumnsByHeaderName() throws IOException {
+        UserRecordReader reader = csv("labels,Password,username\n"
+            + "HISTORY|ARTS,secret,alice\n"
+            + "\n"
+            + "\"\",\"pa,ss\"\"word\",bob\n");
+
+        UserRecord alice = reader.next();
+        UserRecord bob = reader.next();
+
+        assertEquals(new UserRecord(1, "alice", "secret", LabelSet.of(SessionLabel.HISTORY, SessionLabel.ARTS)),
+            alice);
+        assertEquals(new UserRecord(2, "bob", "pa,ss\"word", LabelSet.EMPTY), bob);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csv_WithUnknownLabel_ShouldRejectRecordAndContinue() throws IOException {
+        UserRecordReader reader = csv("username,password,labels\n"
+            + "alice,secret,ASTROLOGY\n"
+            + "bob,secret,SCIENCE\n");
+
+        InvalidUserRecordException error = assertThrows(InvalidUserRecordException.class, reader::next);
+        assertEquals("line 2: unknown label ASTROLOGY for alice", error.getMessage());
+        assertEquals("bob", reader.next().username());
+        assertEquals(2, reader.position());
+    }
+
+    @Test
+    void csv_WithoutRequiredColumns_ShouldFail() {
+        assertThrows(IOException.class, () -> csv("name,labels\n"));
+    }
+
+    @Test
+    void ndjson_ShouldReadOneObjectPerLine() throws IOException {
+        UserRecordReader reader = UserRecordReader.open(new StringReader(
+            "{\"username\":\"alice\",\"password\":\"secret\",\"labels\":[\"LITERATURE\"]}\n"
+                + "{\"username\":\"bob\"\n"
+                + "{\"username\":\"carol\",\"labels\":[]}\n"
+                + "{\"username\":\"dave\",\"password\":\"secret\"}\n"),
+            UserRecordReader.Format.NDJSON, objectMapper);
+
+        assertEquals(LabelSet.of(SessionLabel.LITERATURE), reader.next().labels());
+        assertTrue(assertThrows(InvalidUserRecordException.class, reader::next).getMessage()
+            .startsWith("line 2: malformed JSON"));
+        assertEquals("line 3: missing password for carol",
+            assertThrows(InvalidUserRecordException.class, reader::next).getMessage());
+        assertEquals(LabelSet.EMPTY, reader.next().labels());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void forFileName_ShouldDetectNdjson() {
+        assertEquals(UserRecordReader.Format.NDJSON, UserRecordReader.Format.forFileName("users.jsonl"));
+        assertEquals(UserRecordReader.Format.NDJSON, UserRecordReader.Format.forFileName("USERS.NDJSON"));
+        assertEquals(UserRecordReader.Format.CSV, UserRecordReader.Format.forFileName("users.csv"));
+    }
+
+    private UserRecordReader csv(String content) throws IOException {
+        return UserRecordReader.open(new StringReader(content), UserRecordReader.Format.CSV, objectMapper);
+    }
+}
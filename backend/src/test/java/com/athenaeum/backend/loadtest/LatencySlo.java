@@ -0,0 +1,75 @@
+package com.athenaeum.backend.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Thresholds a scenario must meet, read from {@code loadtest-slo.properties}
+ * on the test classpath. Each key can be overridden with a system property of
+ * the same name prefixed by {@code loadtest.}, for example
+ * {@code -Dloadtest.user-polling.p99-ms=20}.
+ *
+ * Keys per scenario: {@code <scenario>.p99-ms} (maximum p99 latency),
+ * {@code <scenario>.min-throughput-per-core} (minimum successful requests per
+ * second for each available processor, since the server and the load
+ * generator share one machine) and {@code <scenario>.max-error-rate} (maximum
+ * fraction of failed requests, default 0).
+ */
+final class LatencySlo {
+
+    static final String RESOURCE = "loadtest-slo.properties";
+
+    private final Properties properties;
+
+    private LatencySlo(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LatencySlo load() {
+        Properties properties = new Properties();
+        try (InputStream in = LatencySlo.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on the classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new LatencySlo(properties);
+    }
+
+    /**
+     * @return a description of every threshold the result misses; empty if it meets all of them
+     */
+    List<String> violations(LoadGenerator.Result result) {
+        String scenario = result.scenario();
+        List<String> violations = new ArrayList<>();
+        double maxP99 = threshold(scenario, "p99-ms", Double.MAX_VALUE);
+        if (result.percentileMillis(99) > maxP99) {
+            violations.add(String.format("%s: p99 %.2f ms exceeds %.2f ms", scenario, result.percentileMillis(99),
+                maxP99));
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        double minThroughput = threshold(scenario, "min-throughput-per-core", 0) * cores;
+        if (result.throughput() < minThroughput) {
+            violations.add(String.format("%s: throughput %.1f req/s is below %.1f req/s (%d cores)", scenario,
+                result.throughput(), minThroughput, cores));
+        }
+        double maxErrorRate = threshold(scenario, "max-error-rate", 0);
+        if (result.errorRate() > maxErrorRate) {
+            violations.add(String.format("%s: error rate %.4f exceeds %.4f (%d errors)", scenario,
+                result.errorRate(), maxErrorRate, result.errors()));
+        }
+        return violations;
+    }
+
+    private double threshold(String scenario, String name, double defaultValue) {
+        String key = scenario + "." + name;
+        String value = System.getProperty("loadtest." + key, properties.getProperty(key));
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+}
@@ -0,0 +1,105 @@
+package com.athenaeum.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One simulated browser: keeps its own cookies, so each client has its own
+ * session, and remembers the ETag of {@code /api/auth/user} the way the
+ * frontend's polling does. The underlying {@link HttpClient} is shared.
+ * Not thread-safe; each client is driven by one thread.
+ */
+final class LoadClient {
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+    private String userInfoETag;
+
+    LoadClient(HttpClient http, URI baseUri) {
+        this.http = http;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Log in with a fresh session, as a new browser would.
+     *
+     * @return the response status
+     */
+    int login(String username, String password) throws IOException, InterruptedException {
+        cookies.clear();
+        userInfoETag = null;
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = request("/api/auth/login")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return send(request).statusCode();
+    }
+
+    /**
+     * Poll the current user, revalidating the last response's ETag.
+     *
+     * @return the response status; 304 when the user info has not changed
+     */
+    int pollUserInfo() throws IOException, InterruptedException {
+        HttpRequest.Builder request = request("/api/auth/user").GET();
+        if (userInfoETag != null) {
+            request.header("If-None-Match", userInfoETag);
+        }
+        HttpResponse<Void> response = send(request.build());
+        response.headers().firstValue("ETag").ifPresent(etag -> userInfoETag = etag);
+        return response.statusCode();
+    }
+
+    /**
+     * @return the response status
+     */
+    int get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET().build()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path));
+        if (!cookies.isEmpty()) {
+            StringBuilder header = new StringBuilder();
+            cookies.forEach((name, value) -> {
+                if (header.length() > 0) {
+                    header.append("; ");
+                }
+                header.append(name).append('=').append(value);
+            });
+            request.header("Cookie", header.toString());
+        }
+        return request;
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        for (String setCookie : response.headers().allValues("Set-Cookie")) {
+            storeCookie(setCookie);
+        }
+        return response;
+    }
+
+    private void storeCookie(String setCookie) {
+        int end = setCookie.indexOf(';');
+        String pair = end < 0 ? setCookie : setCookie.substring(0, end);
+        int equals = pair.indexOf('=');
+        if (equals <= 0) {
+            return;
+        }
+        String name = pair.substring(0, equals).trim();
+        String value = pair.substring(equals + 1).trim();
+        if (value.isEmpty() || setCookie.contains("Max-Age=0")) {
+            cookies.remove(name);
+        } else {
+            cookies.put(name, value);
+        }
+    }
+}
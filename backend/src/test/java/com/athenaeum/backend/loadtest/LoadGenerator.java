@@ -0,0 +1,207 @@
+package com.athenaeum.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator: a fixed number of clients, each on its own
+ * thread, send requests back to back for a warm-up period and then for a
+ * measured period. Every request sent during the measured period is
+ * recorded, in an HdrHistogram in microseconds, once it completes, even if
+ * that is after the period ends; the run waits for those requests, so slow
+ * requests are never dropped from the percentiles.
+ *
+ * Because each client waits for its response before sending the next
+ * request, a server stall delays the requests that would have been sent
+ * during it instead of recording them as slow (coordinated omission). The
+ * recorded percentiles are therefore a lower bound when the server stalls;
+ * the throughput threshold catches such stalls.
+ */
+final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final URI baseUri;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration measurement;
+
+    LoadGenerator(URI baseUri, int clients, Duration warmup, Duration measurement) {
+        this.baseUri = baseUri;
+        this.clients = clients;
+        this.warmup = warmup;
+        this.measurement = measurement;
+    }
+
+    /**
+     * Prepares a client before the run, for example by logging it in.
+     */
+    @FunctionalInterface
+    interface ClientSetup {
+        void prepare(LoadClient client, int clientNumber) throws IOException, InterruptedException;
+    }
+
+    /**
+     * One request of a scenario.
+     */
+    @FunctionalInterface
+    interface Operation {
+        /**
+         * @return the HTTP status of the response
+         */
+        int perform(LoadClient client, int clientNumber) throws IOException, InterruptedException;
+    }
+
+    /**
+     * @param name identifies the scenario in reports and SLO properties
+     * @param setup run once per client before the warm-up
+     * @param operation repeated by every client
+     */
+    record Scenario(String name, ClientSetup setup, Operation operation) {
+    }
+
+    /**
+     * Run a scenario to completion.
+     */
+    Result run(Scenario scenario) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(clients, runnable -> {
+            Thread thread = new Thread(runnable, "load-client-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<LoadClient> loadClients = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                LoadClient client = new LoadClient(http, baseUri);
+                scenario.setup().prepare(client, i);
+                loadClients.add(client);
+            }
+
+            Run run = new Run();
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                LoadClient client = loadClients.get(i);
+                int clientNumber = i;
+                futures.add(threads.submit(() -> drive(run, scenario.operation(), client, clientNumber)));
+            }
+
+            Thread.sleep(warmup.toMillis());
+            long start = System.nanoTime();
+            run.measuring = true;
+            Thread.sleep(measurement.toMillis());
+            run.measuring = false;
+            long elapsed = System.nanoTime() - start;
+            run.running = false;
+            // Each client finishes the request it has in flight, which may have been sent in the measured period
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return new Result(scenario.name(), clients, run.histogram, run.errors.sum(), run.rejected.sum(), elapsed);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static Void drive(Run run, Operation operation, LoadClient client, int clientNumber) {
+        while (run.running) {
+            boolean measured = run.measuring;
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = operation.perform(client, clientNumber);
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            long micros = (System.nanoTime() - sent) / 1000;
+            if (!measured) {
+                continue;
+            }
+            if (status == 503) {
+                // Load shedding is the intended response to overload, not a failure
+                run.rejected.increment();
+            } else if (status < 200 || status >= 400) {
+                run.errors.increment();
+            } else {
+                run.histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            }
+        }
+        return null;
+    }
+
+    private static final class Run {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        volatile boolean running = true;
+        volatile boolean measuring;
+    }
+
+    /**
+     * @param histogram latencies of successful requests, in microseconds
+     * @param errors failed requests, excluding 503 responses
+     * @param rejected requests answered with 503
+     */
+    record Result(String scenario, int clients, Histogram histogram, long errors, long rejected, long elapsedNanos) {
+
+        long successful() {
+            return histogram.getTotalCount();
+        }
+
+        /**
+         * @return successful requests sent per second of the measured period
+         */
+        double throughput() {
+            return successful() * 1e9 / elapsedNanos;
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double errorRate() {
+            long total = successful() + errors + rejected;
+            return total == 0 ? 0 : (double) errors / total;
+        }
+
+        String summary() {
+            return String.format("%-16s %4d clients %9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms"
+                    + "  max %8.2f ms  errors %d  rejected %d", scenario, clients, throughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                histogram.getMaxValue() / 1000.0, errors, rejected);
+        }
+
+        /**
+         * Write the full percentile distribution in HdrHistogram's .hgrm format, in milliseconds.
+         */
+        void writeDistribution(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(scenario + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.athenaeum.backend.loadtest;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.service.UserDirectoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HTTP load tests against the application as configured by application.yml,
+ * running on a real port with cookie-carrying clients. Each scenario must meet
+ * the thresholds in {@code loadtest-slo.properties}; the latency distribution
+ * of each is written to {@code target/load-test/<scenario>.hgrm}.
+ *
+ * Not part of {@code mvn test}; run with {@code mvn -Pload-test verify}.
+ * Client count and durations are set with {@code -Dloadtest.clients},
+ * {@code -Dloadtest.warmup-seconds} and {@code -Dloadtest.measurement-seconds}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTestIT {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 3));
+    private static final Duration MEASUREMENT =
+        Duration.ofSeconds(Integer.getInteger("loadtest.measurement-seconds", 10));
+    private static final Path OUTPUT = Path.of(System.getProperty("loadtest.output", "target/load-test"));
+    private static final String PASSWORD = "load-test-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final LatencySlo slo = LatencySlo.load();
+
+    @BeforeEach
+    void createUsers() {
+        // One hash shared by every load-test user; hashing each would take seconds
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < CLIENTS; i++) {
+            userDirectory.createIfAbsent(username(i), hash, LabelSet.ALL);
+        }
+    }
+
+    @Test
+    void loginStorm_ShouldMeetSlo() throws Exception {
+        run(new LoadGenerator.Scenario("login-storm",
+            (client, n) -> { },
+            (client, n) -> client.login(username(n), PASSWORD)));
+    }
+
+    @Test
+    void userInfoPolling_ShouldMeetSlo() throws Exception {
+        run(new LoadGenerator.Scenario("user-polling",
+            LoadTestIT::logIn,
+            (client, n) -> client.pollUserInfo()));
+    }
+
+    @Test
+    void protectedReads_ShouldMeetSlo() throws Exception {
+        run(new LoadGenerator.Scenario("protected-reads",
+            LoadTestIT::logIn,
+            (client, n) -> client.get("/api/protected/resource")));
+    }
+
+    @Test
+    void mixedTraffic_ShouldMeetSlo() throws Exception {
+        run(new LoadGenerator.Scenario("mixed",
+            LoadTestIT::logIn,
+            (client, n) -> {
+                int roll = ThreadLocalRandom.current().nextInt(100);
+                if (roll < 2) {
+                    return client.login(username(n), PASSWORD);
+                } else if (roll < 60) {
+                    return client.pollUserInfo();
+                }
+                return client.get("/api/protected/resource");
+            }));
+    }
+
+    private void run(LoadGenerator.Scenario scenario) throws Exception {
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port + "/"), CLIENTS,
+            WARMUP, MEASUREMENT);
+        LoadGenerator.Result result = generator.run(scenario);
+        System.out.println(result.summary());
+        result.writeDistribution(OUTPUT);
+
+        List<String> violations = slo.violations(result);
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    private static void logIn(LoadClient client, int n) throws IOException, InterruptedException {
+        int status = client.login(username(n), PASSWORD);
+        if (status != 200) {
+            throw new IllegalStateException("Login for " + username(n) + " failed with status " + status);
+        }
+    }
+
+    private static String username(int n) {
+        return "load-user-" + n;
+    }
+}
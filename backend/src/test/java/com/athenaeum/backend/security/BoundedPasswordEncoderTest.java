@@ -0,0 +1,92 @@
+package com.athenaeum.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BoundedPasswordEncoder.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldDelegateToBCrypt() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+
+        String hash = encoder.encode("changeme");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("changeme", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("athenaeum.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("athenaeum.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_ShouldReportHashesBelowConfiguredCost() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("changeme")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("changeme")));
+    }
+
+    @Test
+    void matches_WhenQueueFull_ShouldRejectImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        while (encoder.queueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordEncoderOverloadedException.class, () -> encoder.matches("c", "c"));
+        assertEquals(1.0, meterRegistry.get("athenaeum.password.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("athenaeum.password.queue.depth").gauge().value());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Plain-text encoder that holds every call until released.
+     */
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
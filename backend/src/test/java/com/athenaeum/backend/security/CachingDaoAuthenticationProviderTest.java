@@ -0,0 +1,107 @@
+package com.athenaeum.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CachingDaoAuthenticationProvider and VerifiedCredentialCache.
+ */
+class CachingDaoAuthenticationProviderTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger hashes = new AtomicInteger();
+    private VerifiedCredentialCache cache;
+    private CachingDaoAuthenticationProvider provider;
+    private String storedHash;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder countingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashes.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        storedHash = bcrypt.encode("changeme");
+        cache = new VerifiedCredentialCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry(), nanos::get);
+        provider = new CachingDaoAuthenticationProvider(countingEncoder, cache);
+        provider.setUserDetailsService(username -> {
+            if (!username.equals("admin")) {
+                throw new UsernameNotFoundException("User not found: " + username);
+            }
+            return User.withUsername("admin").password(storedHash).roles("USER").build();
+        });
+    }
+
+    @Test
+    void authenticate_WithRepeatedCredentials_ShouldHashOnce() {
+        Authentication first = provider.authenticate(token("admin", "changeme"));
+        Authentication second = provider.authenticate(token("admin", "changeme"));
+
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals(1, hashes.get());
+    }
+
+    @Test
+    void authenticate_WithWrongPasswordAfterSuccess_ShouldStillFail() {
+        provider.authenticate(token("admin", "changeme"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("admin", "wrong")));
+        assertEquals(2, hashes.get());
+    }
+
+    @Test
+    void authenticate_AfterTtl_ShouldHashAgain() {
+        provider.authenticate(token("admin", "changeme"));
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        provider.authenticate(token("admin", "changeme"));
+
+        assertEquals(2, hashes.get());
+    }
+
+    @Test
+    void authenticate_AfterPasswordChange_ShouldRejectOldPassword() {
+        provider.authenticate(token("admin", "changeme"));
+        storedHash = new BCryptPasswordEncoder(4).encode("newsecret");
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("admin", "changeme")));
+        assertTrue(provider.authenticate(token("admin", "newsecret")).isAuthenticated());
+    }
+
+    @Test
+    void invalidate_ShouldForceFullCheck() {
+        provider.authenticate(token("admin", "changeme"));
+
+        cache.invalidate("admin");
+        provider.authenticate(token("admin", "changeme"));
+
+        assertEquals(2, hashes.get());
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,145 @@
+package com.athenaeum.backend.security;
+
+import com.athenaeum.backend.dto.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for LoginRateLimitFilter. Each test uses its own client address
+ * and usernames, since buckets outlive a test.
+ */
+@SpringBootTest(properties = {
+    "athenaeum.security.login-rate-limit.enabled=true",
+    "athenaeum.security.login-rate-limit.per-address.requests-per-minute=1",
+    "athenaeum.security.login-rate-limit.per-address.burst=4",
+    "athenaeum.security.login-rate-limit.per-username.requests-per-minute=1",
+    "athenaeum.security.login-rate-limit.per-username.burst=2"
+})
+@AutoConfigureMockMvc
+class LoginRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void login_OverUsernameLimit_ShouldReturnTooManyRequestsWithoutAuthenticating() throws Exception {
+        login("10.0.0.1", "ratelimited", "wrong").andExpect(status().isUnauthorized());
+        login("10.0.0.2", "RateLimited", "wrong").andExpect(status().isUnauthorized());
+        double attempts = loginAttempts();
+
+        login("10.0.0.3", "ratelimited", "wrong")
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"))
+            .andExpect(jsonPath("$.success").value(false));
+
+        assertEquals(attempts, loginAttempts());
+    }
+
+    @Test
+    void login_OverAddressLimit_ShouldThrottleEveryUsername() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            login("10.0.1.1", "address-user-" + i, "wrong").andExpect(status().isUnauthorized());
+        }
+
+        login("10.0.1.1", "address-user-4", "wrong").andExpect(status().isTooManyRequests());
+        login("10.0.1.2", "address-user-4", "wrong").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void login_WithinLimits_ShouldReachController() throws Exception {
+        login("10.0.2.1", "admin", "changeme")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("admin"));
+    }
+
+    @Test
+    void login_WithOversizedBody_ShouldBeRejected() throws Exception {
+        String padding = "x".repeat(LoginRateLimitFilter.MAX_BODY_BYTES);
+        mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.3.1");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"admin\",\"password\":\"" + padding + "\"}"))
+            .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void doFilter_WithReadListener_ShouldReplayBodyAsynchronously() throws Exception {
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(new TokenBucketLimiter(60, 10, 100),
+            new TokenBucketLimiter(60, 10, 100), objectMapper, new SimpleMeterRegistry());
+        byte[] body = objectMapper.writeValueAsBytes(new LoginRequest("admin", "changeme"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setContent(body);
+        ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (wrapped, response) -> {
+            ServletInputStream in = wrapped.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        replayed.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        });
+
+        assertArrayEquals(body, replayed.toByteArray());
+        assertTrue(allRead.get());
+    }
+
+    private ResultActions login(String address, String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+            .with(request -> {
+                request.setRemoteAddr(address);
+                return request;
+            })
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new LoginRequest(username, password))));
+    }
+
+    private double loginAttempts() {
+        return meterRegistry.find("athenaeum.auth.login").timers().stream()
+            .mapToDouble(timer -> timer.count())
+            .sum();
+    }
+}
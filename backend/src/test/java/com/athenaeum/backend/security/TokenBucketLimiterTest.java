@@ -0,0 +1,84 @@
+package com.athenaeum.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TokenBucketLimiter.
+ */
+class TokenBucketLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void tryAcquire_WithinBurst_ShouldAllowThenThrottle() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 3, 100, nanos::get);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+
+        long wait = limiter.tryAcquire("client");
+        assertEquals(Duration.ofSeconds(1).toNanos(), wait);
+    }
+
+    @Test
+    void tryAcquire_AfterRefill_ShouldAllowAtSustainedRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 2, 100, nanos::get);
+        limiter.tryAcquire("client");
+        limiter.tryAcquire("client");
+        assertTrue(limiter.tryAcquire("client") > 0);
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepKeysIndependent() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 1, 100, nanos::get);
+
+        assertEquals(0, limiter.tryAcquire("first"));
+        assertTrue(limiter.tryAcquire("first") > 0);
+        assertEquals(0, limiter.tryAcquire("second"));
+    }
+
+    @Test
+    void tryAcquire_WhenIdleUntilFull_ShouldForgetKey() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 5, 100, nanos::get);
+        limiter.tryAcquire("client");
+        assertEquals(1, limiter.trackedKeys());
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        limiter.tryAcquire("other");
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.trackedKeys() <= 2);
+    }
+
+    @Test
+    void tryAcquire_Concurrently_ShouldNotExceedBurst() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 50, 100, nanos::get);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire("client") == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, allowed.get());
+    }
+}
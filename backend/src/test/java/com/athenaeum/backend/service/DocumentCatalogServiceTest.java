@@ -0,0 +1,121 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DocumentCatalogService.
+ */
+class DocumentCatalogServiceTest {
+
+    @Test
+    void addDocument_ShouldAssignSequentialIds() {
+        DocumentCatalogService service = new DocumentCatalogService();
+
+        Document first = service.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+        Document second = service.addDocument("SICP", "Abelson", "Programming", SessionLabel.COMPUTER_SCIENCE);
+
+        assertEquals(0, first.getId());
+        assertEquals(1, second.getId());
+        assertEquals(2, service.size());
+    }
+
+    @Test
+    void addDocuments_ShouldIndexBatchAndNotifyListenersInOrder() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        service.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+        List<Integer> notified = new ArrayList<>();
+        service.addDocumentListener(document -> notified.add(document.getId()));
+
+        List<Document> added = service.addDocuments(List.of(
+            new DocumentCatalogService.NewDocument("SICP", "Abelson", "Programming", SessionLabel.COMPUTER_SCIENCE),
+            new DocumentCatalogService.NewDocument("SPQR", "Mary Beard", "Rome", SessionLabel.HISTORY)));
+
+        assertEquals(List.of(1, 2), added.stream().map(Document::getId).toList());
+        assertEquals(List.of(1, 2), notified);
+        assertEquals(List.of(2), service.listDocuments(LabelSet.of(SessionLabel.HISTORY), 0, 10).stream()
+            .map(Document::getId).toList());
+    }
+
+    @Test
+    void listDocuments_ShouldOnlyReturnDocumentsForHeldLabels() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        service.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+        service.addDocument("SICP", "Abelson", "Programming", SessionLabel.COMPUTER_SCIENCE);
+        service.addDocument("SPQR", "Mary Beard", "Rome", SessionLabel.HISTORY);
+        service.addDocument("TAOCP", "Knuth", "Algorithms", SessionLabel.COMPUTER_SCIENCE);
+
+        List<Document> documents = service.listDocuments(
+            LabelSet.of(SessionLabel.COMPUTER_SCIENCE, SessionLabel.HISTORY), 0, 10);
+
+        assertEquals(List.of(1, 2, 3), documents.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    void listDocuments_ShouldRespectLimit() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        for (int i = 0; i < 3000; i++) {
+            service.addDocument("Title " + i, "Author", "Subject", SessionLabel.values()[i % 11]);
+        }
+
+        List<Document> documents = service.listDocuments(LabelSet.ALL, 0, 100);
+
+        assertEquals(100, documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals(i, documents.get(i).getId());
+        }
+    }
+
+    @Test
+    void listDocuments_FromId_ShouldResumeAfterPreviousPage() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        for (int i = 0; i < 10; i++) {
+            service.addDocument("Title " + i, "Author", "Subject",
+                i % 2 == 0 ? SessionLabel.SCIENCE : SessionLabel.ARTS);
+        }
+
+        List<Document> firstPage = service.listDocuments(LabelSet.of(SessionLabel.SCIENCE), 0, 2);
+        int nextFromId = firstPage.get(firstPage.size() - 1).getId() + 1;
+        List<Document> secondPage = service.listDocuments(LabelSet.of(SessionLabel.SCIENCE), nextFromId, 2);
+
+        assertEquals(List.of(0, 2), firstPage.stream().map(Document::getId).toList());
+        assertEquals(List.of(4, 6), secondPage.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    void listDocuments_WithNoLabels_ShouldReturnEmptyList() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        service.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+
+        assertTrue(service.listDocuments(LabelSet.EMPTY, 0, 10).isEmpty());
+    }
+
+    @Test
+    void getDocument_ShouldHideDocumentsOutsideHeldLabels() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        Document document = service.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+
+        assertTrue(service.getDocument(document.getId(), LabelSet.of(SessionLabel.LITERATURE)).isPresent());
+        assertTrue(service.getDocument(document.getId(), LabelSet.of(SessionLabel.HISTORY)).isEmpty());
+        assertTrue(service.getDocument(42, LabelSet.ALL).isEmpty());
+    }
+
+    @Test
+    void visibleIds_ShouldReturnUnionOfPostingLists() {
+        DocumentCatalogService service = new DocumentCatalogService();
+        service.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+        service.addDocument("SICP", "Abelson", "Programming", SessionLabel.COMPUTER_SCIENCE);
+        service.addDocument("SPQR", "Mary Beard", "Rome", SessionLabel.HISTORY);
+
+        int[] ids = service.visibleIds(LabelSet.of(SessionLabel.LITERATURE, SessionLabel.HISTORY)).toArray();
+
+        assertArrayEquals(new int[] {0, 2}, ids);
+    }
+}
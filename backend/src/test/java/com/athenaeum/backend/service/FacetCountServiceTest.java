@@ -0,0 +1,64 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.FacetCount;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FacetCountService.
+ */
+class FacetCountServiceTest {
+
+    private final DocumentCatalogService catalog = new DocumentCatalogService();
+
+    @Test
+    void counts_ShouldFollowAddedDocumentsForHeldLabels() {
+        catalog.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+        try (FacetCountService service = newService()) {
+            catalog.addDocument("SICP", "Abelson", "Programming", SessionLabel.COMPUTER_SCIENCE);
+            catalog.addDocuments(List.of(
+                new DocumentCatalogService.NewDocument("TAOCP", "Knuth", "Algorithms", SessionLabel.COMPUTER_SCIENCE),
+                new DocumentCatalogService.NewDocument("SPQR", "Mary Beard", "Rome", SessionLabel.HISTORY)));
+
+            List<FacetCount> counts = service.counts(
+                LabelSet.of(SessionLabel.HISTORY, SessionLabel.COMPUTER_SCIENCE, SessionLabel.LITERATURE));
+
+            assertEquals(List.of(SessionLabel.COMPUTER_SCIENCE, SessionLabel.LITERATURE, SessionLabel.HISTORY),
+                counts.stream().map(FacetCount::getLabel).toList());
+            assertEquals(List.of(2L, 1L, 1L), counts.stream().map(FacetCount::getCount).toList());
+            assertEquals(List.of(), service.counts(LabelSet.EMPTY));
+        }
+    }
+
+    @Test
+    void reconcile_ShouldCorrectCountersThatMissedDocuments() {
+        // Registered first, so a failure here stops the facet listener from seeing the document
+        catalog.addDocumentListener(document -> {
+            if (document.getTitle().equals("Lost")) {
+                throw new IllegalStateException("listener failed");
+            }
+        });
+        try (FacetCountService service = newService()) {
+            catalog.addDocument("Kept", "Author", "Subject", SessionLabel.ARTS);
+            assertThrows(IllegalStateException.class,
+                () -> catalog.addDocument("Lost", "Author", "Subject", SessionLabel.ARTS));
+            assertEquals(1, service.counts(LabelSet.of(SessionLabel.ARTS)).get(0).getCount());
+
+            assertEquals(1, service.reconcile());
+
+            assertEquals(2, service.counts(LabelSet.of(SessionLabel.ARTS)).get(0).getCount());
+            assertEquals(0, service.reconcile());
+        }
+    }
+
+    private FacetCountService newService() {
+        return new FacetCountService(catalog, new SimpleMeterRegistry(), Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,111 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.Document;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SearchResult;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SearchIndexService.
+ */
+class SearchIndexServiceTest {
+
+    @Test
+    void tokenize_ShouldLowerCaseSplitAndDropStopWords() {
+        assertEquals(List.of("history", "rome", "2nd", "edition"),
+            SearchIndexService.tokenize("The History of Rome (2nd Edition)"));
+        assertTrue(SearchIndexService.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_ShouldFindDocumentsAddedToCatalog() {
+        DocumentCatalogService catalog = new DocumentCatalogService();
+        SearchIndexService service = new SearchIndexService(catalog);
+        Document document = catalog.addDocument("Structure and Interpretation of Computer Programs",
+            "Abelson", "Programming", SessionLabel.COMPUTER_SCIENCE);
+
+        List<SearchResult> results = service.search("programs", LabelSet.ALL, 10);
+
+        assertEquals(1, results.size());
+        assertEquals(document.getId(), results.get(0).getDocument().getId());
+        assertTrue(results.get(0).getScore() > 0);
+    }
+
+    @Test
+    void search_ShouldRankShorterAndMoreFrequentMatchesHigher() {
+        DocumentCatalogService catalog = new DocumentCatalogService();
+        SearchIndexService service = new SearchIndexService(catalog);
+        catalog.addDocument("A Very Long Survey Covering Many Topics Including Rome", "Author", "General",
+            SessionLabel.HISTORY);
+        Document focused = catalog.addDocument("Rome", "Mary Beard", "Rome", SessionLabel.HISTORY);
+        catalog.addDocument("Paris", "Author", "France", SessionLabel.HISTORY);
+
+        List<SearchResult> results = service.search("rome", LabelSet.ALL, 10);
+
+        assertEquals(2, results.size());
+        assertEquals(focused.getId(), results.get(0).getDocument().getId());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    void search_ShouldOnlyReturnDocumentsWithHeldLabels() {
+        DocumentCatalogService catalog = new DocumentCatalogService();
+        SearchIndexService service = new SearchIndexService(catalog);
+        for (int i = 0; i < 100; i++) {
+            catalog.addDocument("Atlas volume " + i, "Various", "Maps",
+                i % 10 == 0 ? SessionLabel.GEOGRAPHY : SessionLabel.ARTS);
+        }
+
+        List<SearchResult> results = service.search("atlas", LabelSet.of(SessionLabel.GEOGRAPHY), 100);
+
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getDocument().getLabel() == SessionLabel.GEOGRAPHY));
+        assertTrue(service.search("atlas", LabelSet.EMPTY, 100).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReturnTopKOrderedByScore() {
+        DocumentCatalogService catalog = new DocumentCatalogService();
+        SearchIndexService service = new SearchIndexService(catalog);
+        for (int i = 0; i < 50; i++) {
+            catalog.addDocument("Philosophy " + "word ".repeat(i), "Author", "Ethics", SessionLabel.PHILOSOPHY);
+        }
+
+        List<SearchResult> results = service.search("philosophy", LabelSet.ALL, 5);
+
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getDocument().getId());
+        }
+    }
+
+    @Test
+    void search_WithUnknownTerms_ShouldReturnEmptyList() {
+        DocumentCatalogService catalog = new DocumentCatalogService();
+        SearchIndexService service = new SearchIndexService(catalog);
+        catalog.addDocument("Dune", "Frank Herbert", "Fiction", SessionLabel.LITERATURE);
+
+        assertTrue(service.search("zeppelin", LabelSet.ALL, 10).isEmpty());
+        assertTrue(service.search("the of", LabelSet.ALL, 10).isEmpty());
+    }
+
+    @Test
+    void topK_ShouldKeepHighestScoresBreakingTiesByLowerId() {
+        SearchIndexService.TopK topK = new SearchIndexService.TopK(3);
+        topK.offer(5, 1.0);
+        topK.offer(1, 3.0);
+        topK.offer(7, 2.0);
+        topK.offer(2, 2.0);
+        topK.offer(9, 0.5);
+
+        topK.sortDescending();
+
+        assertEquals(3, topK.size);
+        assertArrayEquals(new int[] {1, 2, 7}, topK.ids);
+    }
+}
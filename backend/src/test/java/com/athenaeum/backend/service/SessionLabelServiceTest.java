@@ -0,0 +1,132 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.LoginRequest;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.session.SessionLabels;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for SessionLabelService.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SessionLabelServiceTest {
+
+    private static final String USERNAME = "label-reader";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
+    @Autowired
+    private UserLabelService userLabelService;
+
+    @Autowired
+    private SessionLabelService sessionLabelService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory.createIfAbsent(USERNAME, passwordEncoder.encode("secret"), LabelSet.EMPTY);
+        userLabelService.setUserLabels(USERNAME, LabelSet.of(SessionLabel.HISTORY));
+    }
+
+    @Test
+    void currentLabels_WithCurrentSnapshot_ShouldNotLookUpUser() throws Exception {
+        Cookie session = login();
+        double lookupsBefore = userLookups();
+
+        mockMvc.perform(get("/api/auth/user").cookie(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.labels").value(containsInAnyOrder("HISTORY")));
+
+        assertEquals(lookupsBefore, userLookups());
+    }
+
+    @Test
+    void currentLabels_AfterLabelChange_ShouldSeeNewLabelsWithoutRelogin() throws Exception {
+        Cookie session = login();
+        double refreshedBefore = meterRegistry.get("athenaeum.session.labels.refreshed").counter().count();
+
+        userLabelService.setUserLabels(USERNAME, LabelSet.of(SessionLabel.ARTS, SessionLabel.SCIENCE));
+
+        mockMvc.perform(get("/api/auth/user").cookie(session))
+                .andExpect(jsonPath("$.labels").value(containsInAnyOrder("ARTS", "SCIENCE")));
+        mockMvc.perform(get("/api/auth/user").cookie(session))
+                .andExpect(jsonPath("$.labels").value(containsInAnyOrder("ARTS", "SCIENCE")));
+        assertEquals(1, meterRegistry.get("athenaeum.session.labels.refreshed").counter().count() - refreshedBefore);
+    }
+
+    @Test
+    void currentLabels_AfterRevocation_ShouldHideDocuments() throws Exception {
+        Cookie session = login();
+
+        userLabelService.setUserLabels(USERNAME, LabelSet.EMPTY);
+
+        mockMvc.perform(get("/api/documents").cookie(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents").isEmpty());
+    }
+
+    @Test
+    void currentLabels_WithStaleSignedCookieSnapshot_ShouldReadLabelsForRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(SessionLabels.ATTRIBUTE_NAME,
+            new SessionLabels(LabelSet.of(SessionLabel.ARTS).mask(), sessionLabelService.version(USERNAME) - 1));
+
+        LabelSet labels = sessionLabelService.currentLabels(request, USERNAME);
+
+        assertEquals(LabelSet.of(SessionLabel.HISTORY), labels);
+        assertEquals(sessionLabelService.snapshot(USERNAME), request.getAttribute(SessionLabels.ATTRIBUTE_NAME));
+        assertNull(request.getSession(false));
+    }
+
+    @Test
+    void onLabelsChanged_ShouldBumpVersion() {
+        long before = sessionLabelService.version(USERNAME);
+
+        sessionLabelService.onLabelsChanged(new LabelsChangedEvent(USERNAME));
+
+        assertEquals(before + 1, sessionLabelService.version(USERNAME));
+    }
+
+    private Cookie login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(USERNAME, "secret"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("JSESSIONID");
+    }
+
+    private double userLookups() {
+        return meterRegistry.get("cache.gets").tag("cache", "users").functionCounters().stream()
+            .mapToDouble(counter -> counter.count()).sum();
+    }
+}
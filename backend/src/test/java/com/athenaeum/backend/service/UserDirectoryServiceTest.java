@@ -0,0 +1,86 @@
+package com.athenaeum.backend.service;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserDirectoryService.
+ */
+@SpringBootTest
+class UserDirectoryServiceTest {
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findUser_WhenCached_ShouldNotReloadFromDatabase() {
+        userDirectory.createIfAbsent("reader", "{noop}secret", LabelSet.of(SessionLabel.SCIENCE));
+        double loadsBefore = loads();
+
+        Optional<UserDirectoryService.DirectoryUser> first = userDirectory.findUser("reader");
+        Optional<UserDirectoryService.DirectoryUser> second = userDirectory.findUser("reader");
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        assertEquals(1, loads() - loadsBefore);
+    }
+
+    @Test
+    void findUser_ForUnknownUser_ShouldCacheTheMiss() {
+        double loadsBefore = loads();
+
+        assertTrue(userDirectory.findUser("nobody").isEmpty());
+        assertTrue(userDirectory.findUser("nobody").isEmpty());
+
+        assertEquals(1, loads() - loadsBefore);
+    }
+
+    @Test
+    void createIfAbsent_AfterCachedMiss_ShouldMakeUserVisible() {
+        assertTrue(userDirectory.findUser("latecomer").isEmpty());
+
+        assertTrue(userDirectory.createIfAbsent("latecomer", "{noop}secret", LabelSet.EMPTY));
+        assertFalse(userDirectory.createIfAbsent("latecomer", "{noop}other", LabelSet.EMPTY));
+
+        assertEquals("{noop}secret", userDirectory.findUser("latecomer").orElseThrow().passwordHash());
+    }
+
+    @Test
+    void updatePassword_ShouldInvalidateCachedUser() {
+        userDirectory.createIfAbsent("changer", "{noop}old", LabelSet.EMPTY);
+        userDirectory.findUser("changer");
+
+        assertTrue(userDirectory.updatePassword("changer", "{noop}new"));
+
+        assertEquals("{noop}new", userDirectory.findUser("changer").orElseThrow().passwordHash());
+        assertFalse(userDirectory.updatePassword("nobody", "{noop}new"));
+    }
+
+    @Test
+    void toUserDetails_ShouldReturnFreshInstanceEachTime() {
+        userDirectory.createIfAbsent("fresh", "{noop}secret", LabelSet.EMPTY);
+        UserDirectoryService.DirectoryUser user = userDirectory.findUser("fresh").orElseThrow();
+
+        UserDetails details = user.toUserDetails();
+        ((CredentialsContainer) details).eraseCredentials();
+
+        assertEquals("{noop}secret", user.toUserDetails().getPassword());
+    }
+
+    private double loads() {
+        return meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "miss").functionCounter().count();
+    }
+}
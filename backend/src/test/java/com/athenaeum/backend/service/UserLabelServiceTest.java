@@ -1,36 +1,57 @@
 package com.athenaeum.backend.service;
 
+import com.athenaeum.backend.dto.LabelSet;
 import com.athenaeum.backend.dto.SessionLabel;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.Arrays;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test class for UserLabelService.
  */
+@SpringBootTest
 class UserLabelServiceTest {
 
+    @Autowired
+    private UserLabelService service;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
     @Test
     void getUserLabels_ForAdminUser_ShouldReturnAllLabels() {
-        UserLabelService service = new UserLabelService();
-        
-        List<SessionLabel> labels = service.getUserLabels("admin");
+        LabelSet labels = service.getUserLabels("admin");
         
         assertNotNull(labels);
         assertEquals(11, labels.size());
-        assertEquals(Arrays.asList(SessionLabel.values()), labels);
+        assertEquals(Arrays.asList(SessionLabel.values()), labels.toList());
     }
 
     @Test
-    void getUserLabels_ForUnknownUser_ShouldReturnEmptyList() {
-        UserLabelService service = new UserLabelService();
-        
-        List<SessionLabel> labels = service.getUserLabels("unknownuser");
+    void getUserLabels_ForUnknownUser_ShouldReturnEmptySet() {
+        LabelSet labels = service.getUserLabels("unknownuser");
         
         assertNotNull(labels);
         assertTrue(labels.isEmpty());
     }
+
+    @Test
+    void hasLabel_ShouldReflectAssignedLabels() {
+        assertTrue(service.hasLabel("admin", SessionLabel.HISTORY));
+        assertFalse(service.hasLabel("unknownuser", SessionLabel.HISTORY));
+    }
+
+    @Test
+    void setUserLabels_ShouldBeVisibleImmediately() {
+        userDirectory.createIfAbsent("labelled", "{noop}secret", LabelSet.of(SessionLabel.HISTORY));
+        assertTrue(service.hasLabel("labelled", SessionLabel.HISTORY));
+
+        assertTrue(service.setUserLabels("labelled", LabelSet.of(SessionLabel.ARTS)));
+
+        assertEquals(LabelSet.of(SessionLabel.ARTS), service.getUserLabels("labelled"));
+    }
 }
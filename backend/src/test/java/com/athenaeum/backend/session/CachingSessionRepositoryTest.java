@@ -0,0 +1,246 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CachingSessionRepository and SessionBatchWriter against the H2 session store.
+ * The background flush is pushed out so tests control when changes are written.
+ */
+@SpringBootTest(properties = "athenaeum.session.cache.flush-interval=1h")
+class CachingSessionRepositoryTest {
+
+    @Autowired
+    private CachingSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionBatchWriter sessionBatchWriter;
+
+    @Autowired
+    private JdbcIndexedSessionRepository jdbcSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findById_AfterSave_ShouldServeFromCache() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        session.setAttribute("greeting", "hello");
+        sessionRepository.save(session);
+        double hitsBefore = cacheGets("hit");
+
+        CachingSessionRepository.CachedSession found = sessionRepository.findById(session.getId());
+
+        assertNotNull(found);
+        assertEquals("hello", found.getAttribute("greeting"));
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void save_NewSession_ShouldDeferInsertUntilFlush() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        session.setAttribute("greeting", "hello");
+        sessionRepository.save(session);
+
+        assertEquals(0, countSessionRows(session.getId()));
+
+        assertTrue(sessionBatchWriter.flush() >= 1);
+        assertEquals(1, countSessionRows(session.getId()));
+        assertEquals(1, countAttributeRows(session.getId()));
+    }
+
+    @Test
+    void save_RepeatedBeforeFlush_ShouldMergeIntoOneWrite() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        CachingSessionRepository.CachedSession found = sessionRepository.findById(session.getId());
+        found.setAttribute("label", "HISTORY");
+        sessionRepository.save(found);
+        found = sessionRepository.findById(session.getId());
+        found.setAttribute("label", "SCIENCE");
+        found.setAttribute("theme", "dark");
+        sessionRepository.save(found);
+
+        sessionBatchWriter.flush();
+
+        assertEquals(1, countSessionRows(session.getId()));
+        assertEquals(2, countAttributeRows(session.getId()));
+        assertEquals("SCIENCE", sessionRepository.findById(session.getId()).getAttribute("label"));
+    }
+
+    @Test
+    void save_ConcurrentRequestsOfOneSession_ShouldKeepEachRequestsChanges() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+        CachingSessionRepository.CachedSession login = sessionRepository.findById(session.getId());
+        CachingSessionRepository.CachedSession stale = sessionRepository.findById(session.getId());
+
+        login.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+            CompactSessionSerializerTest.loginContext("admin"));
+        sessionRepository.save(login);
+        stale.setAttribute("theme", "dark");
+        stale.setLastAccessedTime(stale.getLastAccessedTime().plus(1, ChronoUnit.SECONDS));
+        sessionRepository.save(stale);
+
+        CachingSessionRepository.CachedSession cached = sessionRepository.findById(session.getId());
+        assertNotNull(cached.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY));
+        assertEquals("dark", cached.getAttribute("theme"));
+
+        sessionBatchWriter.flush();
+        Session stored = jdbcSessionRepository.findById(session.getId());
+        SecurityContext context = stored.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertEquals("admin", context.getAuthentication().getName());
+        assertEquals("dark", stored.getAttribute("theme"));
+    }
+
+    @Test
+    void save_WithOnlyLastAccessedTimeChange_ShouldUpdateStoredTimeOnFlush() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+        long storedLastAccess = lastAccessTime(session.getId());
+
+        CachingSessionRepository.CachedSession found = sessionRepository.findById(session.getId());
+        Instant touchedAt = Instant.ofEpochMilli(storedLastAccess).plus(1, ChronoUnit.MINUTES);
+        found.setLastAccessedTime(touchedAt);
+        sessionRepository.save(found);
+
+        assertEquals(storedLastAccess, lastAccessTime(session.getId()));
+        assertEquals(touchedAt, sessionRepository.findById(session.getId()).getLastAccessedTime());
+
+        sessionBatchWriter.flush();
+        assertEquals(touchedAt.toEpochMilli(), lastAccessTime(session.getId()));
+    }
+
+    @Test
+    void save_WithRemovedAttribute_ShouldDeleteAttributeRowOnFlush() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        session.setAttribute("label", "HISTORY");
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+
+        CachingSessionRepository.CachedSession found = sessionRepository.findById(session.getId());
+        found.removeAttribute("label");
+        sessionRepository.save(found);
+        sessionBatchWriter.flush();
+
+        assertEquals(0, countAttributeRows(session.getId()));
+    }
+
+    @Test
+    void changeSessionId_ShouldMoveCacheEntryAndStoredRowToNewId() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+        String originalId = session.getId();
+
+        CachingSessionRepository.CachedSession found = sessionRepository.findById(originalId);
+        String newId = found.changeSessionId();
+        sessionRepository.save(found);
+        sessionBatchWriter.flush();
+
+        assertNull(sessionRepository.findById(originalId));
+        assertNotNull(sessionRepository.findById(newId));
+        assertEquals(0, countSessionRows(originalId));
+        assertEquals(1, countSessionRows(newId));
+    }
+
+    @Test
+    void deleteById_ShouldEvictAndRemoveFromStore() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+
+        sessionRepository.deleteById(session.getId());
+
+        assertNull(sessionRepository.findById(session.getId()));
+        assertEquals(0, countSessionRows(session.getId()));
+    }
+
+    @Test
+    void deleteById_BeforeFlush_ShouldDropPendingInsert() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+
+        sessionRepository.deleteById(session.getId());
+        sessionBatchWriter.flush();
+
+        assertNull(sessionRepository.findById(session.getId()));
+        assertEquals(0, countSessionRows(session.getId()));
+    }
+
+    @Test
+    void save_StaleCopyAfterDelete_ShouldNotRestoreSession() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+            CompactSessionSerializerTest.loginContext("admin"));
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+        CachingSessionRepository.CachedSession inFlight = sessionRepository.findById(session.getId());
+
+        sessionRepository.deleteById(session.getId());
+        inFlight.setLastAccessedTime(Instant.now());
+        inFlight.setAttribute("theme", "dark");
+        sessionRepository.save(inFlight);
+
+        assertNull(sessionRepository.findById(session.getId()));
+        sessionBatchWriter.flush();
+        assertNull(sessionRepository.findById(session.getId()));
+        assertEquals(0, countSessionRows(session.getId()));
+    }
+
+    @Test
+    void flush_SecurityContext_ShouldStoreCompactFormReadableByJdbcStore() {
+        CachingSessionRepository.CachedSession session = sessionRepository.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+            CompactSessionSerializerTest.loginContext("admin"));
+        sessionRepository.save(session);
+        sessionBatchWriter.flush();
+
+        byte[] stored = jdbcTemplate.queryForObject(
+            "SELECT a.ATTRIBUTE_BYTES FROM SPRING_SESSION_ATTRIBUTES a JOIN SPRING_SESSION s "
+                + "ON a.SESSION_PRIMARY_ID = s.PRIMARY_ID WHERE s.SESSION_ID = ?", byte[].class, session.getId());
+        assertEquals(CompactSessionSerializer.MAGIC, stored[0] & 0xFF);
+
+        Session storedSession = jdbcSessionRepository.findById(session.getId());
+        SecurityContext context = storedSession.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertEquals("admin", context.getAuthentication().getName());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "sessions").tag("result", result)
+            .functionCounter().count();
+    }
+
+    private long lastAccessTime(String sessionId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT LAST_ACCESS_TIME FROM SPRING_SESSION WHERE SESSION_ID = ?", Long.class, sessionId);
+    }
+
+    private int countSessionRows(String sessionId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM SPRING_SESSION WHERE SESSION_ID = ?", Integer.class, sessionId);
+    }
+
+    private int countAttributeRows(String sessionId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM SPRING_SESSION_ATTRIBUTES a JOIN SPRING_SESSION s "
+                + "ON a.SESSION_PRIMARY_ID = s.PRIMARY_ID WHERE s.SESSION_ID = ?", Integer.class, sessionId);
+    }
+}
@@ -0,0 +1,159 @@
+package com.athenaeum.backend.session;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CompactSessionSerializer.
+ */
+class CompactSessionSerializerTest {
+
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer();
+
+    @Test
+    void roundTrip_LoginSecurityContext_ShouldPreserveAuthentication() throws IOException {
+        SecurityContext context = loginContext("admin");
+
+        SecurityContext decoded = (SecurityContext) roundTrip(context);
+
+        Authentication authentication = decoded.getAuthentication();
+        assertTrue(authentication instanceof UsernamePasswordAuthenticationToken);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("admin", authentication.getName());
+        assertNull(authentication.getCredentials());
+        assertEquals(AuthorityUtils.authorityListToSet(context.getAuthentication().getAuthorities()),
+            AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+
+        User user = (User) authentication.getPrincipal();
+        assertEquals("admin", user.getUsername());
+        assertNull(user.getPassword());
+        assertTrue(user.isEnabled());
+        assertTrue(user.isAccountNonLocked());
+        assertEquals(context.getAuthentication().getPrincipal(), user);
+    }
+
+    @Test
+    void serialize_LoginSecurityContext_ShouldBeSmallerThanJavaSerialization() throws IOException {
+        SecurityContext context = loginContext("admin");
+
+        byte[] compact = serializer.serializeToByteArray(context);
+        byte[] java = new DefaultSerializer().serializeToByteArray(context);
+
+        assertEquals(CompactSessionSerializer.TAG_SECURITY_CONTEXT, compact[2]);
+        assertTrue(compact.length * 10 < java.length,
+            "compact " + compact.length + " bytes vs java " + java.length + " bytes");
+    }
+
+    @Test
+    void roundTrip_StringPrincipal_ShouldPreserveAuthentication() throws IOException {
+        SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+            "reader", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        SecurityContext decoded = (SecurityContext) roundTrip(context);
+
+        assertEquals("reader", decoded.getAuthentication().getPrincipal());
+        assertTrue(decoded.getAuthentication().isAuthenticated());
+    }
+
+    @Test
+    void roundTrip_EmptySecurityContext_ShouldHaveNoAuthentication() throws IOException {
+        SecurityContext decoded = (SecurityContext) roundTrip(new SecurityContextImpl());
+
+        assertNull(decoded.getAuthentication());
+    }
+
+    @Test
+    void roundTrip_LabelSet_ShouldReturnCanonicalInstance() throws IOException {
+        LabelSet labels = LabelSet.of(SessionLabel.HISTORY, SessionLabel.SCIENCE);
+
+        assertSame(labels, roundTrip(labels));
+    }
+
+    @Test
+    void roundTrip_SessionLabels_ShouldPreserveMaskAndVersion() throws IOException {
+        SessionLabels labels = new SessionLabels(LabelSet.ALL.mask(), System.currentTimeMillis() * 1000 + 3);
+
+        assertEquals(labels, roundTrip(labels));
+        assertTrue(serializer.serializeToByteArray(labels).length < 16);
+    }
+
+    @Test
+    void roundTrip_NonAsciiString_ShouldPreserveValue() throws IOException {
+        assertEquals("Bibliothèque", roundTrip("Bibliothèque"));
+    }
+
+    @Test
+    void roundTrip_OtherSerializableValue_ShouldFallBackToJavaSerialization() throws IOException {
+        Map<String, Integer> value = new HashMap<>(Map.of("a", 1));
+
+        byte[] bytes = serializer.serializeToByteArray(value);
+
+        assertEquals(CompactSessionSerializer.TAG_JAVA, bytes[2]);
+        assertEquals(value, serializer.deserializeFromByteArray(bytes));
+    }
+
+    @Test
+    void roundTrip_ContextWithDetails_ShouldFallBackToJavaSerialization() throws IOException {
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+            "reader", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        token.setDetails("127.0.0.1");
+        SecurityContext context = new SecurityContextImpl(token);
+
+        byte[] bytes = serializer.serializeToByteArray(context);
+
+        assertEquals(CompactSessionSerializer.TAG_JAVA, bytes[2]);
+        assertEquals(context, serializer.deserializeFromByteArray(bytes));
+    }
+
+    @Test
+    void deserialize_LegacyJavaSerializedValue_ShouldStillBeReadable() throws IOException {
+        SecurityContext context = loginContext("admin");
+        byte[] legacy = new DefaultSerializer().serializeToByteArray(context);
+
+        assertEquals(context, serializer.deserializeFromByteArray(legacy));
+    }
+
+    @Test
+    void deserialize_UnknownVersion_ShouldFail() {
+        byte[] bytes = {(byte) CompactSessionSerializer.MAGIC, 99, CompactSessionSerializer.TAG_STRING, 0};
+
+        assertThrows(IOException.class, () -> serializer.deserializeFromByteArray(bytes));
+    }
+
+    @Test
+    void deserialize_TruncatedValue_ShouldFail() throws IOException {
+        byte[] bytes = serializer.serializeToByteArray(loginContext("admin"));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 2);
+
+        assertThrows(IOException.class, () -> serializer.deserializeFromByteArray(truncated));
+    }
+
+    private Object roundTrip(Object value) throws IOException {
+        return serializer.deserializeFromByteArray(serializer.serializeToByteArray(value));
+    }
+
+    /**
+     * The context AuthController stores after a successful login, with credentials erased.
+     */
+    static SecurityContext loginContext(String username) {
+        User user = (User) User.withUsername(username).password("{bcrypt}hash").roles("USER").build();
+        user.eraseCredentials();
+        return new SecurityContextImpl(
+            UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+}
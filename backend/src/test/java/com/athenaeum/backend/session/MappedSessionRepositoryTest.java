@@ -0,0 +1,328 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.core.context.SecurityContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MappedSessionRepository.
+ */
+class MappedSessionRepositoryTest {
+
+    private static final int CAPACITY = 16;
+    private static final int SLOT_SIZE = 512;
+
+    @TempDir
+    Path directory;
+
+    private GenericConversionService conversionService;
+    private MappedSessionRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        CompactSessionSerializer serializer = new CompactSessionSerializer();
+        conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(serializer));
+        conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(serializer));
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void findById_AfterSave_ShouldReturnAttributesAndTimes() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("SPRING_SECURITY_CONTEXT", CompactSessionSerializerTest.loginContext("admin"));
+        repository.save(session);
+
+        MappedSessionRepository.MappedSession found = repository.findById(session.getId());
+
+        assertNotNull(found);
+        SecurityContext context = found.getAttribute("SPRING_SECURITY_CONTEXT");
+        assertEquals("admin", context.getAuthentication().getName());
+        assertEquals(session.getCreationTime().toEpochMilli(), found.getCreationTime().toEpochMilli());
+        assertEquals(Duration.ofMinutes(30), found.getMaxInactiveInterval());
+    }
+
+    @Test
+    void save_WithOnlyLastAccessedTimeChange_ShouldKeepAttributes() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("theme", "dark");
+        repository.save(session);
+
+        MappedSessionRepository.MappedSession found = repository.findById(session.getId());
+        Instant touchedAt = Instant.now().plus(1, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.MILLIS);
+        found.setLastAccessedTime(touchedAt);
+        repository.save(found);
+
+        MappedSessionRepository.MappedSession reloaded = repository.findById(session.getId());
+        assertEquals(touchedAt, reloaded.getLastAccessedTime());
+        assertEquals("dark", reloaded.getAttribute("theme"));
+    }
+
+    @Test
+    void save_WithRemovedAttribute_ShouldDropIt() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("theme", "dark");
+        repository.save(session);
+
+        MappedSessionRepository.MappedSession found = repository.findById(session.getId());
+        found.removeAttribute("theme");
+        repository.save(found);
+
+        assertTrue(repository.findById(session.getId()).getAttributeNames().isEmpty());
+    }
+
+    @Test
+    void save_ConcurrentRequestsOfOneSession_ShouldKeepEachRequestsChanges() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("label", "HISTORY");
+        repository.save(session);
+        MappedSessionRepository.MappedSession login = repository.findById(session.getId());
+        MappedSessionRepository.MappedSession stale = repository.findById(session.getId());
+
+        login.setAttribute("SPRING_SECURITY_CONTEXT", CompactSessionSerializerTest.loginContext("admin"));
+        repository.save(login);
+        stale.setAttribute("theme", "dark");
+        stale.removeAttribute("label");
+        repository.save(stale);
+
+        MappedSessionRepository.MappedSession reloaded = repository.findById(session.getId());
+        SecurityContext context = reloaded.getAttribute("SPRING_SECURITY_CONTEXT");
+        assertEquals("admin", context.getAuthentication().getName());
+        assertEquals("dark", reloaded.getAttribute("theme"));
+        assertNull(reloaded.getAttribute("label"));
+    }
+
+    @Test
+    void save_FromManyThreadsAtOnce_ShouldKeepEveryThreadsAttributes() throws Exception {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        repository.save(session);
+        int threads = 8;
+        int savesPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String name = "attribute-" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < savesPerThread; i++) {
+                        MappedSessionRepository.MappedSession found = repository.findById(session.getId());
+                        found.setAttribute(name, Integer.toString(i));
+                        repository.save(found);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        MappedSessionRepository.MappedSession reloaded = repository.findById(session.getId());
+        for (int t = 0; t < threads; t++) {
+            assertEquals(Integer.toString(savesPerThread - 1), reloaded.getAttribute("attribute-" + t));
+        }
+    }
+
+    @Test
+    void changeSessionId_ShouldMoveSessionToNewId() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("theme", "dark");
+        repository.save(session);
+        String originalId = session.getId();
+
+        MappedSessionRepository.MappedSession found = repository.findById(originalId);
+        String newId = found.changeSessionId();
+        repository.save(found);
+
+        assertNull(repository.findById(originalId));
+        assertEquals("dark", repository.findById(newId).getAttribute("theme"));
+        assertEquals(1, repository.activeSessions());
+    }
+
+    @Test
+    void save_WhenFull_ShouldFailUntilASlotIsFreed() {
+        String firstId = null;
+        for (int i = 0; i < CAPACITY; i++) {
+            MappedSessionRepository.MappedSession session = repository.createSession();
+            repository.save(session);
+            firstId = firstId == null ? session.getId() : firstId;
+        }
+        MappedSessionRepository.MappedSession overflow = repository.createSession();
+        assertThrows(IllegalStateException.class, () -> repository.save(overflow));
+
+        repository.deleteById(firstId);
+        repository.save(overflow);
+
+        assertNotNull(repository.findById(overflow.getId()));
+        assertEquals(CAPACITY, repository.activeSessions());
+    }
+
+    @Test
+    void deleteById_ShouldRemoveSession() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        repository.save(session);
+
+        repository.deleteById(session.getId());
+
+        assertNull(repository.findById(session.getId()));
+        assertEquals(0, repository.activeSessions());
+    }
+
+    @Test
+    void deleteById_WithCollidingProbeRuns_ShouldKeepOtherSessionsReachable() {
+        String[] ids = new String[CAPACITY];
+        for (int i = 0; i < CAPACITY; i++) {
+            MappedSessionRepository.MappedSession session = repository.createSession();
+            repository.save(session);
+            ids[i] = session.getId();
+        }
+
+        for (int i = 0; i < CAPACITY; i += 2) {
+            repository.deleteById(ids[i]);
+        }
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(i % 2 == 1, repository.findById(ids[i]) != null, "session " + i);
+        }
+    }
+
+    @Test
+    void expireSessions_ShouldRemoveOnlyDueSessions() {
+        MappedSessionRepository.MappedSession shortLived = repository.createSession();
+        shortLived.setMaxInactiveInterval(Duration.ofSeconds(5));
+        repository.save(shortLived);
+        MappedSessionRepository.MappedSession longLived = repository.createSession();
+        repository.save(longLived);
+
+        long now = System.currentTimeMillis();
+        assertEquals(0, repository.expireSessions(now));
+        assertEquals(1, repository.expireSessions(now + Duration.ofSeconds(10).toMillis()));
+
+        assertEquals(1, repository.activeSessions());
+        assertNotNull(repository.findById(longLived.getId()));
+    }
+
+    @Test
+    void expireSessions_AfterTouch_ShouldUseNewExpiry() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setMaxInactiveInterval(Duration.ofSeconds(5));
+        repository.save(session);
+
+        MappedSessionRepository.MappedSession found = repository.findById(session.getId());
+        found.setLastAccessedTime(Instant.now().plusSeconds(60));
+        repository.save(found);
+
+        assertEquals(0, repository.expireSessions(System.currentTimeMillis() + Duration.ofSeconds(10).toMillis()));
+        assertEquals(1, repository.activeSessions());
+    }
+
+    @Test
+    void expireSessions_WithExpiryMidSecond_ShouldRemoveSessionOnNextTick() {
+        long second = (System.currentTimeMillis() / 1000 + 10) * 1000;
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setMaxInactiveInterval(Duration.ofSeconds(5));
+        session.setLastAccessedTime(Instant.ofEpochMilli(second - 4500));
+        repository.save(session);
+
+        assertEquals(0, repository.expireSessions(second + 100));
+        assertEquals(1, repository.expireSessions(second + 1000));
+        assertEquals(0, repository.activeSessions());
+    }
+
+    @Test
+    void expireSessions_WithIntervalLongerThanWheel_ShouldRemoveSessionOnlyWhenDue() {
+        long second = (System.currentTimeMillis() / 1000 + 10) * 1000;
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setMaxInactiveInterval(Duration.ofSeconds(5000));
+        session.setLastAccessedTime(Instant.ofEpochMilli(second + 500));
+        repository.save(session);
+
+        assertEquals(0, repository.expireSessions(second + Duration.ofSeconds(1000).toMillis()));
+        assertEquals(0, repository.expireSessions(second + Duration.ofSeconds(5000).toMillis() + 100));
+        assertEquals(1, repository.activeSessions());
+        assertEquals(1, repository.expireSessions(second + Duration.ofSeconds(5001).toMillis()));
+        assertEquals(0, repository.activeSessions());
+    }
+
+    @Test
+    void reopen_ShouldRecoverStoredSessions() throws IOException {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("theme", "dark");
+        repository.save(session);
+        MappedSessionRepository.MappedSession deleted = repository.createSession();
+        repository.save(deleted);
+        repository.deleteById(deleted.getId());
+        repository.close();
+
+        repository = open();
+
+        assertEquals(1, repository.activeSessions());
+        assertEquals("dark", repository.findById(session.getId()).getAttribute("theme"));
+        assertNull(repository.findById(deleted.getId()));
+    }
+
+    @Test
+    void reopen_WithIncompletelyWrittenSlot_ShouldDropOnlyThatSession() throws IOException {
+        MappedSessionRepository.MappedSession damaged = repository.createSession();
+        damaged.setAttribute("theme", "dark");
+        repository.save(damaged);
+        MappedSessionRepository.MappedSession intact = repository.createSession();
+        intact.setAttribute("theme", "light");
+        repository.save(intact);
+        repository.close();
+
+        // The first session takes the first slot; overwrite part of its attributes as a cut-short rewrite would
+        try (FileChannel channel = FileChannel.open(directory.resolve("sessions.dat"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f, 0x7f}),
+                MappedSessionRepository.FILE_HEADER_SIZE + MappedSessionRepository.PAYLOAD + 2);
+        }
+        repository = open();
+
+        assertEquals(1, repository.activeSessions());
+        assertNull(repository.findById(damaged.getId()));
+        assertEquals("light", repository.findById(intact.getId()).getAttribute("theme"));
+    }
+
+    @Test
+    void save_WithAttributesLargerThanSlot_ShouldFail() {
+        MappedSessionRepository.MappedSession session = repository.createSession();
+        session.setAttribute("large", "x".repeat(SLOT_SIZE));
+
+        assertThrows(IllegalStateException.class, () -> repository.save(session));
+        assertEquals(0, repository.activeSessions());
+    }
+
+    private MappedSessionRepository open() throws IOException {
+        return new MappedSessionRepository(directory.resolve("sessions.dat"), CAPACITY, SLOT_SIZE,
+            Duration.ofMinutes(30), conversionService, new SimpleMeterRegistry());
+    }
+}
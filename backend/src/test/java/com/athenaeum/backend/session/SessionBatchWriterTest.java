@@ -0,0 +1,156 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SessionBatchWriter's failure handling against the H2 session store.
+ * Each test uses its own writer, whose background flush is pushed out so tests control when changes are written.
+ */
+@SpringBootTest(properties = "athenaeum.session.cache.flush-interval=1h")
+class SessionBatchWriterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ConversionService springSessionConversionService;
+
+    @Autowired
+    private JdbcIndexedSessionRepository jdbcSessionRepository;
+
+    private FailingTransactions transactions;
+    private SessionBatchWriter writer;
+
+    @BeforeEach
+    void createWriter() {
+        transactions = new FailingTransactions(transactionTemplate);
+        writer = new SessionBatchWriter(jdbcTemplate, transactions, springSessionConversionService,
+            new SimpleMeterRegistry(), Duration.ofHours(1), 500);
+    }
+
+    @AfterEach
+    void closeWriter() {
+        writer.close();
+    }
+
+    @Test
+    void flush_WithUnserializableAttribute_ShouldDropOnlyThatSession() {
+        MapSession good = submitNew("theme", "dark");
+        MapSession bad = submitNew("theme", new Object());
+
+        assertEquals(1, writer.flush());
+
+        Session stored = jdbcSessionRepository.findById(good.getId());
+        assertEquals("dark", stored.getAttribute("theme"));
+        assertNull(jdbcSessionRepository.findById(bad.getId()));
+        assertEquals(0, writer.flush());
+    }
+
+    @Test
+    void flush_WithRejectedRow_ShouldWriteOtherSessionsAndDropItAfterRepeatedFailures() {
+        // Longer than the PRINCIPAL_NAME column, so the insert is rejected
+        MapSession bad = submitNew(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "x".repeat(500));
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            MapSession good = submitNew("theme", "dark");
+
+            assertEquals(1, writer.flush());
+            assertNotNull(jdbcSessionRepository.findById(good.getId()));
+            assertNull(jdbcSessionRepository.findById(bad.getId()));
+        }
+
+        assertEquals(0, writer.flush());
+    }
+
+    @Test
+    void flush_WhenStoreFails_ShouldKeepChangesAndMergeNewerOnes() {
+        MapSession session = submitNew("label", "HISTORY");
+        writer.flush();
+
+        MapSession older = new MapSession(session);
+        older.setAttribute("theme", "dark");
+        writer.submit(session.getId(), false, older, Set.of("theme"), Set.of());
+        // A newer change arrives while the failing batch is being written
+        MapSession newer = new MapSession(session);
+        newer.removeAttribute("label");
+        transactions.fail(() -> writer.submit(session.getId(), false, newer, Set.of(), Set.of("label")));
+
+        assertThrows(IllegalStateException.class, writer::flush);
+        MapSession pending = writer.findPending(session.getId());
+        assertEquals("dark", pending.getAttribute("theme"));
+        assertNull(pending.getAttribute("label"));
+
+        transactions.recover();
+        assertEquals(1, writer.flush());
+        Session stored = jdbcSessionRepository.findById(session.getId());
+        assertEquals("dark", stored.getAttribute("theme"));
+        assertNull(stored.getAttribute("label"));
+    }
+
+    private MapSession submitNew(String attributeName, Object value) {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(Duration.ofMinutes(30));
+        session.setAttribute(attributeName, value);
+        writer.submit(session.getId(), true, session, Set.of(attributeName), Set.of());
+        return session;
+    }
+
+    /**
+     * Delegates to a real transaction template, except that it can be told to
+     * fail every transaction until it recovers, as an unreachable database would.
+     */
+    private static final class FailingTransactions implements TransactionOperations {
+        private final TransactionOperations delegate;
+        private Runnable duringFailure;
+        private boolean failing;
+
+        FailingTransactions(TransactionOperations delegate) {
+            this.delegate = delegate;
+        }
+
+        void fail(Runnable duringFailure) {
+            this.duringFailure = duringFailure;
+            this.failing = true;
+        }
+
+        void recover() {
+            this.failing = false;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            if (!failing) {
+                return delegate.execute(action);
+            }
+            if (duringFailure != null) {
+                duringFailure.run();
+                duringFailure = null;
+            }
+            throw new DataAccessResourceFailureException("Database unavailable");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.athenaeum.backend.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SessionExpirySweeper against the H2 session store.
+ */
+@SpringBootTest
+class SessionExpirySweeperTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM SPRING_SESSION");
+        sweeper = new SessionExpirySweeper(jdbcTemplate, new SimpleMeterRegistry(), Duration.ofHours(1), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweeper.close();
+    }
+
+    @Test
+    void sweep_ShouldDeleteAllExpiredSessionsAcrossChunks() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 7; i++) {
+            insertSession(now - 1000);
+        }
+        String live = insertSession(now + 60_000);
+
+        int deleted = sweeper.sweep();
+
+        assertEquals(7, deleted);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SPRING_SESSION", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM SPRING_SESSION WHERE SESSION_ID = ?", Integer.class, live));
+    }
+
+    @Test
+    void sweep_WithNoExpiredSessions_ShouldDeleteNothing() {
+        insertSession(System.currentTimeMillis() + 60_000);
+
+        assertEquals(0, sweeper.sweep());
+    }
+
+    private String insertSession(long expiryTime) {
+        String sessionId = UUID.randomUUID().toString();
+        jdbcTemplate.update(SessionBatchWriter.INSERT_SESSION_QUERY, UUID.randomUUID().toString(), sessionId,
+            expiryTime - 1800_000, expiryTime - 1800_000, 1800, expiryTime, null);
+        return sessionId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.athenaeum.backend.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SessionRevocationList.
+ */
+class SessionRevocationListTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void isRevoked_ShouldReportRevokedTokensOnly() {
+        SessionRevocationList revocationList = new SessionRevocationList(Duration.ofHours(1), 100, nanos::get);
+
+        revocationList.revoke("first");
+
+        assertTrue(revocationList.isRevoked("first", 0));
+        assertFalse(revocationList.isRevoked("second", 0));
+    }
+
+    @Test
+    void isRevoked_AfterLifetime_ShouldForgetRevocation() {
+        SessionRevocationList revocationList = new SessionRevocationList(Duration.ofHours(1), 100, nanos::get);
+        revocationList.revoke("first");
+
+        nanos.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertFalse(revocationList.isRevoked("first", 0));
+    }
+
+    @Test
+    void revoke_WhenFull_ShouldAdvanceEpoch() {
+        SessionRevocationList revocationList = new SessionRevocationList(Duration.ofHours(1), 10, nanos::get);
+
+        for (int i = 0; i < 100; i++) {
+            revocationList.revoke("token-" + i);
+        }
+
+        assertTrue(revocationList.epoch() > 0);
+        assertTrue(revocationList.isRevoked("never-revoked", 0));
+        assertFalse(revocationList.isRevoked("never-revoked", revocationList.epoch()));
+    }
+}
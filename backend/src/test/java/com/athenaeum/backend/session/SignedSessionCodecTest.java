@@ -0,0 +1,94 @@
+package com.athenaeum.backend.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SignedSessionCodec.
+ */
+class SignedSessionCodecTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final SignedSessionToken token = new SignedSessionToken("élodie", 0b101, 42L, 1_700_000_000L, 3L);
+
+    @Test
+    void decode_ShouldReturnEncodedToken() {
+        SignedSessionCodec codec = new SignedSessionCodec(SECRET, false);
+
+        String value = codec.encode(token);
+
+        assertEquals(token, codec.decode(value));
+        assertTrue(value.matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void encode_SameTokenTwice_ShouldGiveDistinctTokenIds() {
+        SignedSessionCodec codec = new SignedSessionCodec(SECRET, false);
+
+        String first = codec.encode(token);
+        String second = codec.encode(token);
+
+        assertNotEquals(SignedSessionCodec.tokenId(first), SignedSessionCodec.tokenId(second));
+        assertEquals(token, codec.decode(second));
+    }
+
+    @Test
+    void decode_WithEncryption_ShouldHideAndReturnToken() {
+        SignedSessionCodec codec = new SignedSessionCodec(SECRET, true);
+
+        String value = codec.encode(token);
+        String body = new String(Base64.getUrlDecoder().decode(value.substring(0, value.indexOf('.'))),
+            StandardCharsets.ISO_8859_1);
+
+        assertEquals(token, codec.decode(value));
+        assertFalse(body.contains("lodie"));
+        assertNotEquals(value, codec.encode(token));
+    }
+
+    @Test
+    void decode_WithTamperedBody_ShouldReturnNull() {
+        SignedSessionCodec codec = new SignedSessionCodec(SECRET, false);
+        String value = codec.encode(token);
+        SignedSessionToken forged = new SignedSessionToken("admin", 0x7FF, 42L, 1_700_000_000L, 3L);
+        String forgedBody = codec.encode(forged).substring(0, codec.encode(forged).indexOf('.'));
+
+        assertNull(codec.decode(forgedBody + value.substring(value.indexOf('.'))));
+    }
+
+    @Test
+    void decode_WithNonCanonicalSignature_ShouldReturnNull() {
+        SignedSessionCodec codec = new SignedSessionCodec(SECRET, false);
+        String value = codec.encode(token);
+        // The last of 22 characters for 16 bytes carries 4 unused bits
+        char last = value.charAt(value.length() - 1);
+        String variant = value.substring(0, value.length() - 1) + (char) (last ^ 1);
+
+        assertNull(codec.decode(variant));
+    }
+
+    @Test
+    void decode_WithOtherSecret_ShouldReturnNull() {
+        byte[] otherSecret = Arrays.copyOf(SECRET, SECRET.length);
+        otherSecret[0] ^= 1;
+
+        String value = new SignedSessionCodec(otherSecret, false).encode(token);
+
+        assertNull(new SignedSessionCodec(SECRET, false).decode(value));
+    }
+
+    @Test
+    void decode_WithMalformedValue_ShouldReturnNull() {
+        SignedSessionCodec codec = new SignedSessionCodec(SECRET, true);
+
+        assertNull(codec.decode(""));
+        assertNull(codec.decode("no-signature"));
+        assertNull(codec.decode("!!!.???"));
+        assertNull(codec.decode(".abc"));
+    }
+}
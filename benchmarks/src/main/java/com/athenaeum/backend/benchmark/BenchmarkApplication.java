@@ -0,0 +1,36 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.AtheneumBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the full application for benchmarks that measure beans as they are
+ * wired in production, on a random port with its own in-memory database and
+ * quiet logging.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param properties extra {@code --name=value} arguments, applied after the defaults
+     * @return the running context; the caller closes it
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.com.athenaeum.backend=WARN"));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(AtheneumBackendApplication.class).run(args.toArray(String[]::new));
+    }
+}
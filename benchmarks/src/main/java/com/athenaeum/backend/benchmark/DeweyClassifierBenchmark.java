@@ -0,0 +1,59 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.catalog.DeweyClassifier;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures DeweyClassifier on typical call numbers and on records that fall
+ * back to their subject headings. At the ingestion target of millions of
+ * records per minute, each record has a budget of tens of microseconds per
+ * core.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeweyClassifierBenchmark {
+
+    private static final String[] CALL_NUMBERS = {
+        "005.133 STR", "823.914 ROW", "914.04 RIC", "REF 004.6 T", "641.5 CHI", "940.53 SHI", "813/.54 HEM", "530.12"
+    };
+
+    private DeweyClassifier classifier;
+    private List<String> subjectHeadings;
+    private int next;
+
+    @Setup
+    public void setup() {
+        classifier = new DeweyClassifier();
+        subjectHeadings = List.of("United States -- Politics and government -- 1945-1989", "Science fiction, American");
+    }
+
+    @Benchmark
+    public SessionLabel classifyCallNumber() {
+        next = (next + 1) & (CALL_NUMBERS.length - 1);
+        return classifier.classifyCallNumber(CALL_NUMBERS[next]);
+    }
+
+    @Benchmark
+    public SessionLabel classifyBySubject() {
+        return classifier.classify("QA76.73 .J38", subjectHeadings);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(DeweyClassifierBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
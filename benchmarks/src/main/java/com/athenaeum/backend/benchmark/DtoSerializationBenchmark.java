@@ -0,0 +1,77 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.dto.AuthResponse;
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.dto.UserInfo;
+import com.athenaeum.backend.service.UserInfoCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the authentication DTOs with an ObjectMapper configured
+ * like Spring Boot's, and the pre-encoded UserInfoCache lookup that replaces
+ * encoding on {@code /api/auth/user}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private AuthResponse authResponse;
+    private UserInfo userInfo;
+    private byte[] authResponseJson;
+    private LabelSet labels;
+    private UserInfoCache userInfoCache;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        labels = LabelSet.of(SessionLabel.HISTORY, SessionLabel.GEOGRAPHY, SessionLabel.SCIENCE);
+        authResponse = new AuthResponse(true, "Login successful", "admin", labels);
+        userInfo = new UserInfo("admin", true, labels);
+        authResponseJson = objectMapper.writeValueAsBytes(authResponse);
+        userInfoCache = new UserInfoCache(objectMapper, new SimpleMeterRegistry(), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializeAuthResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authResponse);
+    }
+
+    @Benchmark
+    public AuthResponse deserializeAuthResponse() throws IOException {
+        return objectMapper.readValue(authResponseJson, AuthResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeUserInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userInfo);
+    }
+
+    @Benchmark
+    public byte[] cachedUserInfo() {
+        return userInfoCache.authenticated("admin", labels).json();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(DtoSerializationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
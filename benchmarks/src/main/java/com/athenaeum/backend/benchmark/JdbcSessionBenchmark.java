@@ -0,0 +1,108 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.session.CachingSessionRepository;
+import com.athenaeum.backend.session.SessionLabels;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The session load/save cycle behind SessionConfig, with the attributes a
+ * logged-in session carries. {@code jdbc} goes straight to the JDBC store;
+ * {@code cached} goes through the near-cache and batch writer that serve
+ * requests by default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JdbcSessionBenchmark {
+
+    @Param({"jdbc", "cached"})
+    public String repository;
+
+    private ConfigurableApplicationContext context;
+    private SessionRepository<Session> sessionRepository;
+    private SecurityContextImpl securityContext;
+    private SessionLabels sessionLabels;
+    private String sessionId;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        context = BenchmarkApplication.start();
+        Class<?> type = repository.equals("jdbc") ? JdbcIndexedSessionRepository.class
+            : CachingSessionRepository.class;
+        sessionRepository = (SessionRepository<Session>) context.getBean(type);
+
+        User user = (User) User.withUsername("admin").password("{bcrypt}hash").roles("USER").build();
+        user.eraseCredentials();
+        securityContext = new SecurityContextImpl(
+            UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+        sessionLabels = new SessionLabels(LabelSet.ALL.mask(), 1);
+
+        Session session = loggedInSession();
+        sessionRepository.save(session);
+        sessionId = session.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * What every authenticated request does: load the session and save it
+     * with a new last-accessed time.
+     */
+    @Benchmark
+    public Session loadAndSave() {
+        Session session = sessionRepository.findById(sessionId);
+        session.setLastAccessedTime(Instant.now());
+        sessionRepository.save(session);
+        return session;
+    }
+
+    /**
+     * What a login does: create and save a session holding the security
+     * context and labels. The session is deleted again so the table stays
+     * the same size.
+     */
+    @Benchmark
+    public Session createAndSave() {
+        Session session = loggedInSession();
+        sessionRepository.save(session);
+        sessionRepository.deleteById(session.getId());
+        return session;
+    }
+
+    private Session loggedInSession() {
+        Session session = sessionRepository.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+        session.setAttribute(SessionLabels.ATTRIBUTE_NAME, sessionLabels);
+        return session;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(JdbcSessionBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SessionLabel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bitmask-backed LabelSet against the List&lt;SessionLabel&gt;
+ * representation UserLabelService used previously.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LabelSetBenchmark {
+
+    private List<SessionLabel> userList;
+    private List<SessionLabel> documentList;
+    private LabelSet userSet;
+    private LabelSet documentSet;
+    private SessionLabel probe;
+
+    @Setup
+    public void setup() {
+        userList = List.of(SessionLabel.COMPUTER_SCIENCE, SessionLabel.SCIENCE, SessionLabel.TECHNOLOGY,
+            SessionLabel.HISTORY, SessionLabel.GEOGRAPHY);
+        documentList = List.of(SessionLabel.ARTS, SessionLabel.GEOGRAPHY);
+        userSet = LabelSet.copyOf(userList);
+        documentSet = LabelSet.copyOf(documentList);
+        probe = SessionLabel.GEOGRAPHY;
+    }
+
+    @Benchmark
+    public boolean containsList() {
+        return userList.contains(probe);
+    }
+
+    @Benchmark
+    public boolean containsLabelSet() {
+        return userSet.contains(probe);
+    }
+
+    @Benchmark
+    public boolean intersectsList() {
+        for (SessionLabel label : documentList) {
+            if (userList.contains(label)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean intersectsLabelSet() {
+        return userSet.intersects(documentSet);
+    }
+
+    @Benchmark
+    public List<SessionLabel> unionList() {
+        List<SessionLabel> union = new ArrayList<>(userList);
+        for (SessionLabel label : documentList) {
+            if (!union.contains(label)) {
+                union.add(label);
+            }
+        }
+        return union;
+    }
+
+    @Benchmark
+    public LabelSet unionLabelSet() {
+        return userSet.union(documentSet);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(LabelSetBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
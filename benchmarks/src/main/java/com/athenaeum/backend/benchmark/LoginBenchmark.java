@@ -0,0 +1,80 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.controller.AuthController;
+import com.athenaeum.backend.dto.AuthResponse;
+import com.athenaeum.backend.dto.LoginRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthController.login end to end through the AuthenticationManager: user
+ * lookup, BCrypt verification on the hashing pool, and storing the security
+ * context and labels in a new session. With the credential cache enabled,
+ * repeat logins skip BCrypt.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"false", "true"})
+    public boolean credentialCache;
+
+    private ConfigurableApplicationContext context;
+    private AuthController authController;
+    private LoginRequest validLogin;
+    private LoginRequest wrongPassword;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(
+            "--spring.security.user.name=" + USERNAME,
+            "--spring.security.user.password=" + PASSWORD,
+            "--athenaeum.security.credential-cache.enabled=" + credentialCache);
+        authController = context.getBean(AuthController.class);
+        validLogin = new LoginRequest(USERNAME, PASSWORD);
+        wrongPassword = new LoginRequest(USERNAME, "not-the-password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<AuthResponse> login() {
+        try {
+            return authController.login(validLogin, new MockHttpServletRequest(), new MockHttpServletResponse());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<AuthResponse> loginWrongPassword() {
+        return authController.login(wrongPassword, new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(LoginBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
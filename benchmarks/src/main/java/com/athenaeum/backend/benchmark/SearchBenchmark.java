@@ -0,0 +1,89 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.dto.SearchResult;
+import com.athenaeum.backend.dto.SessionLabel;
+import com.athenaeum.backend.service.DocumentCatalogService;
+import com.athenaeum.backend.service.SearchIndexService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of SearchIndexService over a synthetic 1M-document catalog.
+ * Sample-time mode reports the p50/p99 latency distribution per benchmark.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+
+    @Param({"1000000"})
+    public int documentCount;
+
+    private SearchIndexService searchIndexService;
+    private String[] vocabulary;
+    private LabelSet someLabels;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = "term" + i;
+        }
+
+        DocumentCatalogService catalog = new DocumentCatalogService();
+        searchIndexService = new SearchIndexService(catalog);
+        SessionLabel[] labels = SessionLabel.values();
+        for (int i = 0; i < documentCount; i++) {
+            catalog.addDocument(words(random, 6), words(random, 2), words(random, 3), labels[i % labels.length]);
+        }
+        someLabels = LabelSet.of(SessionLabel.HISTORY, SessionLabel.GEOGRAPHY, SessionLabel.SCIENCE);
+    }
+
+    /**
+     * Words drawn with a skew towards the start of the vocabulary, roughly Zipf-like.
+     */
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double u = random.nextDouble();
+            text.append(vocabulary[(int) (VOCABULARY_SIZE * u * u * u)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public List<SearchResult> commonTermAllLabels() {
+        return searchIndexService.search("term1 term2", LabelSet.ALL, 10);
+    }
+
+    @Benchmark
+    public List<SearchResult> commonTermSomeLabels() {
+        return searchIndexService.search("term1 term2", someLabels, 10);
+    }
+
+    @Benchmark
+    public List<SearchResult> rareTermsSomeLabels() {
+        return searchIndexService.search("term9000 term15000 term19000", someLabels, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SearchBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.session.CompactSessionSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares CompactSessionSerializer against the Java serialization Spring
+ * Session uses by default, for the SecurityContext stored at login.
+ * Encoded sizes are printed before the benchmarks run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionSerializationBenchmark {
+
+    private final CompactSessionSerializer compact = new CompactSessionSerializer();
+    private final DefaultSerializer javaSerializer = new DefaultSerializer();
+    private final DefaultDeserializer javaDeserializer = new DefaultDeserializer();
+
+    private SecurityContext context;
+    private byte[] compactBytes;
+    private byte[] javaBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        context = loginContext();
+        compactBytes = compact.serializeToByteArray(context);
+        javaBytes = javaSerializer.serializeToByteArray(context);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() throws IOException {
+        return compact.serializeToByteArray(context);
+    }
+
+    @Benchmark
+    public byte[] serializeJava() throws IOException {
+        return javaSerializer.serializeToByteArray(context);
+    }
+
+    @Benchmark
+    public Object deserializeCompact() throws IOException {
+        return compact.deserializeFromByteArray(compactBytes);
+    }
+
+    @Benchmark
+    public Object deserializeJava() throws IOException {
+        return javaDeserializer.deserializeFromByteArray(javaBytes);
+    }
+
+    private static SecurityContext loginContext() {
+        User user = (User) User.withUsername("admin").password("{bcrypt}hash").roles("USER").build();
+        user.eraseCredentials();
+        return new SecurityContextImpl(
+            UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        SessionSerializationBenchmark sizes = new SessionSerializationBenchmark();
+        sizes.setup();
+        System.out.printf("SecurityContext size: compact %d bytes, java %d bytes%n",
+            sizes.compactBytes.length, sizes.javaBytes.length);
+
+        Options options = new OptionsBuilder()
+            .include(SessionSerializationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
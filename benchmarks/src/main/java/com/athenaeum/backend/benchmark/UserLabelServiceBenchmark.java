@@ -0,0 +1,62 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.dto.LabelSet;
+import com.athenaeum.backend.service.UserDirectoryService;
+import com.athenaeum.backend.service.UserLabelService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserLabelService.getUserLabels for a user held in the directory cache, and
+ * for one whose entry was just invalidated so the lookup reads the user table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserLabelServiceBenchmark {
+
+    private static final String USERNAME = "admin";
+
+    private ConfigurableApplicationContext context;
+    private UserLabelService userLabelService;
+    private UserDirectoryService userDirectory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("--spring.security.user.name=" + USERNAME);
+        userLabelService = context.getBean(UserLabelService.class);
+        userDirectory = context.getBean(UserDirectoryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LabelSet cachedUser() {
+        return userLabelService.getUserLabels(USERNAME);
+    }
+
+    @Benchmark
+    public LabelSet uncachedUser() {
+        userDirectory.invalidate(USERNAME);
+        return userLabelService.getUserLabels(USERNAME);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(UserLabelServiceBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,154 @@
+package com.athenaeum.backend.benchmark;
+
+import com.athenaeum.backend.AtheneumBackendApplication;
+import jakarta.servlet.Filter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test comparing Tomcat on platform threads with Tomcat on
+ * virtual threads.
+ *
+ * Starts the application twice, once per mode, with {@link #TOMCAT_THREADS}
+ * worker threads. Every request to /api/health passes through a filter that
+ * sleeps for {@link #BACKEND_LATENCY}, standing in for a blocking call such as
+ * a remote session store or database. {@link #CONCURRENCY} clients then send
+ * requests back to back. On platform threads throughput is capped at about
+ * threads / latency (500 requests/s); on virtual threads each waiting request
+ * parks instead of holding a worker, so throughput follows the number of
+ * clients until the CPU runs out.
+ *
+ * Needs JDK 21 to show a difference; on JDK 17 both runs use platform threads.
+ */
+public final class VirtualThreadLoadBenchmark {
+
+    static final int CONCURRENCY = Integer.getInteger("concurrency", 500);
+    static final int TOMCAT_THREADS = Integer.getInteger("tomcatThreads", 50);
+    static final Duration BACKEND_LATENCY = Duration.ofMillis(100);
+    static final Duration WARMUP = Duration.ofSeconds(3);
+    static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    private VirtualThreadLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Running on JDK " + Runtime.version().feature()
+                + "; virtual threads need JDK 21, so both modes will use platform threads");
+        }
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-18s %12s %14s %8s%n", "mode", "requests/s", "mean latency", "errors");
+        platform.print("platform threads");
+        virtual.print("virtual threads");
+        System.out.printf("virtual / platform throughput: %.1fx%n", virtual.throughput() / platform.throughput());
+        System.exit(0);
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        // Command-line arguments, so they take precedence over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AtheneumBackendApplication.class)
+            .initializers(applicationContext -> ((GenericApplicationContext) applicationContext).registerBean(
+                "simulatedBackendLatency", FilterRegistrationBean.class,
+                VirtualThreadLoadBenchmark::simulatedBackendLatency))
+            .run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.athenaeum.backend=WARN");
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            URI uri = URI.create("http://localhost:" + port + "/api/health");
+            drive(uri, WARMUP);
+            return drive(uri, MEASUREMENT);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static FilterRegistrationBean<Filter> simulatedBackendLatency() {
+        Filter filter = (request, response, chain) -> {
+            try {
+                Thread.sleep(BACKEND_LATENCY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chain.doFilter(request, response);
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/health");
+        return registration;
+    }
+
+    /**
+     * Keep {@link #CONCURRENCY} requests in flight until the duration is up.
+     */
+    private static Result drive(URI uri, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder totalNanos = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[CONCURRENCY];
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            sendLoop(client, request, running, completed, errors, totalNanos, done);
+            clients[i] = done;
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        long elapsed = System.nanoTime() - start;
+        CompletableFuture.allOf(clients).join();
+        return new Result(completed.sum(), errors.sum(), totalNanos.sum(), elapsed);
+    }
+
+    private static void sendLoop(HttpClient client, HttpRequest request, AtomicBoolean running,
+                                 LongAdder completed, LongAdder errors, LongAdder totalNanos,
+                                 CompletableFuture<Void> done) {
+        if (!running.get()) {
+            done.complete(null);
+            return;
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() != 200) {
+                errors.increment();
+            } else if (running.get()) {
+                completed.increment();
+                totalNanos.add(System.nanoTime() - sent);
+            }
+            sendLoop(client, request, running, completed, errors, totalNanos, done);
+        });
+    }
+
+    private record Result(long requests, long errors, long totalNanos, long elapsedNanos) {
+
+        double throughput() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        void print(String mode) {
+            double meanMillis = requests == 0 ? 0 : totalNanos / 1e6 / requests;
+            System.out.printf("%-18s %12.0f %11.1f ms %8d%n", mode, throughput(), meanMillis, errors);
+        }
+    }
+}